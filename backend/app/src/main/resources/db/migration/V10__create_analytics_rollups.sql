@@ -0,0 +1,53 @@
+-- =====================================================
+-- V10: Club analytics rollups
+-- =====================================================
+
+-- Per club and day. Bookings, cancellations and entries are dated by when they happened;
+-- no-shows by the session date
+CREATE TABLE club_daily_stats (
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    stat_date DATE NOT NULL,
+    bookings INTEGER NOT NULL DEFAULT 0,
+    cancellations INTEGER NOT NULL DEFAULT 0,
+    no_shows INTEGER NOT NULL DEFAULT 0,
+    entries INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (club_id, stat_date)
+);
+
+-- Per club, day and hour of day (0-23)
+CREATE TABLE club_hourly_stats (
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    stat_date DATE NOT NULL,
+    stat_hour SMALLINT NOT NULL,
+    bookings INTEGER NOT NULL DEFAULT 0,
+    entries INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (club_id, stat_date, stat_hour)
+);
+
+-- Collected payments per club, day and payment method, dated by paid_at
+CREATE TABLE club_daily_revenue (
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    stat_date DATE NOT NULL,
+    method VARCHAR(30) NOT NULL,
+    payments INTEGER NOT NULL DEFAULT 0,
+    amount DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (club_id, stat_date, method)
+);
+
+-- Seats of completed sessions per club, session date, activity and trainer (0 when none)
+CREATE TABLE session_utilization_daily (
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    stat_date DATE NOT NULL,
+    activity_id BIGINT NOT NULL,
+    trainer_id BIGINT NOT NULL DEFAULT 0,
+    sessions INTEGER NOT NULL DEFAULT 0,
+    capacity INTEGER NOT NULL DEFAULT 0,
+    booked INTEGER NOT NULL DEFAULT 0,
+    attended INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (club_id, stat_date, activity_id, trainer_id)
+);
+
+-- Rebuilds scan the raw tables one day at a time
+CREATE INDEX idx_reservations_booked_at ON reservations(booked_at);
+CREATE INDEX idx_reservations_cancelled_at ON reservations(cancelled_at) WHERE cancelled_at IS NOT NULL;
+CREATE INDEX idx_payments_paid_at ON payments(paid_at) WHERE paid_at IS NOT NULL;
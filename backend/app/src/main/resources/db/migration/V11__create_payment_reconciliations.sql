@@ -0,0 +1,34 @@
+-- =====================================================
+-- V11: Settlement statement reconciliation
+-- =====================================================
+
+-- One uploaded bank/POS settlement file matched against a club's payments
+CREATE TABLE payment_reconciliations (
+    id BIGSERIAL PRIMARY KEY,
+    club_id BIGINT NOT NULL REFERENCES clubs(id),
+    period_from DATE NOT NULL,
+    period_to DATE NOT NULL,
+    file_name VARCHAR(255),
+    statement_rows INT NOT NULL DEFAULT 0,
+    payments_checked INT NOT NULL DEFAULT 0,
+    matched INT NOT NULL DEFAULT 0,
+    flagged INT NOT NULL DEFAULT 0,
+    created_by BIGINT REFERENCES users(id),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Only discrepancies are stored; matched rows are counted on the reconciliation
+CREATE TABLE payment_reconciliation_items (
+    id BIGSERIAL PRIMARY KEY,
+    reconciliation_id BIGINT NOT NULL REFERENCES payment_reconciliations(id) ON DELETE CASCADE,
+    status VARCHAR(30) NOT NULL, -- AMOUNT_MISMATCH, DUPLICATE_PAYMENT, DUPLICATE_STATEMENT_ROW, UNRECORDED, UNSETTLED, MISSING_REFERENCE, INVALID_ROW
+    payment_id BIGINT REFERENCES payments(id),
+    reference_number VARCHAR(100),
+    payment_amount DECIMAL(12, 2),
+    statement_amount DECIMAL(12, 2),
+    statement_line INT,
+    message VARCHAR(255)
+);
+
+CREATE INDEX idx_payment_reconciliations_club ON payment_reconciliations(club_id, created_at DESC);
+CREATE INDEX idx_payment_reconciliation_items_run ON payment_reconciliation_items(reconciliation_id, status);
@@ -0,0 +1,48 @@
+-- =====================================================
+-- V12: Cold storage for settled reservations and their payments
+-- =====================================================
+
+-- Same columns as the hot tables plus archived_at; no foreign keys, archived rows are never joined on the hot path
+CREATE TABLE reservations_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    session_id BIGINT NOT NULL,
+    club_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL, -- COMPLETED, CANCELLED, NO_SHOW
+    booked_at TIMESTAMP NOT NULL,
+    cancelled_at TIMESTAMP,
+    cancellation_reason TEXT,
+    checked_in_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE payments_archive (
+    id BIGINT PRIMARY KEY,
+    reservation_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    club_id BIGINT NOT NULL,
+    amount DECIMAL(12, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    method VARCHAR(30) NOT NULL,
+    reference_number VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    paid_at TIMESTAMP,
+    recorded_by BIGINT,
+    notes TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Listing order of the archive pages behind the hot ones
+CREATE INDEX idx_reservations_archive_user ON reservations_archive(user_id, booked_at DESC, id DESC);
+CREATE INDEX idx_reservations_archive_club ON reservations_archive(club_id, booked_at DESC, id DESC);
+CREATE INDEX idx_payments_archive_reservation ON payments_archive(reservation_id);
+CREATE INDEX idx_payments_archive_club_paid ON payments_archive(club_id, paid_at);
+
+-- Entry logs and reconciliation items keep pointing at archived rows, so these references can no longer be enforced
+ALTER TABLE entry_logs DROP CONSTRAINT IF EXISTS entry_logs_reservation_id_fkey;
+ALTER TABLE payment_reconciliation_items DROP CONSTRAINT IF EXISTS payment_reconciliation_items_payment_id_fkey;
@@ -0,0 +1,6 @@
+-- =====================================================
+-- V13: Keyset index for a member's reservation listing
+-- =====================================================
+
+-- Serves ORDER BY booked_at DESC, id DESC per member, so each page of /v1/reservations/my/details reads only its rows
+CREATE INDEX idx_reservations_user_booked ON reservations(user_id, booked_at DESC, id DESC);
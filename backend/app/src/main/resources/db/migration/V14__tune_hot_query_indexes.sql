@@ -0,0 +1,36 @@
+-- =====================================================
+-- V14: Indexes shaped after the hot queries
+-- =====================================================
+
+-- Available sessions of a day across all clubs (ORDER BY start_time), read in order without a sort.
+-- booked_count stays out of the index so booking a seat remains a HOT update
+CREATE INDEX idx_class_sessions_available ON class_sessions(session_date, start_time) WHERE status = 'SCHEDULED';
+
+-- A member's active reservations, newest first; also loads their booked slots for overlap checks
+CREATE INDEX idx_reservations_user_active ON reservations(user_id, booked_at DESC)
+    WHERE status IN ('PENDING_PAYMENT', 'PAID');
+
+-- Unpaid reservations past their payment window, without scanning settled ones
+CREATE INDEX idx_reservations_pending_booked ON reservations(booked_at) WHERE status = 'PENDING_PAYMENT';
+
+-- A club's reservation listing sorts by booked_at; replaces the bare club_id index
+CREATE INDEX idx_reservations_club_booked ON reservations(club_id, booked_at DESC, id DESC);
+DROP INDEX idx_reservations_club;
+
+-- Latest valid OTP and the hourly send count both look up a phone number's codes by creation time
+CREATE INDEX idx_otp_phone_created ON otp_codes(phone_number, created_at DESC);
+DROP INDEX idx_otp_phone_expires;
+
+-- Low selectivity: a handful of statuses, rewritten on every status change
+DROP INDEX idx_reservations_status;
+
+-- Covered by UNIQUE(user_id, session_id) and idx_reservations_user_booked
+DROP INDEX idx_reservations_user;
+
+-- Covered by UNIQUE(club_id, user_id)
+DROP INDEX idx_club_staff_club;
+
+-- Duplicates of the indexes behind UNIQUE constraints
+DROP INDEX idx_users_phone_number;
+DROP INDEX idx_users_email;
+DROP INDEX idx_refresh_tokens_token;
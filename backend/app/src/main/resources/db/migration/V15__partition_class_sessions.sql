@@ -0,0 +1,75 @@
+-- =====================================================
+-- V15: Partition class_sessions by month on session_date
+-- =====================================================
+
+-- A unique constraint on a partitioned table must include the partition key, so session_id alone can no longer
+-- be referenced. Sessions are only ever cancelled, never deleted, and every booking or waitlist entry is written
+-- after its session has been loaded, so these references are kept by the application instead
+ALTER TABLE reservations DROP CONSTRAINT IF EXISTS reservations_session_id_fkey;
+ALTER TABLE waitlist DROP CONSTRAINT IF EXISTS waitlist_session_id_fkey;
+
+ALTER TABLE class_sessions RENAME TO class_sessions_old;
+ALTER TABLE class_sessions_old RENAME CONSTRAINT class_sessions_pkey TO class_sessions_old_pkey;
+ALTER INDEX idx_class_sessions_club_date RENAME TO idx_class_sessions_old_club_date;
+ALTER INDEX idx_class_sessions_activity RENAME TO idx_class_sessions_old_activity;
+ALTER INDEX idx_class_sessions_trainer RENAME TO idx_class_sessions_old_trainer;
+ALTER INDEX idx_class_sessions_scheduled_date RENAME TO idx_class_sessions_old_scheduled_date;
+ALTER INDEX idx_class_sessions_available RENAME TO idx_class_sessions_old_available;
+ALTER SEQUENCE class_sessions_id_seq OWNED BY NONE;
+
+-- The partition key must be part of the primary key
+CREATE TABLE class_sessions (
+    id BIGINT NOT NULL DEFAULT nextval('class_sessions_id_seq'),
+    activity_id BIGINT NOT NULL REFERENCES activity_definitions(id) ON DELETE CASCADE,
+    trainer_id BIGINT REFERENCES trainers(id),
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    session_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    capacity INT NOT NULL,
+    booked_count INT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'SCHEDULED', -- SCHEDULED, CANCELLED, COMPLETED
+    notes TEXT,
+    version BIGINT NOT NULL DEFAULT 0, -- Optimistic locking
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, session_date)
+) PARTITION BY RANGE (session_date);
+
+-- Catches sessions scheduled past the managed months; the application moves them into their month once it is created
+CREATE TABLE class_sessions_default PARTITION OF class_sessions DEFAULT;
+
+-- Monthly partitions covering existing sessions through twelve months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', LEAST(
+            COALESCE((SELECT MIN(session_date) FROM class_sessions_old), CURRENT_DATE),
+            CURRENT_DATE))::date;
+    last_month DATE := date_trunc('month', GREATEST(
+            COALESCE((SELECT MAX(session_date) FROM class_sessions_old), CURRENT_DATE),
+            CURRENT_DATE + INTERVAL '12 months'))::date;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF class_sessions FOR VALUES FROM (%L) TO (%L)',
+                'class_sessions_p' || to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO class_sessions (id, activity_id, trainer_id, club_id, session_date, start_time, end_time, capacity,
+        booked_count, status, notes, version, created_at, updated_at)
+SELECT id, activity_id, trainer_id, club_id, session_date, start_time, end_time, capacity,
+        booked_count, status, notes, version, created_at, updated_at
+FROM class_sessions_old;
+
+DROP TABLE class_sessions_old;
+ALTER SEQUENCE class_sessions_id_seq OWNED BY class_sessions.id;
+
+-- Lookups by id alone (findById, version-checked updates, row locks) probe the primary key of each partition
+-- Indexes are created on every partition; all include session_date so range scans stay within the pruned months
+CREATE INDEX idx_class_sessions_club_date ON class_sessions(club_id, session_date);
+CREATE INDEX idx_class_sessions_activity_date ON class_sessions(activity_id, session_date);
+CREATE INDEX idx_class_sessions_trainer_date ON class_sessions(trainer_id, session_date) WHERE trainer_id IS NOT NULL;
+CREATE INDEX idx_class_sessions_scheduled_date ON class_sessions(session_date, id) WHERE status = 'SCHEDULED';
+-- booked_count stays out of the index so booking a seat remains a HOT update
+CREATE INDEX idx_class_sessions_available ON class_sessions(session_date, start_time) WHERE status = 'SCHEDULED';
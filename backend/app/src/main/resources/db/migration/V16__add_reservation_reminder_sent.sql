@@ -0,0 +1,6 @@
+-- =====================================================
+-- V16: Record when a reservation's class reminder was sent
+-- =====================================================
+
+-- Claimed before a reminder is handed to the sender, so a restarted node or a second node never sends it again
+ALTER TABLE reservations ADD COLUMN reminder_sent_at TIMESTAMP;
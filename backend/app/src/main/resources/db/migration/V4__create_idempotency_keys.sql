@@ -0,0 +1,21 @@
+-- =====================================================
+-- V4: Idempotency Keys
+-- =====================================================
+
+-- Stored responses for requests sent with an Idempotency-Key header
+CREATE TABLE idempotency_keys (
+    key_hash VARCHAR(64) PRIMARY KEY, -- SHA-256 of user, endpoint and client key
+    request_hash VARCHAR(64) NOT NULL, -- SHA-256 of the request body
+    status VARCHAR(20) NOT NULL, -- IN_PROGRESS, COMPLETED
+    response_status INT,
+    content_type VARCHAR(255),
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL -- Lease end while IN_PROGRESS, retention end once COMPLETED
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys(expires_at);
+
+-- At most one payment per reservation, enforced by the database
+DROP INDEX idx_payments_reservation;
+ALTER TABLE payments ADD CONSTRAINT uk_payments_reservation UNIQUE (reservation_id);
@@ -0,0 +1,6 @@
+-- =====================================================
+-- V5: Per-club overlapping booking policy
+-- =====================================================
+
+ALTER TABLE clubs ADD COLUMN overlap_policy VARCHAR(20) NOT NULL DEFAULT 'WARN';
+-- Policy: ALLOW, WARN, REJECT
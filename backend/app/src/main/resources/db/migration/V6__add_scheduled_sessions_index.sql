@@ -0,0 +1,7 @@
+-- =====================================================
+-- V6: Session settlement
+-- =====================================================
+
+-- Only sessions still awaiting settlement (or booking) are scanned by date;
+-- completed and cancelled sessions drop out of this index
+CREATE INDEX idx_class_sessions_scheduled_date ON class_sessions(session_date, id) WHERE status = 'SCHEDULED';
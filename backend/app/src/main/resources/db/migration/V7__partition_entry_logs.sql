@@ -0,0 +1,54 @@
+-- =====================================================
+-- V7: Partition entry_logs by month on entry_time
+-- =====================================================
+
+ALTER TABLE entry_logs RENAME TO entry_logs_old;
+ALTER INDEX idx_entry_logs_user RENAME TO idx_entry_logs_old_user;
+ALTER INDEX idx_entry_logs_club RENAME TO idx_entry_logs_old_club;
+ALTER SEQUENCE entry_logs_id_seq OWNED BY NONE;
+
+-- The partition key must be part of the primary key
+CREATE TABLE entry_logs (
+    id BIGINT NOT NULL DEFAULT nextval('entry_logs_id_seq'),
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    club_id BIGINT NOT NULL REFERENCES clubs(id),
+    reservation_id BIGINT REFERENCES reservations(id),
+    entry_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    exit_time TIMESTAMP,
+    entry_type VARCHAR(30) NOT NULL DEFAULT 'CLASS', -- CLASS, GENERAL, GUEST
+    recorded_by BIGINT REFERENCES users(id),
+    notes TEXT,
+    PRIMARY KEY (id, entry_time)
+) PARTITION BY RANGE (entry_time);
+
+-- Catches rows outside the managed months; the application keeps partitions created ahead so this stays empty
+CREATE TABLE entry_logs_default PARTITION OF entry_logs DEFAULT;
+
+-- Monthly partitions covering existing data through two months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', LEAST(
+            COALESCE((SELECT MIN(entry_time) FROM entry_logs_old), CURRENT_TIMESTAMP),
+            CURRENT_TIMESTAMP))::date;
+    last_month DATE := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '2 months')::date;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF entry_logs FOR VALUES FROM (%L) TO (%L)',
+                'entry_logs_p' || to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO entry_logs (id, user_id, club_id, reservation_id, entry_time, exit_time, entry_type, recorded_by, notes)
+SELECT id, user_id, club_id, reservation_id, entry_time, exit_time, entry_type, recorded_by, notes
+FROM entry_logs_old;
+
+DROP TABLE entry_logs_old;
+ALTER SEQUENCE entry_logs_id_seq OWNED BY entry_logs.id;
+
+-- Indexes are created on every partition; all lead with the filter column and end with entry_time for pruning-friendly range scans
+CREATE INDEX idx_entry_logs_club_time ON entry_logs(club_id, entry_time);
+CREATE INDEX idx_entry_logs_user_time ON entry_logs(user_id, entry_time);
+CREATE INDEX idx_entry_logs_reservation ON entry_logs(reservation_id) WHERE reservation_id IS NOT NULL;
+-- Open visits, used to close a visit on exit
+CREATE INDEX idx_entry_logs_open ON entry_logs(user_id, club_id, entry_time) WHERE exit_time IS NULL;
@@ -0,0 +1,5 @@
+-- =====================================================
+-- V8: Gym floor capacity
+-- =====================================================
+
+ALTER TABLE clubs ADD COLUMN floor_capacity INT; -- NULL means unlimited
@@ -0,0 +1,8 @@
+-- =====================================================
+-- V9: Pending payments queue
+-- =====================================================
+
+-- Serves the reception queue's keyset scan (newest bookings first) without touching
+-- paid, cancelled or settled reservations
+CREATE INDEX idx_reservations_club_pending ON reservations(club_id, booked_at DESC, id DESC)
+    WHERE status = 'PENDING_PAYMENT';
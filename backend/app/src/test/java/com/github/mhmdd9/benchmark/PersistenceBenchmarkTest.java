@@ -0,0 +1,203 @@
+package com.github.mhmdd9.benchmark;
+
+import com.github.mhmdd9.club.dto.ClassSessionDto;
+import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.repository.ClassSessionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Timed benchmarks of the persistence hot paths against a seeded PostgreSQL, reporting rows per second and
+ * bytes allocated per row. Opt-in, since each run takes a while: {@code mvn test -pl app -am -Dbenchmark=true}.
+ * Nothing is asserted about the numbers; compare the logged results before and after a change.
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = 200;
+    private static final long CLUB_ID = 1L;
+    private static final int DAYS = 60;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean seeded;
+
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void seedOnce() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute("INSERT INTO users (phone_number, first_name, last_name) " +
+                "SELECT '09' || lpad(i::text, 8, '0'), 'First' || i, 'Last' || i FROM generate_series(1, 100) i");
+        jdbcTemplate.execute("INSERT INTO clubs (owner_id, name, address, city) " +
+                "SELECT 1, 'Club ' || i, 'Street ' || i, 'Tehran' FROM generate_series(1, 3) i");
+        jdbcTemplate.execute("INSERT INTO activity_definitions (club_id, name) " +
+                "SELECT id, 'Activity ' || id FROM clubs");
+        jdbcTemplate.execute("INSERT INTO trainers (club_id, first_name, last_name) " +
+                "SELECT c.id, 'Trainer', t::text FROM clubs c, generate_series(1, 5) t");
+        // Ten sessions a day per club, each with a long note so lazy loading of TEXT columns shows up
+        jdbcTemplate.execute("INSERT INTO class_sessions (activity_id, trainer_id, club_id, session_date, start_time, " +
+                "end_time, capacity, booked_count, status, notes) " +
+                "SELECT c.id, (c.id - 1) * 5 + 1 + s % 5, c.id, CURRENT_DATE + d, TIME '08:00' + s * INTERVAL '1 hour', " +
+                "TIME '09:00' + s * INTERVAL '1 hour', 20, (d + s) % 21, 'SCHEDULED', repeat('note ', 400) " +
+                "FROM clubs c, generate_series(0, " + (DAYS - 1) + ") d, generate_series(0, 9) s");
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void clubScheduleListing() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDate today = LocalDate.now();
+
+        Sample projection = run(() -> readOnly.execute(status ->
+                classSessionRepository.findUpcomingSessionsByClub(CLUB_ID, today).stream()
+                        .map(ClassSessionDto::from)
+                        .toList()
+                        .size()));
+
+        // Loads managed sessions and resolves activity, club and trainer through the persistence context
+        Sample entities = run(() -> readOnly.execute(status ->
+                classSessionRepository.findByClubIdAndSessionDateBetweenAndStatus(CLUB_ID, today,
+                                today.plusDays(DAYS), ClassSession.SessionStatus.SCHEDULED, Pageable.unpaged())
+                        .map(ClassSessionDto::from)
+                        .getNumberOfElements()));
+
+        log.info("Club schedule listing, projection: {}", projection);
+        log.info("Club schedule listing, entities:   {}", entities);
+        assertThat(projection.rows).isPositive().isEqualTo(entities.rows);
+    }
+
+    @Test
+    void flushOfManagedSessions() {
+        Sample unchanged = flush(false);
+        Sample updated = flush(true);
+
+        // With in-place dirty tracking neither flush compares entity state against a snapshot
+        log.info("Flush of managed sessions, nothing changed: {}", unchanged);
+        log.info("Flush of managed sessions, one field each:  {}", updated);
+        assertThat(updated.rows).isPositive().isEqualTo(unchanged.rows);
+    }
+
+    /**
+     * Loads the club's sessions as managed entities and times only the flush; every iteration is rolled back
+     * so the data stays the same.
+     */
+    private Sample flush(boolean change) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDate today = LocalDate.now();
+
+        return measure(sample -> transaction.executeWithoutResult(status -> {
+            List<ClassSession> sessions = classSessionRepository.findByClubIdAndSessionDateBetweenAndStatus(
+                    CLUB_ID, today, today.plusDays(DAYS), ClassSession.SessionStatus.SCHEDULED, Pageable.unpaged())
+                    .getContent();
+            if (change) {
+                sessions.forEach(session -> session.setBookedCount(session.getBookedCount() + 1));
+            }
+            sample.start();
+            entityManager.flush();
+            sample.stop(sessions.size());
+            status.setRollbackOnly();
+        }));
+    }
+
+    private static Sample run(IntSupplier iteration) {
+        return measure(sample -> {
+            sample.start();
+            sample.stop(iteration.getAsInt());
+        });
+    }
+
+    private static Sample measure(Consumer<Sample> iteration) {
+        Sample warmup = new Sample();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration.accept(warmup);
+        }
+        Sample sample = new Sample();
+        for (int i = 0; i < ITERATIONS; i++) {
+            iteration.accept(sample);
+        }
+        return sample;
+    }
+
+    /**
+     * Wall time and bytes allocated by the current thread between {@link #start} and {@link #stop}, summed over
+     * every measured iteration.
+     */
+    private static class Sample {
+
+        private static final com.sun.management.ThreadMXBean THREADS =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private long rows;
+        private long nanos;
+        private long bytes;
+        private long startNanos;
+        private long startBytes;
+
+        void start() {
+            startBytes = THREADS.getCurrentThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        void stop(int measuredRows) {
+            nanos += System.nanoTime() - startNanos;
+            bytes += THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+            rows += measuredRows;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows, %,.0f rows/s, %,d bytes/row",
+                    rows, rows * 1_000_000_000.0 / nanos, rows > 0 ? bytes / rows : 0);
+        }
+    }
+}
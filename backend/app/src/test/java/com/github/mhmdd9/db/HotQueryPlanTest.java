@@ -0,0 +1,124 @@
+package com.github.mhmdd9.db;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression suite for the hot queries: migrates an empty PostgreSQL with V1 onwards, seeds it with
+ * enough rows for realistic statistics and checks that no hot query falls back to a sequential scan of its table.
+ * Sequential scans are disabled for the session, so the planner only chooses one when no index can serve the query.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotQueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        MigrateResult result = Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        assertThat(result.success).isTrue();
+        assertThat(result.targetSchemaVersion).isEqualTo("16");
+
+        // One connection, so the session settings below apply to every EXPLAIN
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true));
+        seed();
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("class_sessions", "available sessions of a day",
+                        "SELECT id, start_time FROM class_sessions WHERE session_date = CURRENT_DATE + 3 " +
+                        "AND status = 'SCHEDULED' AND booked_count < capacity ORDER BY start_time"),
+                Arguments.of("class_sessions", "club schedule",
+                        "SELECT id FROM class_sessions WHERE club_id = 2 AND session_date >= CURRENT_DATE " +
+                        "ORDER BY session_date, start_time"),
+                Arguments.of("class_sessions", "trainer slots around a day",
+                        "SELECT id, session_date, start_time, end_time FROM class_sessions WHERE trainer_id = 3 " +
+                        "AND status = 'SCHEDULED' AND session_date BETWEEN CURRENT_DATE AND CURRENT_DATE + 2"),
+                Arguments.of("class_sessions", "session by id",
+                        "SELECT * FROM class_sessions WHERE id = 5"),
+                Arguments.of("reservations", "member's active reservations",
+                        "SELECT id, session_id FROM reservations WHERE user_id = 42 " +
+                        "AND status IN ('PENDING_PAYMENT', 'PAID') ORDER BY booked_at DESC"),
+                Arguments.of("reservations", "member's reservation history",
+                        "SELECT id FROM reservations WHERE user_id = 42 LIMIT 20"),
+                Arguments.of("reservations", "club reservation listing",
+                        "SELECT id FROM reservations WHERE club_id = 3 ORDER BY booked_at DESC, id DESC LIMIT 20"),
+                Arguments.of("reservations", "club pending payment queue",
+                        "SELECT id FROM reservations WHERE club_id = 3 AND status = 'PENDING_PAYMENT' " +
+                        "ORDER BY booked_at DESC, id DESC LIMIT 50"),
+                Arguments.of("reservations", "unpaid reservations past their window",
+                        "SELECT id FROM reservations WHERE status = 'PENDING_PAYMENT' " +
+                        "AND booked_at < now() - INTERVAL '30 minutes'"),
+                Arguments.of("otp_codes", "latest OTP of a phone number",
+                        "SELECT id, code FROM otp_codes WHERE phone_number = '0900000042' " +
+                        "ORDER BY created_at DESC LIMIT 1"),
+                Arguments.of("otp_codes", "hourly OTP send count",
+                        "SELECT COUNT(*) FROM otp_codes WHERE phone_number = '0900000042' " +
+                        "AND created_at > now() - INTERVAL '1 hour'")
+        );
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("hotQueries")
+    void hotQueryDoesNotScanItsTable(String table, String description, String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        // Partitions are named after their table, so this also catches a scan of a single partition
+        assertThat(plan)
+                .as("plan of %s:%n%s", description, String.join("\n", plan))
+                .noneMatch(line -> line.contains("Seq Scan on " + table));
+    }
+
+    private static void seed() {
+        jdbcTemplate.execute("INSERT INTO users (phone_number, first_name, last_name) " +
+                "SELECT '09' || lpad(i::text, 8, '0'), 'First' || i, 'Last' || i FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("INSERT INTO clubs (owner_id, name, address, city) " +
+                "SELECT 1, 'Club ' || i, 'Street ' || i, 'Tehran' FROM generate_series(1, 20) i");
+        jdbcTemplate.execute("INSERT INTO activity_definitions (club_id, name) " +
+                "SELECT id, 'Activity ' || id FROM clubs");
+        jdbcTemplate.execute("INSERT INTO trainers (club_id, first_name, last_name) " +
+                "SELECT c.id, 'Trainer', t::text FROM clubs c, generate_series(1, 5) t");
+        // Ten sessions a day per club over the next two months, a few already settled or cancelled
+        jdbcTemplate.execute("INSERT INTO class_sessions (activity_id, trainer_id, club_id, session_date, start_time, " +
+                "end_time, capacity, booked_count, status) " +
+                "SELECT c.id, (c.id - 1) * 5 + 1 + s % 5, c.id, CURRENT_DATE + d, TIME '08:00' + s * INTERVAL '1 hour', " +
+                "TIME '09:00' + s * INTERVAL '1 hour', 20, (c.id + d + s) % 21, " +
+                "CASE WHEN (c.id + d + s) % 17 = 0 THEN 'CANCELLED' ELSE 'SCHEDULED' END " +
+                "FROM clubs c, generate_series(0, 59) d, generate_series(0, 9) s");
+        // Each member books distinct sessions; statuses skew towards settled bookings
+        jdbcTemplate.execute("INSERT INTO reservations (user_id, session_id, club_id, status, booked_at) " +
+                "SELECT 1 + i % 20000, 1 + (i / 20000) * 2000 + i % 2000, 1 + i % 20, " +
+                "CASE i % 10 WHEN 0 THEN 'PENDING_PAYMENT' WHEN 1 THEN 'PAID' WHEN 2 THEN 'PAID' " +
+                "WHEN 3 THEN 'CANCELLED' ELSE 'COMPLETED' END, " +
+                "now() - (i % 90000) * INTERVAL '1 minute' " +
+                "FROM generate_series(0, 99999) i");
+        jdbcTemplate.execute("INSERT INTO otp_codes (phone_number, code, expires_at, created_at) " +
+                "SELECT '09' || lpad((1 + i % 10000)::text, 8, '0'), '123456', now() + INTERVAL '2 minutes', " +
+                "now() - (i % 5000) * INTERVAL '1 minute' FROM generate_series(0, 49999) i");
+    }
+}
@@ -2,6 +2,7 @@ package com.github.mhmdd9.auth.config;
 
 import com.github.mhmdd9.auth.security.JwtAuthenticationFilter;
 import com.github.mhmdd9.auth.security.JwtTokenProvider;
+import com.github.mhmdd9.auth.security.StreamTicketService;
 import com.github.mhmdd9.auth.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -32,11 +33,12 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final StreamTicketService streamTicketService;
     private final CustomUserDetailsService userDetailsService;
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(jwtTokenProvider, streamTicketService, userDetailsService);
     }
 
     @Bean
@@ -62,10 +64,13 @@ public class SecurityConfig {
                                 "/v1/auth/verify-otp", "/v1/auth/refresh").permitAll()
                         .requestMatchers(HttpMethod.GET, "/v1/clubs/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/v1/classes/**").permitAll()
+                        // Live updates; topics that need a role are checked by the stream itself
+                        .requestMatchers(HttpMethod.GET, "/v1/stream").permitAll()
                         // Swagger/OpenAPI (if added later)
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         // Health check
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Everything else requires authentication
                         .anyRequest().authenticated()
                 )
@@ -80,8 +85,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Idempotency-Key"));
+        configuration.setExposedHeaders(List.of("Authorization", "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -1,6 +1,7 @@
 package com.github.mhmdd9.auth.controller;
 
 import com.github.mhmdd9.auth.dto.*;
+import com.github.mhmdd9.auth.security.StreamTicketService;
 import com.github.mhmdd9.auth.security.UserPrincipal;
 import com.github.mhmdd9.auth.service.AuthService;
 import com.github.mhmdd9.common.dto.ApiResponse;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final StreamTicketService streamTicketService;
 
     @PostMapping("/signup")
     public ResponseEntity<ApiResponse<OtpResponse>> signup(@Valid @RequestBody SignupRequest request) {
@@ -50,6 +52,19 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Logged out successfully."));
     }
 
+    /**
+     * Single-use ticket for opening the live stream, passed as its {@code ticket} query parameter.
+     */
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<ApiResponse<StreamTicketResponse>> createStreamTicket(
+            @AuthenticationPrincipal UserPrincipal principal) {
+        StreamTicketResponse response = StreamTicketResponse.builder()
+                .ticket(streamTicketService.issue(principal.getId()))
+                .expiresIn(streamTicketService.getExpiration())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserDto>> getCurrentUser(@AuthenticationPrincipal UserPrincipal principal) {
         UserDto user = authService.getUserById(principal.getId());
@@ -0,0 +1,16 @@
+package com.github.mhmdd9.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamTicketResponse {
+
+    private String ticket;
+    private Long expiresIn;
+}
@@ -20,7 +20,10 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/v1/stream";
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final StreamTicketService streamTicketService;
     private final CustomUserDetailsService userDetailsService;
 
     @Override
@@ -28,10 +31,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            Long userId = getUserIdFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            if (userId != null) {
                 UserDetails userDetails = userDetailsService.loadUserById(userId);
 
                 UsernamePasswordAuthenticationToken authentication = 
@@ -51,10 +53,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
+    private Long getUserIdFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+            String jwt = bearerToken.substring(7);
+            if (jwtTokenProvider.validateToken(jwt) && !jwtTokenProvider.isStreamTicket(jwt)) {
+                return jwtTokenProvider.getUserIdFromToken(jwt);
+            }
+            return null;
+        }
+        // EventSource cannot set headers, so the live stream takes a single-use ticket as a query parameter
+        if ("GET".equals(request.getMethod()) && request.getRequestURI().endsWith(STREAM_PATH)) {
+            String ticket = request.getParameter("ticket");
+            return StringUtils.hasText(ticket) ? streamTicketService.redeem(ticket) : null;
         }
         return null;
     }
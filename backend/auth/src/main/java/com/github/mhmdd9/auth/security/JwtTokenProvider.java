@@ -10,23 +10,29 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    private static final String STREAM_TICKET = "stream";
+
     private final SecretKey secretKey;
     private final long jwtExpiration;
     private final long refreshExpiration;
+    private final long streamTicketExpiration;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration}") long jwtExpiration,
-            @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+            @Value("${jwt.refresh-expiration}") long refreshExpiration,
+            @Value("${jwt.stream-ticket-expiration:30000}") long streamTicketExpiration) {
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
         this.jwtExpiration = jwtExpiration;
         this.refreshExpiration = refreshExpiration;
+        this.streamTicketExpiration = streamTicketExpiration;
     }
 
     public String generateAccessToken(User user) {
@@ -60,6 +66,53 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Short-lived ticket for opening the live stream, whose URL cannot carry an Authorization header.
+     * It holds only the user id and a unique id so it can be redeemed once.
+     */
+    public String generateStreamTicket(Long userId) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + streamTicketExpiration);
+
+        return Jwts.builder()
+                .subject(userId.toString())
+                .id(UUID.randomUUID().toString())
+                .claim("type", STREAM_TICKET)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(secretKey)
+                .compact();
+    }
+
+    /**
+     * Claims of a valid stream ticket, or null if the token is invalid, expired or of another type.
+     */
+    public Claims parseStreamTicket(String ticket) {
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .build()
+                    .parseSignedClaims(ticket)
+                    .getPayload();
+            return STREAM_TICKET.equals(claims.get("type", String.class)) ? claims : null;
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Invalid stream ticket");
+            return null;
+        }
+    }
+
+    /**
+     * Whether the token is a stream ticket, which must not be accepted as an access token.
+     */
+    public boolean isStreamTicket(String token) {
+        Claims claims = Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return STREAM_TICKET.equals(claims.get("type", String.class));
+    }
+
     public Long getUserIdFromToken(String token) {
         Claims claims = Jwts.parser()
                 .verifyWith(secretKey)
@@ -96,5 +149,9 @@ public class JwtTokenProvider {
     public long getRefreshExpiration() {
         return refreshExpiration;
     }
+
+    public long getStreamTicketExpiration() {
+        return streamTicketExpiration;
+    }
 }
 
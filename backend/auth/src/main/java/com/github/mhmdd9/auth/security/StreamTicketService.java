@@ -0,0 +1,54 @@
+package com.github.mhmdd9.auth.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-use tickets for the live stream. EventSource cannot send an Authorization header, and a full
+ * access token in the URL would end up in access and proxy logs, so clients exchange their token for a
+ * ticket valid for a few seconds and put that in the URL instead.
+ * Tickets are signed, so any node can verify one; each node remembers the tickets redeemed on it until
+ * they expire, so a ticket is accepted at most once per node.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamTicketService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    /** Ticket id -> epoch millisecond it expires. */
+    private final Map<String, Long> redeemed = new ConcurrentHashMap<>();
+
+    public String issue(Long userId) {
+        return jwtTokenProvider.generateStreamTicket(userId);
+    }
+
+    public long getExpiration() {
+        return jwtTokenProvider.getStreamTicketExpiration();
+    }
+
+    /**
+     * The ticket's user id, or null if the ticket is invalid, expired or already used.
+     */
+    public Long redeem(String ticket) {
+        Claims claims = jwtTokenProvider.parseStreamTicket(ticket);
+        if (claims == null || claims.getId() == null) {
+            return null;
+        }
+        if (redeemed.putIfAbsent(claims.getId(), claims.getExpiration().getTime()) != null) {
+            return null;
+        }
+        return Long.parseLong(claims.getSubject());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.stream-ticket-expiration:30000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        redeemed.values().removeIf(expiresAt -> expiresAt < now);
+    }
+}
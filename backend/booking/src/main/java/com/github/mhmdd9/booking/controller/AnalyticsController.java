@@ -0,0 +1,75 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.booking.dto.ClubDailyStatsDto;
+import com.github.mhmdd9.booking.dto.ClubHourlyStatsDto;
+import com.github.mhmdd9.booking.dto.SeatUtilizationDto;
+import com.github.mhmdd9.booking.job.AnalyticsRebuildJob;
+import com.github.mhmdd9.booking.service.AnalyticsService;
+import com.github.mhmdd9.common.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final AnalyticsRebuildJob rebuildJob;
+
+    /**
+     * Daily bookings, cancellations, no-shows, entries and revenue by payment method (owners and managers).
+     */
+    @GetMapping("/club/{clubId}/daily")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<List<ClubDailyStatsDto>>> getDailyStats(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getDailyStats(clubId, from, to)));
+    }
+
+    /**
+     * Bookings and entries per hour of day, for at most 31 days (owners and managers).
+     */
+    @GetMapping("/club/{clubId}/hourly")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<List<ClubHourlyStatsDto>>> getHourlyStats(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getHourlyStats(clubId, from, to)));
+    }
+
+    /**
+     * Seat utilization of completed sessions per activity and trainer (owners and managers).
+     */
+    @GetMapping("/club/{clubId}/utilization")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<List<SeatUtilizationDto>>> getSeatUtilization(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getSeatUtilization(clubId, from, to)));
+    }
+
+    /**
+     * Rebuild the rollups of a date range from the raw data in the background (admin only).
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int days = rebuildJob.startRebuild(from, to);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(days, "Rebuild started."));
+    }
+}
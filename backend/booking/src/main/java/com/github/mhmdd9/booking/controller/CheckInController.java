@@ -0,0 +1,29 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.booking.dto.CheckInRequest;
+import com.github.mhmdd9.booking.dto.CheckInResultDto;
+import com.github.mhmdd9.booking.service.CheckInService;
+import com.github.mhmdd9.common.dto.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/checkin")
+@RequiredArgsConstructor
+public class CheckInController {
+
+    private final CheckInService checkInService;
+
+    /**
+     * Check in with a signed pass scanned at a kiosk or turnstile (staff only).
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #request.clubId)")
+    public ResponseEntity<ApiResponse<CheckInResultDto>> checkIn(@Valid @RequestBody CheckInRequest request) {
+        CheckInResultDto result = checkInService.checkIn(request);
+        return ResponseEntity.ok(ApiResponse.success(result, "Check-in successful."));
+    }
+}
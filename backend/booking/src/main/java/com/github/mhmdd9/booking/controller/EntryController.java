@@ -0,0 +1,82 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.auth.security.UserPrincipal;
+import com.github.mhmdd9.booking.dto.EntryLogDto;
+import com.github.mhmdd9.booking.dto.RecordEntryRequest;
+import com.github.mhmdd9.booking.dto.RecordExitRequest;
+import com.github.mhmdd9.booking.service.EntryLogIngestionService;
+import com.github.mhmdd9.booking.service.EntryLogService;
+import com.github.mhmdd9.common.dto.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/entries")
+@RequiredArgsConstructor
+public class EntryController {
+
+    private final EntryLogIngestionService ingestionService;
+    private final EntryLogService entryLogService;
+
+    /**
+     * Record a member entering a club (staff only). Written asynchronously.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #request.clubId)")
+    public ResponseEntity<ApiResponse<Void>> recordEntry(
+            @Valid @RequestBody RecordEntryRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ingestionService.recordEntry(request.getUserId(), request.getClubId(), request.getReservationId(),
+                request.getEntryType(), principal.getId(), request.getNotes());
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Entry recorded."));
+    }
+
+    /**
+     * Record a member leaving a club (staff only). Written asynchronously.
+     */
+    @PostMapping("/exit")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #request.clubId)")
+    public ResponseEntity<ApiResponse<Void>> recordExit(@Valid @RequestBody RecordExitRequest request) {
+        ingestionService.recordExit(request.getUserId(), request.getClubId());
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Exit recorded."));
+    }
+
+    /**
+     * Get entries for a club in a date range of at most 31 days (staff only).
+     */
+    @GetMapping("/club/{clubId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<List<EntryLogDto>>> getClubEntries(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<EntryLogDto> entries = entryLogService.getClubEntries(clubId, from, to);
+        return ResponseEntity.ok(ApiResponse.success(entries));
+    }
+
+    /**
+     * Count entries for a club in a date range of at most 31 days (staff only).
+     */
+    @GetMapping("/club/{clubId}/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<Long>> countClubEntries(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        long count = entryLogService.countClubEntries(clubId, from, to);
+        return ResponseEntity.ok(ApiResponse.success(count));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.booking.service.ExportService;
+import com.github.mhmdd9.booking.service.ExportService.ExportType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/v1/exports/club/{clubId}")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Export reservations for sessions in a date range as gzipped CSV (owners and managers).
+     */
+    @GetMapping("/reservations")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return export(ExportType.RESERVATIONS, clubId, from, to);
+    }
+
+    /**
+     * Export payments paid in a date range as gzipped CSV (owners and managers).
+     */
+    @GetMapping("/payments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return export(ExportType.PAYMENTS, clubId, from, to);
+    }
+
+    /**
+     * Export entry logs in a date range as gzipped CSV (owners and managers).
+     */
+    @GetMapping("/entries")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return export(ExportType.ENTRIES, clubId, from, to);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(ExportType type, Long clubId, LocalDate from, LocalDate to) {
+        StreamingResponseBody body = exportService.export(type, clubId, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(ExportService.fileName(type, clubId, from, to))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.booking.service.LiveUpdateService;
+import com.github.mhmdd9.club.service.ClubAccessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/stream")
+@RequiredArgsConstructor
+public class LiveStreamController {
+
+    private final LiveUpdateService liveUpdateService;
+    private final ClubAccessService clubAccessService;
+
+    /**
+     * Server-Sent Events stream for one or more topics (public; a club's payment topic is for its staff only).
+     * EventSource cannot send headers, so callers authenticate with a single-use {@code ticket}
+     * from {@code POST /v1/auth/stream-ticket}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam("topic") List<String> topics,
+            Authentication authentication) {
+        return liveUpdateService.subscribe(topics, clubId -> clubAccessService.isStaff(authentication, clubId));
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.booking.dto.OccupancyDto;
+import com.github.mhmdd9.booking.service.OccupancyService;
+import com.github.mhmdd9.common.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/occupancy")
+@RequiredArgsConstructor
+public class OccupancyController {
+
+    private final OccupancyService occupancyService;
+
+    /**
+     * Get how many people are currently on a club's floor (any authenticated user).
+     */
+    @GetMapping("/club/{clubId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<OccupancyDto>> getOccupancy(@PathVariable Long clubId) {
+        int current = occupancyService.getOccupancy(clubId);
+        Integer capacity = occupancyService.getCapacity(clubId);
+        OccupancyDto occupancy = OccupancyDto.builder()
+                .clubId(clubId)
+                .current(current)
+                .capacity(capacity)
+                .available(capacity != null ? Math.max(capacity - current, 0) : null)
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(occupancy));
+    }
+}
@@ -1,20 +1,25 @@
 package com.github.mhmdd9.booking.controller;
 
 import com.github.mhmdd9.auth.security.UserPrincipal;
+import com.github.mhmdd9.booking.dto.BatchPaymentRequest;
+import com.github.mhmdd9.booking.dto.BatchPaymentResultDto;
 import com.github.mhmdd9.booking.dto.PaymentDto;
 import com.github.mhmdd9.booking.dto.PendingPaymentDto;
 import com.github.mhmdd9.booking.dto.RecordPaymentRequest;
 import com.github.mhmdd9.booking.service.PaymentService;
 import com.github.mhmdd9.common.dto.ApiResponse;
+import com.github.mhmdd9.common.dto.CursorPageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/v1/payments")
@@ -25,39 +30,62 @@ public class PaymentController {
 
     /**
      * Get payment for a reservation.
+     * Users can view their own, staff can view their club's.
      */
     @GetMapping("/reservation/{reservationId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<PaymentDto>> getPaymentByReservation(
-            @PathVariable Long reservationId) {
-        return paymentService.getPaymentByReservation(reservationId)
+            @PathVariable Long reservationId,
+            @AuthenticationPrincipal UserPrincipal principal,
+            Authentication authentication) {
+        return paymentService.getPaymentByReservation(reservationId, principal.getId(), authentication)
                 .map(payment -> ResponseEntity.ok(ApiResponse.success(payment)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Get pending payments for a club (staff only).
+     * Get pending payments for a club, newest first, keyset paginated (staff only).
      */
     @GetMapping("/club/{clubId}/pending")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST')")
-    public ResponseEntity<ApiResponse<List<PendingPaymentDto>>> getPendingPayments(
-            @PathVariable Long clubId) {
-        List<PendingPaymentDto> pendingPayments = paymentService.getPendingPaymentsByClub(clubId);
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PendingPaymentDto>>> getPendingPayments(
+            @PathVariable Long clubId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate sessionDate,
+            @RequestParam(required = false) Long activityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPageResponse<PendingPaymentDto> pendingPayments =
+                paymentService.getPendingPaymentsByClub(clubId, sessionDate, activityId, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(pendingPayments));
     }
 
     /**
-     * Record an on-site payment (staff only: receptionists can record payments).
+     * Record an on-site payment (staff of the reservation's club: receptionists can record payments).
      */
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST')")
     public ResponseEntity<ApiResponse<PaymentDto>> recordPayment(
             @Valid @RequestBody RecordPaymentRequest request,
-            @AuthenticationPrincipal UserPrincipal principal) {
-        PaymentDto payment = paymentService.recordPayment(request, principal.getId());
+            @AuthenticationPrincipal UserPrincipal principal,
+            Authentication authentication) {
+        PaymentDto payment = paymentService.recordPayment(request, principal.getId(), authentication);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success(payment, "Payment recorded successfully."));
     }
-}
 
+    /**
+     * Record payments for many reservations at once, with per-item outcomes (staff of each reservation's club).
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<ApiResponse<BatchPaymentResultDto>> recordPayments(
+            @Valid @RequestBody BatchPaymentRequest request,
+            @AuthenticationPrincipal UserPrincipal principal,
+            Authentication authentication) {
+        BatchPaymentResultDto result = paymentService.recordPayments(request, principal.getId(), authentication);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(result, "Payments recorded successfully."));
+    }
+}
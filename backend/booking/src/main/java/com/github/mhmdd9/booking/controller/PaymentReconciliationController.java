@@ -0,0 +1,76 @@
+package com.github.mhmdd9.booking.controller;
+
+import com.github.mhmdd9.auth.security.UserPrincipal;
+import com.github.mhmdd9.booking.dto.PaymentReconciliationDto;
+import com.github.mhmdd9.booking.dto.PaymentReconciliationItemDto;
+import com.github.mhmdd9.booking.entity.PaymentReconciliationItem.ItemStatus;
+import com.github.mhmdd9.booking.service.PaymentReconciliationService;
+import com.github.mhmdd9.common.dto.ApiResponse;
+import com.github.mhmdd9.common.dto.PageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/v1/reconciliations")
+@RequiredArgsConstructor
+public class PaymentReconciliationController {
+
+    private final PaymentReconciliationService reconciliationService;
+
+    /**
+     * Upload a settlement statement (CSV with reference and amount columns) and match it against
+     * the club's card, POS and bank transfer payments paid in the date range (owners and managers).
+     */
+    @PostMapping(value = "/club/{clubId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<PaymentReconciliationDto>> reconcile(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        PaymentReconciliationDto reconciliation =
+                reconciliationService.reconcile(clubId, from, to, file, principal.getId());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(reconciliation, "Statement reconciled."));
+    }
+
+    /**
+     * List a club's past reconciliations, newest first (owners and managers).
+     */
+    @GetMapping("/club/{clubId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<PageResponse<PaymentReconciliationDto>>> getReconciliations(
+            @PathVariable Long clubId,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(reconciliationService.getReconciliations(clubId, pageable)));
+    }
+
+    /**
+     * Get the flagged items of a reconciliation, optionally of one status (owners and managers of its club).
+     */
+    @GetMapping("/{reconciliationId}/items")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
+    public ResponseEntity<ApiResponse<PageResponse<PaymentReconciliationItemDto>>> getItems(
+            @PathVariable Long reconciliationId,
+            @RequestParam(required = false) ItemStatus status,
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reconciliationService.getItems(reconciliationId, status, pageable, authentication)));
+    }
+}
@@ -1,10 +1,20 @@
 package com.github.mhmdd9.booking.controller;
 
 import com.github.mhmdd9.auth.security.UserPrincipal;
+import com.github.mhmdd9.booking.dto.AttendanceRequest;
+import com.github.mhmdd9.booking.dto.AttendanceResultDto;
+import com.github.mhmdd9.booking.dto.BatchReservationRequest;
+import com.github.mhmdd9.booking.dto.BatchReservationResultDto;
+import com.github.mhmdd9.booking.dto.CheckInPassDto;
 import com.github.mhmdd9.booking.dto.CreateReservationRequest;
+import com.github.mhmdd9.booking.dto.ReservationDetailsDto;
 import com.github.mhmdd9.booking.dto.ReservationDto;
+import com.github.mhmdd9.booking.dto.RosterEntryDto;
+import com.github.mhmdd9.booking.service.AttendanceService;
+import com.github.mhmdd9.booking.service.CheckInPassService;
 import com.github.mhmdd9.booking.service.ReservationService;
 import com.github.mhmdd9.common.dto.ApiResponse;
+import com.github.mhmdd9.common.dto.CursorPageResponse;
 import com.github.mhmdd9.common.dto.PageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +24,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +36,8 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final CheckInPassService checkInPassService;
+    private final AttendanceService attendanceService;
 
     /**
      * Get my reservations (authenticated user).
@@ -49,11 +62,27 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success(reservations));
     }
 
+    /**
+     * Get my reservations with session, activity, trainer, club and payment details, newest first,
+     * keyset paginated; {@code active=true} returns only upcoming ones (authenticated user).
+     */
+    @GetMapping("/my/details")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ReservationDetailsDto>>> getMyReservationDetails(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(defaultValue = "false") boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<ReservationDetailsDto> reservations =
+                reservationService.getMyReservationDetails(principal.getId(), active, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(reservations));
+    }
+
     /**
      * Get reservations for a club (staff only).
      */
     @GetMapping("/club/{clubId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST') and @clubAccessService.isStaff(authentication, #clubId)")
     public ResponseEntity<ApiResponse<PageResponse<ReservationDto>>> getClubReservations(
             @PathVariable Long clubId,
             @PageableDefault(size = 20, sort = "bookedAt", direction = Sort.Direction.DESC) Pageable pageable) {
@@ -61,22 +90,56 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success(reservations));
     }
 
+    /**
+     * Get the roster of a session: everyone booked, with payment status (the session's trainer and club staff).
+     */
+    @GetMapping("/session/{sessionId}/roster")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST', 'TRAINER')")
+    public ResponseEntity<ApiResponse<List<RosterEntryDto>>> getSessionRoster(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(attendanceService.getRoster(sessionId, authentication)));
+    }
+
+    /**
+     * Mark attendance for a whole session at once (the session's trainer and club staff).
+     */
+    @PostMapping("/session/{sessionId}/attendance")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST', 'TRAINER')")
+    public ResponseEntity<ApiResponse<AttendanceResultDto>> markAttendance(
+            @PathVariable Long sessionId,
+            @Valid @RequestBody AttendanceRequest request,
+            Authentication authentication) {
+        AttendanceResultDto result = attendanceService.markAttendance(sessionId, request, authentication);
+        return ResponseEntity.ok(ApiResponse.success(result, "Attendance recorded."));
+    }
+
     /**
      * Get a specific reservation by ID.
-     * Users can view their own, staff can view any.
+     * Users can view their own, staff can view their club's.
      */
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<ReservationDto>> getReservation(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserPrincipal principal) {
-        boolean isStaff = principal.getAuthorities().stream()
-                .anyMatch(a -> List.of("ROLE_ADMIN", "ROLE_GYM_OWNER", "ROLE_MANAGER", "ROLE_RECEPTIONIST")
-                        .contains(a.getAuthority()));
-        ReservationDto reservation = reservationService.getReservationById(id, principal.getId(), isStaff);
+            @AuthenticationPrincipal UserPrincipal principal,
+            Authentication authentication) {
+        ReservationDto reservation = reservationService.getReservationById(id, principal.getId(), authentication);
         return ResponseEntity.ok(ApiResponse.success(reservation));
     }
 
+    /**
+     * Get a signed check-in pass for my paid reservation (authenticated user).
+     */
+    @GetMapping("/{id}/pass")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CheckInPassDto>> getCheckInPass(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        CheckInPassDto pass = checkInPassService.issuePass(id, principal.getId());
+        return ResponseEntity.ok(ApiResponse.success(pass));
+    }
+
     /**
      * Create a reservation (any authenticated user).
      */
@@ -91,30 +154,44 @@ public class ReservationController {
                 .body(ApiResponse.success(reservation, "Reservation created successfully."));
     }
 
+    /**
+     * Book several sessions, or a weekly series, in one request (any authenticated user).
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<BatchReservationResultDto>> createReservations(
+            @Valid @RequestBody BatchReservationRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        BatchReservationResultDto result = reservationService.createReservations(request, principal.getId());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(result, "Reservations created successfully."));
+    }
+
     /**
      * Cancel a reservation.
-     * Users can cancel their own, staff can cancel any.
+     * Users can cancel their own, staff can cancel their club's.
      */
     @PostMapping("/{id}/cancel")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<ReservationDto>> cancelReservation(
             @PathVariable Long id,
             @RequestParam(required = false) String reason,
-            @AuthenticationPrincipal UserPrincipal principal) {
-        boolean isStaff = principal.getAuthorities().stream()
-                .anyMatch(a -> List.of("ROLE_ADMIN", "ROLE_GYM_OWNER", "ROLE_MANAGER", "ROLE_RECEPTIONIST")
-                        .contains(a.getAuthority()));
-        ReservationDto reservation = reservationService.cancelReservation(id, principal.getId(), reason, isStaff);
+            @AuthenticationPrincipal UserPrincipal principal,
+            Authentication authentication) {
+        ReservationDto reservation = reservationService.cancelReservation(id, principal.getId(), reason, authentication);
         return ResponseEntity.ok(ApiResponse.success(reservation, "Reservation cancelled successfully."));
     }
 
     /**
-     * Check in a reservation (staff only).
+     * Check in a reservation (staff of the reservation's club).
      */
     @PostMapping("/{id}/checkin")
     @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'RECEPTIONIST')")
-    public ResponseEntity<ApiResponse<ReservationDto>> checkInReservation(@PathVariable Long id) {
-        ReservationDto reservation = reservationService.checkIn(id);
+    public ResponseEntity<ApiResponse<ReservationDto>> checkInReservation(
+            @PathVariable Long id,
+            Authentication authentication) {
+        ReservationDto reservation = reservationService.checkIn(id, authentication);
         return ResponseEntity.ok(ApiResponse.success(reservation, "Check-in successful."));
     }
 }
@@ -0,0 +1,29 @@
+package com.github.mhmdd9.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Attendance for a whole class at once: reservations that showed up and reservations that did not.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRequest {
+
+    @Builder.Default
+    @Size(max = 500, message = "Cannot mark more than 500 reservations at once")
+    private List<@NotNull Long> present = new ArrayList<>();
+
+    @Builder.Default
+    @Size(max = 500, message = "Cannot mark more than 500 reservations at once")
+    private List<@NotNull Long> absent = new ArrayList<>();
+}
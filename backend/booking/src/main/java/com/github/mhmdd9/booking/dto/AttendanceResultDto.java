@@ -0,0 +1,20 @@
+package com.github.mhmdd9.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceResultDto {
+    private Long sessionId;
+    private int markedPresent;
+    private int markedAbsent;
+    // Requested reservations left as they were: already marked that way, cancelled, unpaid or not on this session
+    private List<Long> unchanged;
+}
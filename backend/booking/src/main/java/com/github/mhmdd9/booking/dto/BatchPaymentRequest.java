@@ -0,0 +1,25 @@
+package com.github.mhmdd9.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Records payments for many reservations at once, e.g. a whole class closed out at the end of the day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPaymentRequest {
+
+    @NotEmpty(message = "At least one payment is required")
+    @Size(max = 500, message = "Cannot record more than 500 payments at once")
+    private List<@Valid RecordPaymentRequest> payments;
+}
@@ -0,0 +1,50 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPaymentResultDto {
+    private int requested;
+    private int recorded;
+    private int failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private Long reservationId;
+        private boolean recorded;
+        private PaymentDto payment;
+        private String errorCode;
+        private String message;
+
+        public static Item recorded(PaymentDto payment) {
+            return Item.builder()
+                    .reservationId(payment.getReservationId())
+                    .recorded(true)
+                    .payment(payment)
+                    .build();
+        }
+
+        public static Item failed(Long reservationId, String errorCode, String message) {
+            return Item.builder()
+                    .reservationId(reservationId)
+                    .recorded(false)
+                    .errorCode(errorCode)
+                    .message(message)
+                    .build();
+        }
+    }
+}
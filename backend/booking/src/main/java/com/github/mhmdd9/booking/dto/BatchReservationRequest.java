@@ -0,0 +1,39 @@
+package com.github.mhmdd9.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Books several sessions at once: either an explicit list of session ids,
+ * or every weekly occurrence of the slot of {@code seriesSessionId} for {@code weeks} weeks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReservationRequest {
+
+    @Size(max = 52, message = "Cannot book more than 52 sessions at once")
+    private List<Long> sessionIds;
+
+    private Long seriesSessionId;
+
+    @Min(value = 1, message = "Weeks must be at least 1")
+    @Max(value = 52, message = "Weeks cannot exceed 52")
+    private Integer weeks;
+
+    @Builder.Default
+    private BatchMode mode = BatchMode.ALL_OR_NOTHING;
+
+    public enum BatchMode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReservationResultDto {
+    private int requested;
+    private int booked;
+    private int failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private Long sessionId;
+        private boolean booked;
+        private ReservationDto reservation;
+        private String errorCode;
+        private String message;
+
+        public static Item booked(ReservationDto reservation) {
+            return Item.builder()
+                    .sessionId(reservation.getSessionId())
+                    .booked(true)
+                    .reservation(reservation)
+                    .build();
+        }
+
+        public static Item failed(Long sessionId, String errorCode, String message) {
+            return Item.builder()
+                    .sessionId(sessionId)
+                    .booked(false)
+                    .errorCode(errorCode)
+                    .message(message)
+                    .build();
+        }
+    }
+}
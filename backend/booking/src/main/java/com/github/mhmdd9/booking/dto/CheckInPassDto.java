@@ -0,0 +1,19 @@
+package com.github.mhmdd9.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInPassDto {
+    private Long reservationId;
+    private String pass;
+    private Instant validFrom;
+    private Instant validUntil;
+}
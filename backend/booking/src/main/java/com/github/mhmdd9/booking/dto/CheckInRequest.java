@@ -0,0 +1,23 @@
+package com.github.mhmdd9.booking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInRequest {
+
+    @NotBlank(message = "Pass is required")
+    @Size(max = 512, message = "Pass is too long")
+    private String pass;
+
+    @NotNull(message = "Club ID is required")
+    private Long clubId;
+}
@@ -0,0 +1,19 @@
+package com.github.mhmdd9.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInResultDto {
+    private Long reservationId;
+    private Long sessionId;
+    private Long userId;
+    private LocalDateTime checkedInAt;
+}
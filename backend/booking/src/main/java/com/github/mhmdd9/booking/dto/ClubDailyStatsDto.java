@@ -0,0 +1,25 @@
+package com.github.mhmdd9.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubDailyStatsDto {
+    private LocalDate date;
+    private int bookings;
+    private int cancellations;
+    private int noShows;
+    private int entries;
+    private int payments;
+    private BigDecimal revenue;
+    private Map<String, BigDecimal> revenueByMethod;
+}
@@ -0,0 +1,29 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubHourlyStatsDto {
+    private LocalDate date;
+    private int hour;
+    private int bookings;
+    private int entries;
+
+    public static ClubHourlyStatsDto from(AnalyticsRollupRepository.HourlyCounts counts) {
+        return ClubHourlyStatsDto.builder()
+                .date(counts.getDate())
+                .hour(counts.getHour())
+                .bookings(counts.getBookings())
+                .entries(counts.getEntries())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.github.mhmdd9.booking.entity.EntryLog;
+import com.github.mhmdd9.booking.repository.projection.EntryLogView;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryLogDto {
+    private Long id;
+    private Long userId;
+    private Long clubId;
+    private Long reservationId;
+    private LocalDateTime entryTime;
+    private LocalDateTime exitTime;
+    private String entryType;
+    private Long recordedBy;
+    private String notes;
+
+    public static EntryLogDto from(EntryLog entry) {
+        return EntryLogDto.builder()
+                .id(entry.getId())
+                .userId(entry.getUserId())
+                .clubId(entry.getClubId())
+                .reservationId(entry.getReservationId())
+                .entryTime(entry.getEntryTime())
+                .exitTime(entry.getExitTime())
+                .entryType(entry.getEntryType().name())
+                .recordedBy(entry.getRecordedBy())
+                .notes(entry.getNotes())
+                .build();
+    }
+
+    public static EntryLogDto from(EntryLogView entry) {
+        return EntryLogDto.builder()
+                .id(entry.getId())
+                .userId(entry.getUserId())
+                .clubId(entry.getClubId())
+                .reservationId(entry.getReservationId())
+                .entryTime(entry.getEntryTime())
+                .exitTime(entry.getExitTime())
+                .entryType(entry.getEntryType().name())
+                .recordedBy(entry.getRecordedBy())
+                .notes(entry.getNotes())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.mhmdd9.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyDto {
+    private Long clubId;
+    private int current;
+    private Integer capacity;
+    private Integer available;
+}
@@ -0,0 +1,44 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.github.mhmdd9.booking.entity.PaymentReconciliation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconciliationDto {
+    private Long id;
+    private Long clubId;
+    private LocalDate periodFrom;
+    private LocalDate periodTo;
+    private String fileName;
+    private int statementRows;
+    private int paymentsChecked;
+    private int matched;
+    private int flagged;
+    private Long createdBy;
+    private LocalDateTime createdAt;
+
+    public static PaymentReconciliationDto from(PaymentReconciliation reconciliation) {
+        return PaymentReconciliationDto.builder()
+                .id(reconciliation.getId())
+                .clubId(reconciliation.getClubId())
+                .periodFrom(reconciliation.getPeriodFrom())
+                .periodTo(reconciliation.getPeriodTo())
+                .fileName(reconciliation.getFileName())
+                .statementRows(reconciliation.getStatementRows())
+                .paymentsChecked(reconciliation.getPaymentsChecked())
+                .matched(reconciliation.getMatched())
+                .flagged(reconciliation.getFlagged())
+                .createdBy(reconciliation.getCreatedBy())
+                .createdAt(reconciliation.getCreatedAt())
+                .build();
+    }
+}
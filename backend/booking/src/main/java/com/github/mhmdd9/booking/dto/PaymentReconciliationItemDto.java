@@ -0,0 +1,37 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.github.mhmdd9.booking.entity.PaymentReconciliationItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconciliationItemDto {
+    private Long id;
+    private String status;
+    private Long paymentId;
+    private String referenceNumber;
+    private BigDecimal paymentAmount;
+    private BigDecimal statementAmount;
+    private Integer statementLine;
+    private String message;
+
+    public static PaymentReconciliationItemDto from(PaymentReconciliationItem item) {
+        return PaymentReconciliationItemDto.builder()
+                .id(item.getId())
+                .status(item.getStatus().name())
+                .paymentId(item.getPaymentId())
+                .referenceNumber(item.getReferenceNumber())
+                .paymentAmount(item.getPaymentAmount())
+                .statementAmount(item.getStatementAmount())
+                .statementLine(item.getStatementLine())
+                .message(item.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.github.mhmdd9.booking.entity.EntryLog;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordEntryRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Club ID is required")
+    private Long clubId;
+
+    private Long reservationId;
+
+    @Builder.Default
+    private EntryLog.EntryType entryType = EntryLog.EntryType.GENERAL;
+
+    private String notes;
+}
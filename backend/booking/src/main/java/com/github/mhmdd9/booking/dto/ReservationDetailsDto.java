@@ -0,0 +1,41 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A member's reservation with everything the bookings screen shows: session, activity, trainer, club and payment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationDetailsDto {
+    private Long id;
+    private String status;
+    private LocalDateTime bookedAt;
+    private LocalDateTime cancelledAt;
+    private String cancellationReason;
+    private LocalDateTime checkedInAt;
+    private Long sessionId;
+    private String activityName;
+    private LocalDate sessionDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String sessionStatus;
+    private String trainerName;
+    private Long clubId;
+    private String clubName;
+    private String clubAddress;
+    private BigDecimal paidAmount;
+    private String paymentMethod;
+}
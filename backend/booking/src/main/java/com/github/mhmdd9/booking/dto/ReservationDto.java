@@ -1,12 +1,15 @@
 package com.github.mhmdd9.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.booking.repository.projection.ReservationView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -23,6 +26,9 @@ public class ReservationDto {
     private String cancellationReason;
     private LocalDateTime checkedInAt;
 
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> warnings;
+
     public static ReservationDto from(Reservation reservation) {
         return ReservationDto.builder()
                 .id(reservation.getId())
@@ -36,5 +42,19 @@ public class ReservationDto {
                 .checkedInAt(reservation.getCheckedInAt())
                 .build();
     }
+
+    public static ReservationDto from(ReservationView reservation) {
+        return ReservationDto.builder()
+                .id(reservation.getId())
+                .userId(reservation.getUserId())
+                .sessionId(reservation.getSessionId())
+                .clubId(reservation.getClubId())
+                .status(reservation.getStatus().name())
+                .bookedAt(reservation.getBookedAt())
+                .cancelledAt(reservation.getCancelledAt())
+                .cancellationReason(reservation.getCancellationReason())
+                .checkedInAt(reservation.getCheckedInAt())
+                .build();
+    }
 }
 
@@ -0,0 +1,26 @@
+package com.github.mhmdd9.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntryDto {
+    private Long reservationId;
+    private Long userId;
+    private String userFullName;
+    private String userPhoneNumber;
+    private String status;
+    private LocalDateTime bookedAt;
+    private LocalDateTime checkedInAt;
+    private String paymentStatus;
+    private BigDecimal paidAmount;
+    private String paymentMethod;
+}
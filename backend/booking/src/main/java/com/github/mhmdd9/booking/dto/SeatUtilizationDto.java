@@ -0,0 +1,47 @@
+package com.github.mhmdd9.booking.dto;
+
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seat utilization of completed sessions for one activity and trainer.
+ * {@code utilization} is booked / capacity, {@code attendanceRate} is attended / booked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatUtilizationDto {
+    private Long activityId;
+    private String activityName;
+    private Long trainerId;
+    private String trainerName;
+    private long sessions;
+    private long capacity;
+    private long booked;
+    private long attended;
+    private double utilization;
+    private double attendanceRate;
+
+    public static SeatUtilizationDto from(AnalyticsRollupRepository.Utilization utilization) {
+        return SeatUtilizationDto.builder()
+                .activityId(utilization.getActivityId())
+                .activityName(utilization.getActivityName())
+                .trainerId(utilization.getTrainerId())
+                .trainerName(utilization.getTrainerName())
+                .sessions(utilization.getSessions())
+                .capacity(utilization.getCapacity())
+                .booked(utilization.getBooked())
+                .attended(utilization.getAttended())
+                .utilization(ratio(utilization.getBooked(), utilization.getCapacity()))
+                .attendanceRate(ratio(utilization.getAttended(), utilization.getBooked()))
+                .build();
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole > 0 ? (double) part / whole : 0;
+    }
+}
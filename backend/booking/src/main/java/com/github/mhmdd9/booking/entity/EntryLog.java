@@ -5,6 +5,10 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * Door event. The table is range-partitioned by month on entry_time with primary key (id, entry_time);
+ * id alone stays unique since it comes from a single sequence. Rows are written by EntryLogIngestionService.
+ */
 @Entity
 @Table(name = "entry_logs")
 @Getter
@@ -42,6 +46,7 @@ public class EntryLog {
     @Column(name = "recorded_by")
     private Long recordedBy;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 @Builder
 public class Payment extends BaseEntity {
 
-    @Column(name = "reservation_id", nullable = false)
+    @Column(name = "reservation_id", nullable = false, unique = true)
     private Long reservationId;
 
     @Column(name = "user_id", nullable = false)
@@ -50,6 +50,7 @@ public class Payment extends BaseEntity {
     @Column(name = "recorded_by")
     private Long recordedBy;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
@@ -63,6 +64,7 @@ public class Payment extends BaseEntity {
     public enum PaymentStatus {
         PENDING,
         PAID,
+        REFUND_PENDING,
         REFUNDED,
         FAILED
     }
@@ -0,0 +1,56 @@
+package com.github.mhmdd9.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One settlement statement matched against a club's card, POS and bank transfer payments.
+ * Discrepancies are kept as {@link PaymentReconciliationItem}s for review.
+ */
+@Entity
+@Table(name = "payment_reconciliations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentReconciliation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Column(name = "period_from", nullable = false)
+    private LocalDate periodFrom;
+
+    @Column(name = "period_to", nullable = false)
+    private LocalDate periodTo;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "statement_rows", nullable = false)
+    private Integer statementRows;
+
+    @Column(name = "payments_checked", nullable = false)
+    private Integer paymentsChecked;
+
+    @Column(name = "matched", nullable = false)
+    private Integer matched;
+
+    @Column(name = "flagged", nullable = false)
+    private Integer flagged;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
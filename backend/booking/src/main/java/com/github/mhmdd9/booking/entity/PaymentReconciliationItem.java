@@ -0,0 +1,55 @@
+package com.github.mhmdd9.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "payment_reconciliation_items")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentReconciliationItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reconciliation_id", nullable = false)
+    private Long reconciliationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private ItemStatus status;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "reference_number", length = 100)
+    private String referenceNumber;
+
+    @Column(name = "payment_amount", precision = 12, scale = 2)
+    private BigDecimal paymentAmount;
+
+    @Column(name = "statement_amount", precision = 12, scale = 2)
+    private BigDecimal statementAmount;
+
+    @Column(name = "statement_line")
+    private Integer statementLine;
+
+    @Column(name = "message")
+    private String message;
+
+    public enum ItemStatus {
+        AMOUNT_MISMATCH,         // Reference found, amounts differ
+        DUPLICATE_PAYMENT,       // Several recorded payments share the reference
+        DUPLICATE_STATEMENT_ROW, // The statement lists the reference more than once
+        UNRECORDED,              // Settled, but no payment was recorded with this reference
+        UNSETTLED,               // Recorded, but missing from the statement
+        MISSING_REFERENCE,       // Recorded without a reference number, so it cannot be matched
+        INVALID_ROW              // Statement row could not be read
+    }
+}
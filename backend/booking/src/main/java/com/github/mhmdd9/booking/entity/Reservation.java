@@ -36,6 +36,7 @@ public class Reservation extends VersionedEntity {
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "cancellation_reason", columnDefinition = "TEXT")
     private String cancellationReason;
 
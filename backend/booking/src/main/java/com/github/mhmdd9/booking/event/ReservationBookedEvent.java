@@ -0,0 +1,36 @@
+package com.github.mhmdd9.booking.event;
+
+import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.club.entity.ClassSession;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Published once per new reservation inside the booking transaction; in-memory state listens after commit.
+ * Carries the session details listeners need, so none of them reload the session.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationBookedEvent {
+    private final Long reservationId;
+    private final Long userId;
+    private final Long sessionId;
+    private final Long clubId;
+    private final LocalDateTime bookedAt;
+    private final LocalDate sessionDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final String activityName;
+    private final String clubName;
+
+    public static ReservationBookedEvent of(Reservation reservation, ClassSession session) {
+        return new ReservationBookedEvent(reservation.getId(), reservation.getUserId(), session.getId(),
+                reservation.getClubId(), reservation.getBookedAt(), session.getSessionDate(),
+                session.getStartTime(), session.getEndTime(), session.getActivity().getName(),
+                session.getClub().getName());
+    }
+}
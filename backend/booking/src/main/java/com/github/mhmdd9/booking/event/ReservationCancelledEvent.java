@@ -0,0 +1,22 @@
+package com.github.mhmdd9.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once per reservation a member or staff cancels, inside the cancelling transaction.
+ * Session-wide cancellations are cascaded by {@code SessionCancellationListener} instead.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationCancelledEvent {
+    private final Long reservationId;
+    private final Long userId;
+    private final Long sessionId;
+    private final Long clubId;
+    private final LocalDateTime cancelledAt;
+    // Epoch second until which an issued check-in pass stays valid; null when no pass can have been issued
+    private final Long passValidUntil;
+}
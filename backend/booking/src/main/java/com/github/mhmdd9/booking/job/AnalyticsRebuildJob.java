@@ -0,0 +1,161 @@
+package com.github.mhmdd9.booking.job;
+
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuilds the analytics rollups from the raw tables, one day per transaction, several days in parallel.
+ * Runs nightly over recent closed days to correct deltas lost between flushes, and on demand for backfills.
+ * Only closed days are rebuilt: a day is closed once no late settlement or in-memory delta can still land on it,
+ * otherwise the rebuild and the incremental updates would count the same events twice.
+ */
+@Slf4j
+@Component
+public class AnalyticsRebuildJob {
+
+    // Overnight sessions settle on the following day; the day after that nothing lands on them anymore
+    private static final int CLOSED_AFTER_DAYS = 2;
+
+    private final AnalyticsRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int nightlyDays;
+    private final int archiveRetentionMonths;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter daysRebuilt;
+    private final Counter daysFailed;
+    private final Timer runTimer;
+
+    public AnalyticsRebuildJob(
+            AnalyticsRollupRepository rollupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.rebuild.parallelism:4}") int parallelism,
+            @Value("${analytics.rebuild.nightly-days:7}") int nightlyDays,
+            @Value("${archive.retention-months:6}") int archiveRetentionMonths) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-rebuild-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.nightlyDays = nightlyDays;
+        this.archiveRetentionMonths = archiveRetentionMonths;
+
+        this.daysRebuilt = Counter.builder("analytics.rebuild.days")
+                .description("Days whose rollups were rebuilt from raw data")
+                .register(meterRegistry);
+        this.daysFailed = Counter.builder("analytics.rebuild.days.failed")
+                .description("Days whose rollup rebuild failed")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("analytics.rebuild.duration")
+                .description("Duration of a rollup rebuild run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${analytics.rebuild.cron:0 30 3 * * *}")
+    public void rebuildRecent() {
+        LocalDate to = lastClosedDay();
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Skipping nightly analytics rebuild, another rebuild is running");
+            return;
+        }
+        try {
+            run(to.minusDays(nightlyDays - 1L), to);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Starts rebuilding {@code from}..{@code to} in the background; returns the number of days queued.
+     */
+    public int startRebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date must not be before start date", "INVALID_DATE_RANGE");
+        }
+        if (to.isAfter(lastClosedDay())) {
+            throw new BusinessException("Only days up to " + lastClosedDay() + " can be rebuilt", "INVALID_DATE_RANGE");
+        }
+        // Rebuilds read the hot tables only; days whose reservations may be archived would lose them
+        if (archiveRetentionMonths > 0 && from.isBefore(LocalDate.now().minusMonths(archiveRetentionMonths))) {
+            throw new BusinessException("Days before " + LocalDate.now().minusMonths(archiveRetentionMonths)
+                    + " are archived and cannot be rebuilt", "INVALID_DATE_RANGE");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("An analytics rebuild is already running", "REBUILD_IN_PROGRESS");
+        }
+
+        Thread coordinator = new Thread(() -> {
+            try {
+                run(from, to);
+            } finally {
+                running.set(false);
+            }
+        }, "analytics-rebuild");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return (int) (to.toEpochDay() - from.toEpochDay() + 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(LocalDate from, LocalDate to) {
+        runTimer.record(() -> {
+            List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+            List<Future<?>> futures = new ArrayList<>(days.size());
+            for (LocalDate day : days) {
+                futures.add(executor.submit(() ->
+                        transactionTemplate.executeWithoutResult(status -> rollupRepository.rebuildDay(day))));
+            }
+
+            int failed = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                    daysRebuilt.increment();
+                } catch (ExecutionException e) {
+                    failed++;
+                    daysFailed.increment();
+                    log.error("Failed to rebuild analytics rollups for {}", days.get(i), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Analytics rebuild interrupted");
+                    return;
+                }
+            }
+            log.info("Rebuilt analytics rollups for {} to {}: {} days, {} failed", from, to, days.size(), failed);
+        });
+    }
+
+    private static LocalDate lastClosedDay() {
+        return LocalDate.now().minusDays(CLOSED_AFTER_DAYS);
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.mhmdd9.booking.job;
+
+import com.github.mhmdd9.booking.repository.BookedCountReconciliationRepository;
+import com.github.mhmdd9.booking.repository.BookedCountReconciliationRepository.Drift;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically checks class_sessions.booked_count of upcoming sessions against the number of
+ * PENDING_PAYMENT/PAID reservations and repairs any drift.
+ * Sessions are walked in keyset batches; each batch is recounted and fixed in its own short transaction.
+ */
+@Slf4j
+@Component
+public class BookedCountReconciliationJob {
+
+    private final BookedCountReconciliationRepository reconciliationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final boolean repair;
+
+    private final Counter sessionsChecked;
+    private final Counter sessionsDrifted;
+    private final Counter seatsDrifted;
+    private final Counter sessionsRepaired;
+    private final Timer runTimer;
+    private final AtomicInteger lastRunDrifted = new AtomicInteger();
+    private final AtomicInteger lastRunOverbooked = new AtomicInteger();
+
+    public BookedCountReconciliationJob(
+            BookedCountReconciliationRepository reconciliationRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${booking.reconciliation.batch-size:500}") int batchSize,
+            @Value("${booking.reconciliation.repair:true}") boolean repair) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.repair = repair;
+
+        this.sessionsChecked = Counter.builder("booking.reconciliation.sessions.checked")
+                .description("Sessions compared against their reservations")
+                .register(meterRegistry);
+        this.sessionsDrifted = Counter.builder("booking.reconciliation.sessions.drifted")
+                .description("Sessions whose booked_count disagreed with their reservations")
+                .register(meterRegistry);
+        this.seatsDrifted = Counter.builder("booking.reconciliation.seats.drifted")
+                .description("Absolute difference between booked_count and actual reservations")
+                .register(meterRegistry);
+        this.sessionsRepaired = Counter.builder("booking.reconciliation.sessions.repaired")
+                .description("Sessions whose booked_count was corrected")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("booking.reconciliation.duration")
+                .description("Duration of a full reconciliation run")
+                .register(meterRegistry);
+        Gauge.builder("booking.reconciliation.last_run.drifted", lastRunDrifted, AtomicInteger::get)
+                .description("Sessions found drifted in the last run")
+                .register(meterRegistry);
+        Gauge.builder("booking.reconciliation.last_run.overbooked", lastRunOverbooked, AtomicInteger::get)
+                .description("Sessions with more active reservations than capacity in the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${booking.reconciliation.initial-delay:60000}",
+            fixedDelayString = "${booking.reconciliation.interval:300000}"
+    )
+    public void reconcile() {
+        runTimer.record(this::runOnce);
+    }
+
+    private void runOnce() {
+        LocalDate today = LocalDate.now();
+        long afterId = 0;
+        int checked = 0;
+        int drifted = 0;
+        int overbooked = 0;
+
+        while (true) {
+            List<Long> ids = reconciliationRepository.findNextBatch(today, afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            List<Drift> drifts = repair
+                    ? transactionTemplate.execute(status -> reconciliationRepository.repair(ids))
+                    : reconciliationRepository.detect(ids);
+
+            checked += ids.size();
+            for (Drift drift : drifts) {
+                drifted++;
+                seatsDrifted.increment(Math.abs(drift.getRecorded() - drift.getActual()));
+                if (drift.isOverbooked()) {
+                    overbooked++;
+                    log.warn("Session {} is overbooked: {} active reservations for capacity {}",
+                            drift.getSessionId(), drift.getActual(), drift.getCapacity());
+                }
+                log.warn("booked_count drift on session {}: recorded {}, actual {}{}",
+                        drift.getSessionId(), drift.getRecorded(), drift.getActual(), repair ? " (repaired)" : "");
+            }
+            if (repair) {
+                sessionsRepaired.increment(drifts.size());
+            }
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        sessionsChecked.increment(checked);
+        sessionsDrifted.increment(drifted);
+        lastRunDrifted.set(drifted);
+        lastRunOverbooked.set(overbooked);
+        log.info("booked_count reconciliation checked {} sessions, {} drifted, {} overbooked",
+                checked, drifted, overbooked);
+    }
+}
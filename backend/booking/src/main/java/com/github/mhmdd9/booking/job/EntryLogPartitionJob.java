@@ -0,0 +1,50 @@
+package com.github.mhmdd9.booking.job;
+
+import com.github.mhmdd9.common.partition.MonthlyPartitionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps entry_logs partitions created ahead of time and drops months past the retention period.
+ */
+@Slf4j
+@Component
+public class EntryLogPartitionJob {
+
+    private static final String TABLE = "entry_logs";
+
+    private final MonthlyPartitionManager partitionManager;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public EntryLogPartitionJob(
+            MonthlyPartitionManager partitionManager,
+            @Value("${entry-logs.partitions-ahead:3}") int monthsAhead,
+            @Value("${entry-logs.retention-months:0}") int retentionMonths) {
+        this.partitionManager = partitionManager;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${entry-logs.partition-cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        int created = partitionManager.ensurePartitions(TABLE, current, monthsAhead);
+
+        int dropped = 0;
+        if (retentionMonths > 0) {
+            dropped = partitionManager.dropPartitionsBefore(TABLE, current.minusMonths(retentionMonths));
+        }
+
+        if (created > 0 || dropped > 0) {
+            log.info("entry_logs partitions: {} created, {} dropped", created, dropped);
+        }
+    }
+}
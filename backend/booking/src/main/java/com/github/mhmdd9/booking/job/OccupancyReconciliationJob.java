@@ -0,0 +1,67 @@
+package com.github.mhmdd9.booking.job;
+
+import com.github.mhmdd9.booking.repository.EntryLogBatchRepository;
+import com.github.mhmdd9.booking.service.EntryLogIngestionService;
+import com.github.mhmdd9.booking.service.OccupancyService;
+import com.github.mhmdd9.club.repository.ClubRepository;
+import com.github.mhmdd9.club.repository.projection.ClubCapacityView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the live occupancy counters from open entry logs on startup and corrects them periodically.
+ * Visits older than entry-logs.max-visit-hours without an exit are treated as having left.
+ */
+@Slf4j
+@Component
+public class OccupancyReconciliationJob {
+
+    private final EntryLogBatchRepository entryLogRepository;
+    private final EntryLogIngestionService ingestionService;
+    private final OccupancyService occupancyService;
+    private final ClubRepository clubRepository;
+    private final long maxVisitHours;
+
+    public OccupancyReconciliationJob(
+            EntryLogBatchRepository entryLogRepository,
+            EntryLogIngestionService ingestionService,
+            OccupancyService occupancyService,
+            ClubRepository clubRepository,
+            @Value("${entry-logs.max-visit-hours:24}") long maxVisitHours) {
+        this.entryLogRepository = entryLogRepository;
+        this.ingestionService = ingestionService;
+        this.occupancyService = occupancyService;
+        this.clubRepository = clubRepository;
+        this.maxVisitHours = maxVisitHours;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${occupancy.reconcile-interval:60000}",
+            fixedDelayString = "${occupancy.reconcile-interval:60000}"
+    )
+    public void reconcile() {
+        Map<Long, Integer> capacities = clubRepository.findFloorCapacities().stream()
+                .collect(Collectors.toMap(ClubCapacityView::getClubId, ClubCapacityView::getFloorCapacity));
+
+        // Hold the writer so no batch lands between the count and the buffer snapshot
+        Map<Long, Integer> counts = ingestionService.withPendingOccupancy(pending -> {
+            Map<Long, Integer> open = new HashMap<>(
+                    entryLogRepository.countOpenVisitsByClub(LocalDateTime.now().minusHours(maxVisitHours)));
+            pending.forEach((clubId, delta) -> open.merge(clubId, delta, Integer::sum));
+            return open;
+        });
+
+        occupancyService.reset(counts, capacities);
+        log.debug("Occupancy reconciled for {} clubs", counts.size());
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.mhmdd9.booking.job;
+
+import com.github.mhmdd9.booking.repository.ReservationArchiveRepository;
+import com.github.mhmdd9.common.partition.MonthlyPartitionManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves settled reservations (COMPLETED, CANCELLED, NO_SHOW) of sessions older than the retention period,
+ * together with their payments, into the archive tables, so the hot tables and their indexes stay sized
+ * to the working set. Works in chunks, one short transaction per chunk.
+ * <p>
+ * Afterwards, months of class_sessions before the retention period are detached once nothing still refers to
+ * their sessions, so lookups by session id only probe the partitions of the retained months. A month whose
+ * reservations could not be archived yet, or that still has waitlist entries, stays attached until a later run.
+ */
+@Slf4j
+@Component
+public class ReservationArchiveJob {
+
+    private static final String SESSIONS_TABLE = "class_sessions";
+
+    private final ReservationArchiveRepository archiveRepository;
+    private final MonthlyPartitionManager partitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int chunkSize;
+
+    private final Counter reservationsArchived;
+    private final Counter paymentsArchived;
+
+    public ReservationArchiveJob(
+            ReservationArchiveRepository archiveRepository,
+            MonthlyPartitionManager partitionManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${archive.retention-months:6}") int retentionMonths,
+            @Value("${archive.chunk-size:1000}") int chunkSize) {
+        this.archiveRepository = archiveRepository;
+        this.partitionManager = partitionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+        this.chunkSize = chunkSize;
+
+        this.reservationsArchived = Counter.builder("archive.reservations")
+                .description("Reservations moved to the archive")
+                .register(meterRegistry);
+        this.paymentsArchived = Counter.builder("archive.payments")
+                .description("Payments moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void archive() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        LocalDate before = LocalDate.now().minusMonths(retentionMonths);
+        int reservations = 0;
+        int payments = 0;
+
+        while (true) {
+            ChunkResult chunk = transactionTemplate.execute(status -> archiveChunk(before));
+            if (chunk == null || chunk.reservations == 0) {
+                break;
+            }
+            reservations += chunk.reservations;
+            payments += chunk.payments;
+            if (chunk.reservations < chunkSize) {
+                break;
+            }
+        }
+
+        if (reservations > 0) {
+            reservationsArchived.increment(reservations);
+            paymentsArchived.increment(payments);
+            log.info("Archived {} reservations and {} payments of sessions before {}", reservations, payments, before);
+        }
+
+        detachSessionMonths(YearMonth.from(before));
+    }
+
+    /**
+     * Detaches the class_sessions months before {@code firstKept} that nothing refers to any more; their
+     * sessions stay readable in the detached tables.
+     */
+    private void detachSessionMonths(YearMonth firstKept) {
+        for (YearMonth month : partitionManager.listPartitions(SESSIONS_TABLE)) {
+            if (!month.isBefore(firstKept)) {
+                continue;
+            }
+            if (archiveRepository.isAnySessionReferencedBetween(month.atDay(1), month.plusMonths(1).atDay(1))) {
+                log.info("Keeping class_sessions month {}: its sessions are still referenced", month);
+                continue;
+            }
+            partitionManager.detachPartition(SESSIONS_TABLE, month);
+        }
+    }
+
+    private ChunkResult archiveChunk(LocalDate before) {
+        List<Long> ids = archiveRepository.lockArchivable(before, chunkSize);
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+        int payments = archiveRepository.move(ids, LocalDateTime.now());
+        return new ChunkResult(ids.size(), payments);
+    }
+
+    @AllArgsConstructor
+    private static class ChunkResult {
+        private final int reservations;
+        private final int payments;
+    }
+}
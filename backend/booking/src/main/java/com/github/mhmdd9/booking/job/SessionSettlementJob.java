@@ -0,0 +1,115 @@
+package com.github.mhmdd9.booking.job;
+
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import com.github.mhmdd9.booking.repository.SessionSettlementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Settles class sessions once they have ended (plus a grace period for late check-ins):
+ * reservations become COMPLETED or NO_SHOW depending on check-in, open waitlist entries expire,
+ * and the session becomes COMPLETED. Works oldest first in chunks, one short transaction per chunk.
+ */
+@Slf4j
+@Component
+public class SessionSettlementJob {
+
+    private final SessionSettlementRepository settlementRepository;
+    private final AnalyticsRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long graceMinutes;
+
+    private final Counter sessionsCompleted;
+    private final Counter reservationsCompleted;
+    private final Counter reservationsNoShow;
+
+    public SessionSettlementJob(
+            SessionSettlementRepository settlementRepository,
+            AnalyticsRollupRepository rollupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${booking.settlement.chunk-size:200}") int chunkSize,
+            @Value("${booking.settlement.grace-minutes:30}") long graceMinutes) {
+        this.settlementRepository = settlementRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.graceMinutes = graceMinutes;
+
+        this.sessionsCompleted = Counter.builder("booking.settlement.sessions.completed")
+                .description("Sessions moved to COMPLETED")
+                .register(meterRegistry);
+        this.reservationsCompleted = Counter.builder("booking.settlement.reservations.completed")
+                .description("Reservations settled as COMPLETED")
+                .register(meterRegistry);
+        this.reservationsNoShow = Counter.builder("booking.settlement.reservations.no_show")
+                .description("Reservations settled as NO_SHOW")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${booking.settlement.initial-delay:30000}",
+            fixedDelayString = "${booking.settlement.interval:300000}"
+    )
+    public void settle() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        int sessions = 0;
+        int completed = 0;
+        int noShows = 0;
+
+        while (true) {
+            ChunkResult chunk = transactionTemplate.execute(status -> settleChunk(cutoff));
+            if (chunk == null || chunk.sessions == 0) {
+                break;
+            }
+            sessions += chunk.sessions;
+            completed += chunk.completed;
+            noShows += chunk.noShows;
+            if (chunk.sessions < chunkSize) {
+                break;
+            }
+        }
+
+        if (sessions > 0) {
+            sessionsCompleted.increment(sessions);
+            reservationsCompleted.increment(completed);
+            reservationsNoShow.increment(noShows);
+            log.info("Settled {} sessions: {} reservations completed, {} no-shows", sessions, completed, noShows);
+        }
+    }
+
+    private ChunkResult settleChunk(LocalDateTime cutoff) {
+        List<Long> ids = settlementRepository.lockEndedSessions(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, 0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> statuses = settlementRepository.settleReservations(ids, now);
+        settlementRepository.expireWaitlist(ids);
+        settlementRepository.completeSessions(ids, now);
+        // Utilization and no-shows are final now; counted in this transaction so each session lands exactly once
+        rollupRepository.rollUpSettledSessions(ids);
+
+        int completed = (int) statuses.stream().filter("COMPLETED"::equals).count();
+        return new ChunkResult(ids.size(), completed, statuses.size() - completed);
+    }
+
+    @AllArgsConstructor
+    private static class ChunkResult {
+        private final int sessions;
+        private final int completed;
+        private final int noShows;
+    }
+}
@@ -0,0 +1,333 @@
+package com.github.mhmdd9.booking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Club analytics rollup tables: incremental upserts, per-day rebuilds from the raw tables, and dashboard reads.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRollupRepository {
+
+    private static final String UPSERT_DAILY_SQL =
+            "INSERT INTO club_daily_stats (club_id, stat_date, bookings, cancellations, no_shows, entries) " +
+            "VALUES (:clubId, :statDate, :bookings, :cancellations, :noShows, :entries) " +
+            "ON CONFLICT (club_id, stat_date) DO UPDATE SET " +
+            "bookings = club_daily_stats.bookings + EXCLUDED.bookings, " +
+            "cancellations = club_daily_stats.cancellations + EXCLUDED.cancellations, " +
+            "no_shows = club_daily_stats.no_shows + EXCLUDED.no_shows, " +
+            "entries = club_daily_stats.entries + EXCLUDED.entries";
+
+    private static final String UPSERT_HOURLY_SQL =
+            "INSERT INTO club_hourly_stats (club_id, stat_date, stat_hour, bookings, entries) " +
+            "VALUES (:clubId, :statDate, :hour, :bookings, :entries) " +
+            "ON CONFLICT (club_id, stat_date, stat_hour) DO UPDATE SET " +
+            "bookings = club_hourly_stats.bookings + EXCLUDED.bookings, " +
+            "entries = club_hourly_stats.entries + EXCLUDED.entries";
+
+    private static final String UPSERT_REVENUE_SQL =
+            "INSERT INTO club_daily_revenue (club_id, stat_date, method, payments, amount) " +
+            "VALUES (:clubId, :statDate, :method, :payments, :amount) " +
+            "ON CONFLICT (club_id, stat_date, method) DO UPDATE SET " +
+            "payments = club_daily_revenue.payments + EXCLUDED.payments, " +
+            "amount = club_daily_revenue.amount + EXCLUDED.amount";
+
+    // Seats of settled sessions: booked counts every reservation still holding a seat when the session ended
+    private static final String UTILIZATION_SELECT =
+            "SELECT s.club_id, s.session_date, s.activity_id, COALESCE(s.trainer_id, 0), COUNT(*), SUM(s.capacity), " +
+            "COALESCE(SUM(r.booked), 0), COALESCE(SUM(r.attended), 0) " +
+            "FROM class_sessions s " +
+            "LEFT JOIN (SELECT session_id, COUNT(*) AS booked, COUNT(*) FILTER (WHERE status = 'COMPLETED') AS attended " +
+            "           FROM reservations WHERE status IN ('COMPLETED', 'NO_SHOW') AND session_id IN (%s) " +
+            "           GROUP BY session_id) r ON r.session_id = s.id " +
+            "WHERE s.id IN (%s) " +
+            "GROUP BY s.club_id, s.session_date, s.activity_id, COALESCE(s.trainer_id, 0)";
+
+    private static final String UTILIZATION_INSERT =
+            "INSERT INTO session_utilization_daily " +
+            "(club_id, stat_date, activity_id, trainer_id, sessions, capacity, booked, attended) ";
+
+    private static final String ROLL_UP_SETTLED_UTILIZATION_SQL =
+            UTILIZATION_INSERT + String.format(UTILIZATION_SELECT, ":ids", ":ids") + " " +
+            "ON CONFLICT (club_id, stat_date, activity_id, trainer_id) DO UPDATE SET " +
+            "sessions = session_utilization_daily.sessions + EXCLUDED.sessions, " +
+            "capacity = session_utilization_daily.capacity + EXCLUDED.capacity, " +
+            "booked = session_utilization_daily.booked + EXCLUDED.booked, " +
+            "attended = session_utilization_daily.attended + EXCLUDED.attended";
+
+    private static final String ROLL_UP_SETTLED_NO_SHOWS_SQL =
+            "INSERT INTO club_daily_stats (club_id, stat_date, no_shows) " +
+            "SELECT s.club_id, s.session_date, COUNT(*) " +
+            "FROM reservations r JOIN class_sessions s ON s.id = r.session_id " +
+            "WHERE s.id IN (:ids) AND r.status = 'NO_SHOW' " +
+            "GROUP BY s.club_id, s.session_date " +
+            "ON CONFLICT (club_id, stat_date) DO UPDATE SET no_shows = club_daily_stats.no_shows + EXCLUDED.no_shows";
+
+    // Attendance corrections on a settled session move reservations between attended and no-show
+    private static final String ADJUST_ATTENDED_SQL =
+            "UPDATE session_utilization_daily u SET attended = u.attended + :attended " +
+            "FROM class_sessions s WHERE s.id = :sessionId AND u.club_id = s.club_id AND u.stat_date = s.session_date " +
+            "AND u.activity_id = s.activity_id AND u.trainer_id = COALESCE(s.trainer_id, 0)";
+
+    private static final String ADJUST_NO_SHOWS_SQL =
+            "INSERT INTO club_daily_stats (club_id, stat_date, no_shows) " +
+            "SELECT club_id, session_date, -:attended FROM class_sessions WHERE id = :sessionId " +
+            "ON CONFLICT (club_id, stat_date) DO UPDATE SET no_shows = club_daily_stats.no_shows + EXCLUDED.no_shows";
+
+    private static final String COMPLETED_SESSIONS_OF_DAY =
+            "SELECT id FROM class_sessions WHERE session_date = :day AND status = 'COMPLETED'";
+
+    private static final String REBUILD_DAILY_SQL =
+            "INSERT INTO club_daily_stats (club_id, stat_date, bookings, cancellations, no_shows, entries) " +
+            "SELECT club_id, :day, SUM(bookings), SUM(cancellations), SUM(no_shows), SUM(entries) FROM (" +
+            "  SELECT club_id, COUNT(*) AS bookings, 0 AS cancellations, 0 AS no_shows, 0 AS entries " +
+            "  FROM reservations WHERE booked_at >= :dayStart AND booked_at < :dayEnd GROUP BY club_id " +
+            "  UNION ALL " +
+            "  SELECT club_id, 0, COUNT(*), 0, 0 " +
+            "  FROM reservations WHERE cancelled_at >= :dayStart AND cancelled_at < :dayEnd GROUP BY club_id " +
+            "  UNION ALL " +
+            "  SELECT s.club_id, 0, 0, COUNT(*), 0 " +
+            "  FROM reservations r JOIN class_sessions s ON s.id = r.session_id " +
+            "  WHERE s.session_date = :day AND r.status = 'NO_SHOW' GROUP BY s.club_id " +
+            "  UNION ALL " +
+            "  SELECT club_id, 0, 0, 0, COUNT(*) " +
+            "  FROM entry_logs WHERE entry_time >= :dayStart AND entry_time < :dayEnd GROUP BY club_id" +
+            ") t GROUP BY club_id";
+
+    private static final String REBUILD_HOURLY_SQL =
+            "INSERT INTO club_hourly_stats (club_id, stat_date, stat_hour, bookings, entries) " +
+            "SELECT club_id, :day, stat_hour, SUM(bookings), SUM(entries) FROM (" +
+            "  SELECT club_id, CAST(EXTRACT(HOUR FROM booked_at) AS integer) AS stat_hour, COUNT(*) AS bookings, 0 AS entries " +
+            "  FROM reservations WHERE booked_at >= :dayStart AND booked_at < :dayEnd GROUP BY 1, 2 " +
+            "  UNION ALL " +
+            "  SELECT club_id, CAST(EXTRACT(HOUR FROM entry_time) AS integer), 0, COUNT(*) " +
+            "  FROM entry_logs WHERE entry_time >= :dayStart AND entry_time < :dayEnd GROUP BY 1, 2" +
+            ") t GROUP BY club_id, stat_hour";
+
+    // Refunded payments were still collected on the day they were paid
+    private static final String REBUILD_REVENUE_SQL =
+            "INSERT INTO club_daily_revenue (club_id, stat_date, method, payments, amount) " +
+            "SELECT club_id, :day, method, COUNT(*), SUM(amount) FROM payments " +
+            "WHERE paid_at >= :dayStart AND paid_at < :dayEnd AND status IN ('PAID', 'REFUND_PENDING', 'REFUNDED') " +
+            "GROUP BY club_id, method";
+
+    private static final String REBUILD_UTILIZATION_SQL =
+            UTILIZATION_INSERT + String.format(UTILIZATION_SELECT, COMPLETED_SESSIONS_OF_DAY, COMPLETED_SESSIONS_OF_DAY);
+
+    private static final List<String> ROLLUP_TABLES =
+            List.of("club_daily_stats", "club_hourly_stats", "club_daily_revenue", "session_utilization_daily");
+
+    private static final String DAILY_SQL =
+            "SELECT club_id, stat_date, bookings, cancellations, no_shows, entries FROM club_daily_stats " +
+            "WHERE club_id = :clubId AND stat_date BETWEEN :from AND :to ORDER BY stat_date";
+
+    private static final String HOURLY_SQL =
+            "SELECT club_id, stat_date, stat_hour, bookings, entries FROM club_hourly_stats " +
+            "WHERE club_id = :clubId AND stat_date BETWEEN :from AND :to ORDER BY stat_date, stat_hour";
+
+    private static final String REVENUE_SQL =
+            "SELECT club_id, stat_date, method, payments, amount FROM club_daily_revenue " +
+            "WHERE club_id = :clubId AND stat_date BETWEEN :from AND :to ORDER BY stat_date, method";
+
+    private static final String UTILIZATION_SQL =
+            "SELECT u.activity_id, a.name AS activity_name, u.trainer_id, t.first_name, t.last_name, " +
+            "SUM(u.sessions) AS sessions, SUM(u.capacity) AS capacity, SUM(u.booked) AS booked, SUM(u.attended) AS attended " +
+            "FROM session_utilization_daily u " +
+            "JOIN activity_definitions a ON a.id = u.activity_id " +
+            "LEFT JOIN trainers t ON t.id = u.trainer_id " +
+            "WHERE u.club_id = :clubId AND u.stat_date BETWEEN :from AND :to " +
+            "GROUP BY u.activity_id, a.name, u.trainer_id, t.first_name, t.last_name " +
+            "ORDER BY a.name, t.last_name, t.first_name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void upsertDaily(Collection<DailyCounts> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, rows.stream()
+                .map(r -> new MapSqlParameterSource()
+                        .addValue("clubId", r.getClubId())
+                        .addValue("statDate", r.getDate())
+                        .addValue("bookings", r.getBookings())
+                        .addValue("cancellations", r.getCancellations())
+                        .addValue("noShows", r.getNoShows())
+                        .addValue("entries", r.getEntries()))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    public void upsertHourly(Collection<HourlyCounts> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, rows.stream()
+                .map(r -> new MapSqlParameterSource()
+                        .addValue("clubId", r.getClubId())
+                        .addValue("statDate", r.getDate())
+                        .addValue("hour", r.getHour())
+                        .addValue("bookings", r.getBookings())
+                        .addValue("entries", r.getEntries()))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    public void upsertRevenue(Collection<RevenueTotal> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_REVENUE_SQL, rows.stream()
+                .map(r -> new MapSqlParameterSource()
+                        .addValue("clubId", r.getClubId())
+                        .addValue("statDate", r.getDate())
+                        .addValue("method", r.getMethod())
+                        .addValue("payments", r.getPayments())
+                        .addValue("amount", r.getAmount()))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Adds just-settled sessions to seat utilization and their no-shows to the daily stats.
+     * Must run in the settling transaction so each session is counted exactly once.
+     */
+    public void rollUpSettledSessions(Collection<Long> sessionIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", sessionIds);
+        jdbcTemplate.update(ROLL_UP_SETTLED_UTILIZATION_SQL, params);
+        jdbcTemplate.update(ROLL_UP_SETTLED_NO_SHOWS_SQL, params);
+    }
+
+    /**
+     * Moves {@code attended} reservations of an already settled session from no-show to attended
+     * (negative to move them back). Must run in the transaction that changed their status.
+     */
+    public void adjustSettledAttendance(Long sessionId, int attended) {
+        if (attended == 0) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sessionId", sessionId)
+                .addValue("attended", attended);
+        jdbcTemplate.update(ADJUST_ATTENDED_SQL, params);
+        jdbcTemplate.update(ADJUST_NO_SHOWS_SQL, params);
+    }
+
+    /**
+     * Replaces every rollup row of {@code day} with totals recomputed from the raw tables.
+     */
+    public void rebuildDay(LocalDate day) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("day", day)
+                .addValue("dayStart", day.atStartOfDay())
+                .addValue("dayEnd", day.plusDays(1).atStartOfDay());
+        for (String table : ROLLUP_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE stat_date = :day", params);
+        }
+        jdbcTemplate.update(REBUILD_DAILY_SQL, params);
+        jdbcTemplate.update(REBUILD_HOURLY_SQL, params);
+        jdbcTemplate.update(REBUILD_REVENUE_SQL, params);
+        jdbcTemplate.update(REBUILD_UTILIZATION_SQL, params);
+    }
+
+    public List<DailyCounts> findDaily(Long clubId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(DAILY_SQL, range(clubId, from, to), (rs, rowNum) -> new DailyCounts(
+                rs.getLong("club_id"),
+                rs.getDate("stat_date").toLocalDate(),
+                rs.getInt("bookings"),
+                rs.getInt("cancellations"),
+                rs.getInt("no_shows"),
+                rs.getInt("entries")));
+    }
+
+    public List<HourlyCounts> findHourly(Long clubId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(HOURLY_SQL, range(clubId, from, to), (rs, rowNum) -> new HourlyCounts(
+                rs.getLong("club_id"),
+                rs.getDate("stat_date").toLocalDate(),
+                rs.getInt("stat_hour"),
+                rs.getInt("bookings"),
+                rs.getInt("entries")));
+    }
+
+    public List<RevenueTotal> findRevenue(Long clubId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(REVENUE_SQL, range(clubId, from, to), (rs, rowNum) -> new RevenueTotal(
+                rs.getLong("club_id"),
+                rs.getDate("stat_date").toLocalDate(),
+                rs.getString("method"),
+                rs.getInt("payments"),
+                rs.getBigDecimal("amount")));
+    }
+
+    public List<Utilization> findUtilization(Long clubId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(UTILIZATION_SQL, range(clubId, from, to), (rs, rowNum) -> {
+            long trainerId = rs.getLong("trainer_id");
+            String trainerFirstName = rs.getString("first_name");
+            return new Utilization(
+                    rs.getLong("activity_id"),
+                    rs.getString("activity_name"),
+                    trainerId != 0 ? trainerId : null,
+                    trainerFirstName != null ? trainerFirstName + " " + rs.getString("last_name") : null,
+                    rs.getLong("sessions"),
+                    rs.getLong("capacity"),
+                    rs.getLong("booked"),
+                    rs.getLong("attended"));
+        });
+    }
+
+    private static MapSqlParameterSource range(Long clubId, LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("clubId", clubId)
+                .addValue("from", from)
+                .addValue("to", to);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class DailyCounts {
+        private final Long clubId;
+        private final LocalDate date;
+        private final int bookings;
+        private final int cancellations;
+        private final int noShows;
+        private final int entries;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class HourlyCounts {
+        private final Long clubId;
+        private final LocalDate date;
+        private final int hour;
+        private final int bookings;
+        private final int entries;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RevenueTotal {
+        private final Long clubId;
+        private final LocalDate date;
+        private final String method;
+        private final int payments;
+        private final BigDecimal amount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Utilization {
+        private final Long activityId;
+        private final String activityName;
+        private final Long trainerId;
+        private final String trainerName;
+        private final long sessions;
+        private final long capacity;
+        private final long booked;
+        private final long attended;
+    }
+}
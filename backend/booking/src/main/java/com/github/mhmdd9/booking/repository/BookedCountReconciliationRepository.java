@@ -0,0 +1,95 @@
+package com.github.mhmdd9.booking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based comparison of class_sessions.booked_count with the real number of active reservations.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookedCountReconciliationRepository {
+
+    private static final String NEXT_BATCH_SQL =
+            "SELECT id FROM class_sessions " +
+            "WHERE status = 'SCHEDULED' AND session_date >= :fromDate AND id > :afterId " +
+            "ORDER BY id LIMIT :limit";
+
+    private static final String LOCK_SQL =
+            "SELECT id FROM class_sessions WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String ACTUAL_COUNTS =
+            "WITH actual AS (" +
+            "  SELECT cs.id, cs.booked_count AS recorded, cs.capacity, COALESCE(c.active, 0) AS actual " +
+            "  FROM class_sessions cs " +
+            "  LEFT JOIN (SELECT session_id, COUNT(*) AS active FROM reservations " +
+            "             WHERE session_id IN (:ids) AND status IN ('PENDING_PAYMENT', 'PAID') " +
+            "             GROUP BY session_id) c ON c.session_id = cs.id " +
+            "  WHERE cs.id IN (:ids)" +
+            ") ";
+
+    private static final String DETECT_SQL = ACTUAL_COUNTS +
+            "SELECT id, recorded, actual, capacity FROM actual WHERE recorded <> actual ORDER BY id";
+
+    private static final String REPAIR_SQL = ACTUAL_COUNTS +
+            "UPDATE class_sessions cs " +
+            "SET booked_count = a.actual, version = cs.version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "FROM actual a WHERE cs.id = a.id AND a.recorded <> a.actual " +
+            "RETURNING cs.id, a.recorded, a.actual, a.capacity";
+
+    private static final RowMapper<Drift> DRIFT_MAPPER = (rs, rowNum) -> new Drift(
+            rs.getLong("id"),
+            rs.getInt("recorded"),
+            rs.getInt("actual"),
+            rs.getInt("capacity")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Keyset page of upcoming scheduled session ids after {@code afterId}.
+     */
+    public List<Long> findNextBatch(LocalDate fromDate, long afterId, int limit) {
+        return jdbcTemplate.queryForList(NEXT_BATCH_SQL, new MapSqlParameterSource()
+                .addValue("fromDate", fromDate)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit), Long.class);
+    }
+
+    public List<Drift> detect(Collection<Long> sessionIds) {
+        return jdbcTemplate.query(DETECT_SQL, new MapSqlParameterSource("ids", sessionIds), DRIFT_MAPPER);
+    }
+
+    /**
+     * Locks the sessions in id order, then recounts and fixes them in one statement.
+     * The lock is taken first so the recount runs on a snapshot that already includes every
+     * booking that touched these sessions; must run inside a transaction.
+     */
+    public List<Drift> repair(Collection<Long> sessionIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", sessionIds);
+        jdbcTemplate.queryForList(LOCK_SQL, params, Long.class);
+        return jdbcTemplate.query(REPAIR_SQL, params, DRIFT_MAPPER);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Drift {
+        private final long sessionId;
+        private final int recorded;
+        private final int actual;
+        private final int capacity;
+
+        public boolean isOverbooked() {
+            return actual > capacity;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.mhmdd9.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC writes and warm-up reads for kiosk check-ins.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CheckInBatchRepository {
+
+    private static final String CHECK_IN_SQL =
+            "UPDATE reservations SET checked_in_at = :checkedInAt, updated_at = :now, version = version + 1 " +
+            "WHERE id = :id AND status = 'PAID' AND checked_in_at IS NULL";
+
+    private static final String SESSION_END =
+            "s.session_date + s.end_time " +
+            "+ CASE WHEN s.end_time <= s.start_time THEN INTERVAL '1 day' ELSE INTERVAL '0 day' END";
+
+    private static final String UPCOMING_BY_STATUS_SQL =
+            "SELECT r.id, " + SESSION_END + " AS ends_at " +
+            "FROM reservations r JOIN class_sessions s ON s.id = r.session_id " +
+            "WHERE r.status = :status AND s.session_date >= :fromDate";
+
+    private static final String CHECKED_IN_SQL =
+            "SELECT r.id, " + SESSION_END + " AS ends_at " +
+            "FROM reservations r JOIN class_sessions s ON s.id = r.session_id " +
+            "WHERE r.checked_in_at IS NOT NULL AND s.session_date >= :fromDate";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Records check-ins in one JDBC batch. Reservations that are no longer PAID or were already
+     * checked in are left untouched; returns their ids.
+     */
+    public List<Long> markCheckedIn(Map<Long, LocalDateTime> checkIns) {
+        if (checkIns.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(checkIns.keySet());
+        MapSqlParameterSource[] batch = ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("checkedInAt", checkIns.get(id))
+                        .addValue("now", now))
+                .toArray(MapSqlParameterSource[]::new);
+
+        int[] counts = jdbcTemplate.batchUpdate(CHECK_IN_SQL, batch);
+        List<Long> skipped = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO (-2) means the row was written but the driver did not count it
+            if (counts[i] == 0) {
+                skipped.add(ids.get(i));
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Cancelled reservations of sessions from {@code fromDate} on, with the end of their session.
+     */
+    public Map<Long, LocalDateTime> findCancelledSince(LocalDate fromDate) {
+        return queryEnds(UPCOMING_BY_STATUS_SQL, new MapSqlParameterSource()
+                .addValue("status", "CANCELLED")
+                .addValue("fromDate", fromDate));
+    }
+
+    /**
+     * Checked-in reservations of sessions from {@code fromDate} on, with the end of their session.
+     */
+    public Map<Long, LocalDateTime> findCheckedInSince(LocalDate fromDate) {
+        return queryEnds(CHECKED_IN_SQL, new MapSqlParameterSource("fromDate", fromDate));
+    }
+
+    private Map<Long, LocalDateTime> queryEnds(String sql, MapSqlParameterSource params) {
+        Map<Long, LocalDateTime> result = new HashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            result.put(rs.getLong("id"), rs.getTimestamp("ends_at").toLocalDateTime());
+        });
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.EntryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for the entry_logs ingestion pipeline.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EntryLogBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO entry_logs (user_id, club_id, reservation_id, entry_time, entry_type, recorded_by, notes) " +
+            "VALUES (:userId, :clubId, :reservationId, :entryTime, :entryType, :recordedBy, :notes)";
+
+    /**
+     * Closes the member's latest open visit at the club. Bounding entry_time limits the lookup
+     * to the partitions that can still hold an open visit.
+     */
+    private static final String CLOSE_VISIT_SQL =
+            "UPDATE entry_logs SET exit_time = :exitTime " +
+            "WHERE (id, entry_time) = (" +
+            "  SELECT id, entry_time FROM entry_logs " +
+            "  WHERE user_id = :userId AND club_id = :clubId AND exit_time IS NULL " +
+            "  AND entry_time <= :exitTime AND entry_time >= :since " +
+            "  ORDER BY entry_time DESC LIMIT 1)";
+
+    private static final String OPEN_VISITS_SQL =
+            "SELECT club_id, COUNT(*) AS open_visits FROM entry_logs " +
+            "WHERE exit_time IS NULL AND entry_time >= :since " +
+            "GROUP BY club_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<EntryLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = entries.stream()
+                .map(e -> new MapSqlParameterSource()
+                        .addValue("userId", e.getUserId())
+                        .addValue("clubId", e.getClubId())
+                        .addValue("reservationId", e.getReservationId())
+                        .addValue("entryTime", e.getEntryTime())
+                        .addValue("entryType", e.getEntryType().name())
+                        .addValue("recordedBy", e.getRecordedBy())
+                        .addValue("notes", e.getNotes()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * Sets the exit time on each member's open visit; returns the exits that found no open visit to close.
+     */
+    public List<EntryLog> closeVisits(List<EntryLog> exits, long maxVisitHours) {
+        if (exits.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource[] batch = exits.stream()
+                .map(e -> new MapSqlParameterSource()
+                        .addValue("userId", e.getUserId())
+                        .addValue("clubId", e.getClubId())
+                        .addValue("exitTime", e.getExitTime())
+                        .addValue("since", e.getExitTime().minusHours(maxVisitHours)))
+                .toArray(MapSqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate(CLOSE_VISIT_SQL, batch);
+        List<EntryLog> unmatched = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                unmatched.add(exits.get(i));
+            }
+        }
+        return unmatched;
+    }
+
+    /**
+     * Number of visits without an exit per club, counting only entries since {@code since}.
+     */
+    public Map<Long, Integer> countOpenVisitsByClub(LocalDateTime since) {
+        Map<Long, Integer> result = new HashMap<>();
+        jdbcTemplate.query(OPEN_VISITS_SQL, new MapSqlParameterSource("since", since), rs -> {
+            result.put(rs.getLong("club_id"), rs.getInt("open_visits"));
+        });
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.mhmdd9.booking.repository;
 
 import com.github.mhmdd9.booking.entity.EntryLog;
+import com.github.mhmdd9.booking.repository.projection.EntryLogView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,7 +20,15 @@ public interface EntryLogRepository extends JpaRepository<EntryLog, Long> {
 
     Page<EntryLog> findByClubId(Long clubId, Pageable pageable);
 
-    List<EntryLog> findByClubIdAndEntryTimeBetween(Long clubId, LocalDateTime start, LocalDateTime end);
+    @Query("SELECT e.id AS id, e.userId AS userId, e.clubId AS clubId, e.reservationId AS reservationId, " +
+           "e.entryTime AS entryTime, e.exitTime AS exitTime, e.entryType AS entryType, " +
+           "e.recordedBy AS recordedBy, e.notes AS notes " +
+           "FROM EntryLog e WHERE e.clubId = :clubId AND e.entryTime BETWEEN :start AND :end")
+    List<EntryLogView> findByClubIdAndEntryTimeBetween(
+            @Param("clubId") Long clubId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
     Optional<EntryLog> findByReservationId(Long reservationId);
 
@@ -0,0 +1,108 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for recording many payments at once. All methods must share one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentBatchRepository {
+
+    private static final String LOCK_RESERVATIONS_SQL =
+            "SELECT r.id, r.user_id, r.club_id, r.status, p.id IS NOT NULL AS has_payment " +
+            "FROM reservations r LEFT JOIN payments p ON p.reservation_id = r.id " +
+            "WHERE r.id IN (:ids) ORDER BY r.id FOR UPDATE OF r";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payments (reservation_id, user_id, club_id, amount, currency, method, reference_number, " +
+            "status, paid_at, recorded_by, notes, created_at, updated_at) " +
+            "VALUES (:reservationId, :userId, :clubId, :amount, :currency, :method, :referenceNumber, " +
+            ":status, :paidAt, :recordedBy, :notes, :now, :now)";
+
+    private static final String MARK_PAID_SQL =
+            "UPDATE reservations SET status = 'PAID', version = version + 1, updated_at = :now " +
+            "WHERE id IN (:ids) AND status = 'PENDING_PAYMENT'";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the reservations in id order and reports their status and whether a payment already exists.
+     */
+    public List<PayableReservation> lockReservations(Collection<Long> reservationIds) {
+        return jdbcTemplate.query(LOCK_RESERVATIONS_SQL, new MapSqlParameterSource("ids", reservationIds),
+                (rs, rowNum) -> new PayableReservation(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        rs.getLong("club_id"),
+                        rs.getString("status"),
+                        rs.getBoolean("has_payment")));
+    }
+
+    /**
+     * Inserts all payments in one JDBC batch and assigns the generated ids back to them.
+     */
+    public List<Payment> insertAll(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return payments;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource[] batch = payments.stream()
+                .map(p -> new MapSqlParameterSource()
+                        .addValue("reservationId", p.getReservationId())
+                        .addValue("userId", p.getUserId())
+                        .addValue("clubId", p.getClubId())
+                        .addValue("amount", p.getAmount())
+                        .addValue("currency", p.getCurrency())
+                        .addValue("method", p.getMethod().name())
+                        .addValue("referenceNumber", p.getReferenceNumber())
+                        .addValue("status", p.getStatus().name())
+                        .addValue("paidAt", p.getPaidAt())
+                        .addValue("recordedBy", p.getRecordedBy())
+                        .addValue("notes", p.getNotes())
+                        .addValue("now", now))
+                .toArray(MapSqlParameterSource[]::new);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < payments.size(); i++) {
+            Payment payment = payments.get(i);
+            payment.setId(((Number) keys.get(i).get("id")).longValue());
+            payment.setCreatedAt(now);
+            payment.setUpdatedAt(now);
+        }
+        return payments;
+    }
+
+    public int markPaid(Collection<Long> reservationIds, LocalDateTime now) {
+        return jdbcTemplate.update(MARK_PAID_SQL, new MapSqlParameterSource()
+                .addValue("ids", reservationIds)
+                .addValue("now", now));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PayableReservation {
+        private final Long id;
+        private final Long userId;
+        private final Long clubId;
+        private final String status;
+        private final boolean hasPayment;
+    }
+}
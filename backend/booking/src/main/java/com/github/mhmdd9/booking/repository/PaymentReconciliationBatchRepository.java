@@ -0,0 +1,81 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.PaymentReconciliationItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC reads and batch writes for statement reconciliation.
+ * Settled payments are streamed as narrow rows instead of entities, and discrepancy items are inserted in batches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentReconciliationBatchRepository {
+
+    // Payments that went through a bank or card terminal; refunds were settled first, so they are included
+    private static final String SETTLABLE_PAYMENTS_SQL =
+            "SELECT id, reference_number, amount FROM payments " +
+            "WHERE club_id = :clubId AND paid_at >= :from AND paid_at < :to " +
+            "AND method IN ('CARD', 'POS', 'BANK_TRANSFER') " +
+            "AND status IN ('PAID', 'REFUND_PENDING', 'REFUNDED')";
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO payment_reconciliation_items (reconciliation_id, status, payment_id, reference_number, " +
+            "payment_amount, statement_amount, statement_line, message) " +
+            "VALUES (:reconciliationId, :status, :paymentId, :referenceNumber, " +
+            ":paymentAmount, :statementAmount, :statementLine, :message)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Passes each card, POS and bank transfer payment of a club paid in [{@code from}, {@code to}) to {@code consumer}.
+     */
+    public void forEachSettlablePayment(Long clubId, LocalDateTime from, LocalDateTime to,
+                                        Consumer<SettlablePayment> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("clubId", clubId)
+                .addValue("from", from)
+                .addValue("to", to);
+        jdbcTemplate.query(SETTLABLE_PAYMENTS_SQL, params, rs -> {
+            consumer.accept(new SettlablePayment(
+                    rs.getLong("id"),
+                    rs.getString("reference_number"),
+                    rs.getBigDecimal("amount")));
+        });
+    }
+
+    public void insertItems(List<PaymentReconciliationItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = items.stream()
+                .map(item -> new MapSqlParameterSource()
+                        .addValue("reconciliationId", item.getReconciliationId())
+                        .addValue("status", item.getStatus().name())
+                        .addValue("paymentId", item.getPaymentId())
+                        .addValue("referenceNumber", item.getReferenceNumber())
+                        .addValue("paymentAmount", item.getPaymentAmount())
+                        .addValue("statementAmount", item.getStatementAmount())
+                        .addValue("statementLine", item.getStatementLine())
+                        .addValue("message", item.getMessage()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, batch);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SettlablePayment {
+        private final long id;
+        private final String referenceNumber;
+        private final BigDecimal amount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.PaymentReconciliationItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentReconciliationItemRepository extends JpaRepository<PaymentReconciliationItem, Long> {
+
+    Page<PaymentReconciliationItem> findByReconciliationId(Long reconciliationId, Pageable pageable);
+
+    Page<PaymentReconciliationItem> findByReconciliationIdAndStatus(
+            Long reconciliationId, PaymentReconciliationItem.ItemStatus status, Pageable pageable);
+}
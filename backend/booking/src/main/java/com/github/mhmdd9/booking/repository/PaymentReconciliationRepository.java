@@ -0,0 +1,13 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.PaymentReconciliation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentReconciliationRepository extends JpaRepository<PaymentReconciliation, Long> {
+
+    Page<PaymentReconciliation> findByClubId(Long clubId, Pageable pageable);
+}
@@ -0,0 +1,91 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.dto.PendingPaymentDto;
+import com.github.mhmdd9.common.util.Names;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The reception desk's pending payments: reservation, session, activity, trainer, member and club
+ * read in a single query, newest bookings first, keyset paginated on (booked_at, id).
+ */
+@Repository
+@RequiredArgsConstructor
+public class PendingPaymentQueryRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT r.id, r.user_id, u.phone_number, u.first_name, u.last_name, " +
+            "r.session_id, a.name AS activity_name, s.session_date, s.start_time, s.end_time, " +
+            "t.first_name AS trainer_first_name, t.last_name AS trainer_last_name, " +
+            "r.booked_at, r.club_id, c.name AS club_name " +
+            "FROM reservations r " +
+            "JOIN class_sessions s ON s.id = r.session_id " +
+            "JOIN activity_definitions a ON a.id = s.activity_id " +
+            "LEFT JOIN trainers t ON t.id = s.trainer_id " +
+            "JOIN users u ON u.id = r.user_id " +
+            "JOIN clubs c ON c.id = r.club_id " +
+            "WHERE r.club_id = :clubId AND r.status = 'PENDING_PAYMENT'";
+
+    private static final RowMapper<PendingPaymentDto> ROW_MAPPER = (rs, rowNum) -> {
+        Date sessionDate = rs.getDate("session_date");
+        Time startTime = rs.getTime("start_time");
+        Time endTime = rs.getTime("end_time");
+        String trainerFirstName = rs.getString("trainer_first_name");
+        return PendingPaymentDto.builder()
+                .reservationId(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .userPhoneNumber(rs.getString("phone_number"))
+                .userFullName(Names.fullName(rs.getString("first_name"), rs.getString("last_name")))
+                .sessionId(rs.getLong("session_id"))
+                .activityName(rs.getString("activity_name"))
+                .sessionDate(sessionDate != null ? sessionDate.toLocalDate() : null)
+                .startTime(startTime != null ? startTime.toLocalTime() : null)
+                .endTime(endTime != null ? endTime.toLocalTime() : null)
+                .trainerName(trainerFirstName != null
+                        ? trainerFirstName + " " + rs.getString("trainer_last_name") : null)
+                .bookedAt(rs.getTimestamp("booked_at").toLocalDateTime())
+                .clubId(rs.getLong("club_id"))
+                .clubName(rs.getString("club_name"))
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} pending payments booked before the ({@code afterBookedAt}, {@code afterId}) key.
+     * The session date and activity filters, and the key, are optional.
+     */
+    public List<PendingPaymentDto> findPage(Long clubId, LocalDate sessionDate, Long activityId,
+                                            LocalDateTime afterBookedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("clubId", clubId)
+                .addValue("limit", limit);
+
+        if (sessionDate != null) {
+            sql.append(" AND s.session_date = :sessionDate");
+            params.addValue("sessionDate", sessionDate);
+        }
+        if (activityId != null) {
+            sql.append(" AND s.activity_id = :activityId");
+            params.addValue("activityId", activityId);
+        }
+        if (afterBookedAt != null && afterId != null) {
+            sql.append(" AND (r.booked_at, r.id) < (:afterBookedAt, :afterId)");
+            params.addValue("afterBookedAt", afterBookedAt)
+                    .addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY r.booked_at DESC, r.id DESC LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+}
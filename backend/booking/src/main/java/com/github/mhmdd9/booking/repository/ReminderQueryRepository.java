@@ -0,0 +1,88 @@
+package com.github.mhmdd9.booking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Active reservations by session start, read in time-ordered keyset chunks for the reminder scheduler,
+ * and the claims that mark their reminders as sent.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReminderQueryRepository {
+
+    private static final String STARTS_AT = "(s.session_date + s.start_time)";
+
+    // The session_date range is served by the partial index on scheduled sessions before the exact start filter
+    private static final String UPCOMING_SQL =
+            "SELECT r.id, r.user_id, r.booked_at, " + STARTS_AT + " AS starts_at, a.name AS activity_name, " +
+            "c.name AS club_name " +
+            "FROM class_sessions s " +
+            "JOIN reservations r ON r.session_id = s.id " +
+            "JOIN activity_definitions a ON a.id = s.activity_id " +
+            "JOIN clubs c ON c.id = s.club_id " +
+            "WHERE s.status = 'SCHEDULED' AND r.status IN ('PENDING_PAYMENT', 'PAID') AND r.reminder_sent_at IS NULL " +
+            "AND s.session_date BETWEEN CAST(:after AS date) AND CAST(:until AS date) " +
+            "AND (" + STARTS_AT + ", r.id) > (:after, :afterId) AND " + STARTS_AT + " <= :until " +
+            "ORDER BY " + STARTS_AT + ", r.id LIMIT :limit";
+
+    // Only one caller claims a reminder; cancelled reservations are not claimed
+    private static final String CLAIM_SQL =
+            "UPDATE reservations SET reminder_sent_at = :now " +
+            "WHERE id IN (:ids) AND reminder_sent_at IS NULL AND status IN ('PENDING_PAYMENT', 'PAID') " +
+            "RETURNING id";
+
+    private static final RowMapper<UpcomingReservation> ROW_MAPPER = (rs, rowNum) -> new UpcomingReservation(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getTimestamp("booked_at").toLocalDateTime(),
+            rs.getTimestamp("starts_at").toLocalDateTime(),
+            rs.getString("activity_name"),
+            rs.getString("club_name")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Up to {@code limit} active reservations whose session starts after the ({@code after}, {@code afterId})
+     * key and no later than {@code until}, earliest first.
+     */
+    public List<UpcomingReservation> findUpcoming(LocalDateTime after, long afterId, LocalDateTime until, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("afterId", afterId)
+                .addValue("until", until)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(UPCOMING_SQL, params, ROW_MAPPER);
+    }
+
+    /**
+     * Marks the reminders of the given reservations as sent and returns the ids this call claimed: those still
+     * active and not already claimed by another node or an earlier run.
+     */
+    public List<Long> claimReminders(List<Long> reservationIds, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", reservationIds)
+                .addValue("now", now);
+        return jdbcTemplate.queryForList(CLAIM_SQL, params, Long.class);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UpcomingReservation {
+        private final long reservationId;
+        private final long userId;
+        private final LocalDateTime bookedAt;
+        private final LocalDateTime startsAt;
+        private final String activityName;
+        private final String clubName;
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves settled reservations and their payments to the archive tables and reads them back.
+ * Moves use DELETE ... RETURNING feeding an INSERT, so a row is in exactly one of the two tables at any time.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationArchiveRepository {
+
+    private static final String RESERVATION_COLUMNS =
+            "id, user_id, session_id, club_id, status, booked_at, cancelled_at, cancellation_reason, " +
+            "checked_in_at, version, created_at, updated_at";
+
+    private static final String PAYMENT_COLUMNS =
+            "id, reservation_id, user_id, club_id, amount, currency, method, reference_number, status, " +
+            "paid_at, recorded_by, notes, created_at, updated_at";
+
+    private static final String LOCK_ARCHIVABLE_SQL =
+            "SELECT r.id FROM reservations r JOIN class_sessions s ON s.id = r.session_id " +
+            "WHERE r.status IN ('COMPLETED', 'CANCELLED', 'NO_SHOW') AND s.session_date < :before " +
+            "ORDER BY r.id LIMIT :limit " +
+            "FOR UPDATE OF r SKIP LOCKED";
+
+    // Bounded by session_date so only the month's partition of class_sessions is read
+    private static final String SESSIONS_REFERENCED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM reservations r JOIN class_sessions s ON s.id = r.session_id " +
+            "WHERE s.session_date >= :from AND s.session_date < :to) " +
+            "OR EXISTS (SELECT 1 FROM waitlist w JOIN class_sessions s ON s.id = w.session_id " +
+            "WHERE s.session_date >= :from AND s.session_date < :to)";
+
+    // Payments first: they reference the reservations moved next
+    private static final String MOVE_PAYMENTS_SQL =
+            "WITH moved AS (DELETE FROM payments WHERE reservation_id IN (:ids) RETURNING " + PAYMENT_COLUMNS + ") " +
+            "INSERT INTO payments_archive (" + PAYMENT_COLUMNS + ", archived_at) " +
+            "SELECT " + PAYMENT_COLUMNS + ", :now FROM moved";
+
+    private static final String MOVE_RESERVATIONS_SQL =
+            "WITH moved AS (DELETE FROM reservations WHERE id IN (:ids) RETURNING " + RESERVATION_COLUMNS + ") " +
+            "INSERT INTO reservations_archive (" + RESERVATION_COLUMNS + ", archived_at) " +
+            "SELECT " + RESERVATION_COLUMNS + ", :now FROM moved";
+
+    private static final String FIND_BY_ID_SQL =
+            "SELECT " + RESERVATION_COLUMNS + " FROM reservations_archive WHERE id = :id";
+
+    private static final String COUNT_BY_USER_SQL =
+            "SELECT COUNT(*) FROM reservations_archive WHERE user_id = :ownerId";
+
+    private static final String FIND_BY_USER_SQL =
+            "SELECT " + RESERVATION_COLUMNS + " FROM reservations_archive WHERE user_id = :ownerId " +
+            "ORDER BY booked_at DESC, id DESC OFFSET :offset LIMIT :limit";
+
+    private static final String COUNT_BY_CLUB_SQL =
+            "SELECT COUNT(*) FROM reservations_archive WHERE club_id = :ownerId";
+
+    private static final String FIND_BY_CLUB_SQL =
+            "SELECT " + RESERVATION_COLUMNS + " FROM reservations_archive WHERE club_id = :ownerId " +
+            "ORDER BY booked_at DESC, id DESC OFFSET :offset LIMIT :limit";
+
+    private static final RowMapper<Reservation> RESERVATION_MAPPER = (rs, rowNum) -> {
+        Reservation reservation = Reservation.builder()
+                .userId(rs.getLong("user_id"))
+                .sessionId(rs.getLong("session_id"))
+                .clubId(rs.getLong("club_id"))
+                .status(Reservation.ReservationStatus.valueOf(rs.getString("status")))
+                .bookedAt(toLocalDateTime(rs.getTimestamp("booked_at")))
+                .cancelledAt(toLocalDateTime(rs.getTimestamp("cancelled_at")))
+                .cancellationReason(rs.getString("cancellation_reason"))
+                .checkedInAt(toLocalDateTime(rs.getTimestamp("checked_in_at")))
+                .build();
+        reservation.setId(rs.getLong("id"));
+        reservation.setVersion(rs.getLong("version"));
+        reservation.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        reservation.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return reservation;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks up to {@code limit} settled reservations of sessions dated before {@code before}.
+     * Must run in the transaction that moves them.
+     */
+    public List<Long> lockArchivable(LocalDate before, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("before", before)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(LOCK_ARCHIVABLE_SQL, params, Long.class);
+    }
+
+    /**
+     * Whether any reservation not yet archived, or any waitlist entry, belongs to a session dated in
+     * [{@code from}, {@code to}).
+     */
+    public boolean isAnySessionReferencedBetween(LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SESSIONS_REFERENCED_SQL, params, Boolean.class));
+    }
+
+    /**
+     * Moves the given reservations and their payments to the archive; returns the number of payments moved.
+     */
+    public int move(List<Long> ids, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", now);
+        int payments = jdbcTemplate.update(MOVE_PAYMENTS_SQL, params);
+        jdbcTemplate.update(MOVE_RESERVATIONS_SQL, params);
+        return payments;
+    }
+
+    public Optional<Reservation> findById(Long id) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, new MapSqlParameterSource("id", id), RESERVATION_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    public long countByUserId(Long userId) {
+        return count(COUNT_BY_USER_SQL, userId);
+    }
+
+    /**
+     * Archived reservations of a member, newest booking first.
+     */
+    public List<Reservation> findByUserId(Long userId, long offset, int limit) {
+        return find(FIND_BY_USER_SQL, userId, offset, limit);
+    }
+
+    public long countByClubId(Long clubId) {
+        return count(COUNT_BY_CLUB_SQL, clubId);
+    }
+
+    /**
+     * Archived reservations of a club, newest booking first.
+     */
+    public List<Reservation> findByClubId(Long clubId, long offset, int limit) {
+        return find(FIND_BY_CLUB_SQL, clubId, offset, limit);
+    }
+
+    private long count(String sql, Long ownerId) {
+        Long count = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("ownerId", ownerId), Long.class);
+        return count != null ? count : 0;
+    }
+
+    private List<Reservation> find(String sql, Long ownerId, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, RESERVATION_MAPPER);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.entity.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for reservations.
+ * IDENTITY ids disable Hibernate insert batching, so multi-row inserts go through here
+ * and share the surrounding JPA transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reservations (user_id, session_id, club_id, status, booked_at, version, created_at, updated_at) " +
+            "VALUES (:userId, :sessionId, :clubId, :status, :bookedAt, 0, :now, :now)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all reservations in one JDBC batch and assigns the generated ids back to them.
+     */
+    public List<Reservation> insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return reservations;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource[] batch = reservations.stream()
+                .map(r -> new MapSqlParameterSource()
+                        .addValue("userId", r.getUserId())
+                        .addValue("sessionId", r.getSessionId())
+                        .addValue("clubId", r.getClubId())
+                        .addValue("status", r.getStatus().name())
+                        .addValue("bookedAt", r.getBookedAt())
+                        .addValue("now", now))
+                .toArray(MapSqlParameterSource[]::new);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            reservation.setId(((Number) keys.get(i).get("id")).longValue());
+            reservation.setCreatedAt(now);
+            reservation.setUpdatedAt(now);
+        }
+        return reservations;
+    }
+}
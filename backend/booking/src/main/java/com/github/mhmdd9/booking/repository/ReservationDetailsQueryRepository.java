@@ -0,0 +1,107 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.dto.ReservationDetailsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A member's reservations joined with session, activity, trainer, club and payment in a single query,
+ * newest bookings first, keyset paginated on (booked_at, id).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationDetailsQueryRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT r.id, r.status, r.booked_at, r.cancelled_at, r.cancellation_reason, r.checked_in_at, " +
+            "r.session_id, a.name AS activity_name, s.session_date, s.start_time, s.end_time, s.status AS session_status, " +
+            "t.first_name AS trainer_first_name, t.last_name AS trainer_last_name, " +
+            "r.club_id, c.name AS club_name, c.address AS club_address, p.amount AS paid_amount, p.method AS payment_method " +
+            "FROM %s r " +
+            "JOIN class_sessions s ON s.id = r.session_id " +
+            "JOIN activity_definitions a ON a.id = s.activity_id " +
+            "LEFT JOIN trainers t ON t.id = s.trainer_id " +
+            "JOIN clubs c ON c.id = r.club_id " +
+            "LEFT JOIN %s p ON p.reservation_id = r.id AND p.status = 'PAID' " +
+            "WHERE r.user_id = :userId";
+
+    private static final String HOT_SQL = String.format(SELECT_SQL, "reservations", "payments");
+    private static final String ARCHIVE_SQL = String.format(SELECT_SQL, "reservations_archive", "payments_archive");
+
+    private static final RowMapper<ReservationDetailsDto> ROW_MAPPER = (rs, rowNum) -> {
+        Time startTime = rs.getTime("start_time");
+        Time endTime = rs.getTime("end_time");
+        String trainerFirstName = rs.getString("trainer_first_name");
+        return ReservationDetailsDto.builder()
+                .id(rs.getLong("id"))
+                .status(rs.getString("status"))
+                .bookedAt(rs.getTimestamp("booked_at").toLocalDateTime())
+                .cancelledAt(toLocalDateTime(rs.getTimestamp("cancelled_at")))
+                .cancellationReason(rs.getString("cancellation_reason"))
+                .checkedInAt(toLocalDateTime(rs.getTimestamp("checked_in_at")))
+                .sessionId(rs.getLong("session_id"))
+                .activityName(rs.getString("activity_name"))
+                .sessionDate(rs.getDate("session_date").toLocalDate())
+                .startTime(startTime != null ? startTime.toLocalTime() : null)
+                .endTime(endTime != null ? endTime.toLocalTime() : null)
+                .sessionStatus(rs.getString("session_status"))
+                .trainerName(trainerFirstName != null
+                        ? trainerFirstName + " " + rs.getString("trainer_last_name") : null)
+                .clubId(rs.getLong("club_id"))
+                .clubName(rs.getString("club_name"))
+                .clubAddress(rs.getString("club_address"))
+                .paidAmount(rs.getBigDecimal("paid_amount"))
+                .paymentMethod(rs.getString("payment_method"))
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} of the member's reservations booked before the ({@code afterBookedAt},
+     * {@code afterId}) key; only PENDING_PAYMENT and PAID ones when {@code activeOnly}. The key is optional.
+     */
+    public List<ReservationDetailsDto> findPage(Long userId, boolean activeOnly,
+                                                LocalDateTime afterBookedAt, Long afterId, int limit) {
+        return findPage(HOT_SQL, userId, activeOnly, afterBookedAt, afterId, limit);
+    }
+
+    /**
+     * Same as {@link #findPage} over archived reservations, which are all settled.
+     */
+    public List<ReservationDetailsDto> findArchivedPage(Long userId, LocalDateTime afterBookedAt, Long afterId, int limit) {
+        return findPage(ARCHIVE_SQL, userId, false, afterBookedAt, afterId, limit);
+    }
+
+    private List<ReservationDetailsDto> findPage(String select, Long userId, boolean activeOnly,
+                                                 LocalDateTime afterBookedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(select);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+
+        if (activeOnly) {
+            sql.append(" AND r.status IN ('PENDING_PAYMENT', 'PAID')");
+        }
+        if (afterBookedAt != null && afterId != null) {
+            sql.append(" AND (r.booked_at, r.id) < (:afterBookedAt, :afterId)");
+            params.addValue("afterBookedAt", afterBookedAt)
+                    .addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY r.booked_at DESC, r.id DESC LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.mhmdd9.booking.repository;
 
 import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.booking.repository.projection.BookedSlotView;
+import com.github.mhmdd9.booking.repository.projection.ReservationView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,7 +12,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,11 +25,21 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r WHERE r.id = :id")
     Optional<Reservation> findByIdWithLock(@Param("id") Long id);
 
-    Page<Reservation> findByUserId(Long userId, Pageable pageable);
+    @Query(value = "SELECT r.id AS id, r.userId AS userId, r.sessionId AS sessionId, r.clubId AS clubId, " +
+                   "r.status AS status, r.bookedAt AS bookedAt, r.cancelledAt AS cancelledAt, " +
+                   "r.cancellationReason AS cancellationReason, r.checkedInAt AS checkedInAt " +
+                   "FROM Reservation r WHERE r.userId = :userId",
+           countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.userId = :userId")
+    Page<ReservationView> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
     List<Reservation> findByUserIdAndStatus(Long userId, Reservation.ReservationStatus status);
 
-    Page<Reservation> findByClubId(Long clubId, Pageable pageable);
+    @Query(value = "SELECT r.id AS id, r.userId AS userId, r.sessionId AS sessionId, r.clubId AS clubId, " +
+                   "r.status AS status, r.bookedAt AS bookedAt, r.cancelledAt AS cancelledAt, " +
+                   "r.cancellationReason AS cancellationReason, r.checkedInAt AS checkedInAt " +
+                   "FROM Reservation r WHERE r.clubId = :clubId",
+           countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.clubId = :clubId")
+    Page<ReservationView> findByClubId(@Param("clubId") Long clubId, Pageable pageable);
 
     List<Reservation> findBySessionId(Long sessionId);
 
@@ -33,10 +47,42 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     boolean existsByUserIdAndSessionId(Long userId, Long sessionId);
 
-    @Query("SELECT r FROM Reservation r WHERE r.userId = :userId " +
+    @Query("SELECT r.sessionId FROM Reservation r WHERE r.userId = :userId AND r.sessionId IN :sessionIds")
+    List<Long> findBookedSessionIds(@Param("userId") Long userId, @Param("sessionIds") Collection<Long> sessionIds);
+
+    @Query("SELECT r.id AS id, r.userId AS userId, r.sessionId AS sessionId, r.clubId AS clubId, " +
+           "r.status AS status, r.bookedAt AS bookedAt, r.cancelledAt AS cancelledAt, " +
+           "r.cancellationReason AS cancellationReason, r.checkedInAt AS checkedInAt " +
+           "FROM Reservation r WHERE r.userId = :userId " +
            "AND r.status IN ('PENDING_PAYMENT', 'PAID') " +
            "ORDER BY r.bookedAt DESC")
-    List<Reservation> findActiveReservationsByUser(@Param("userId") Long userId);
+    List<ReservationView> findActiveReservationsByUser(@Param("userId") Long userId);
+
+    @Query("SELECT r.sessionId AS sessionId, s.sessionDate AS sessionDate, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Reservation r, ClassSession s WHERE s.id = r.sessionId " +
+           "AND r.userId = :userId AND r.status IN ('PENDING_PAYMENT', 'PAID') " +
+           "AND s.sessionDate >= :fromDate")
+    List<BookedSlotView> findActiveSlotsByUser(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate);
+
+    // The session_date range lets the join prune class_sessions to the months involved
+    @Query("SELECT r.sessionId AS sessionId, s.sessionDate AS sessionDate, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Reservation r, ClassSession s WHERE s.id = r.sessionId " +
+           "AND r.userId = :userId AND r.status IN ('PENDING_PAYMENT', 'PAID') " +
+           "AND s.sessionDate BETWEEN :startDate AND :endDate")
+    List<BookedSlotView> findActiveSlotsByUserBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Serializes overlap checks of the member's bookings until the transaction ends.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended('booking-overlap:' || :userId, 0))",
+           nativeQuery = true)
+    Integer lockUserBookings(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(r) FROM Reservation r WHERE r.sessionId = :sessionId " +
            "AND r.status IN ('PENDING_PAYMENT', 'PAID')")
@@ -45,9 +91,5 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r WHERE r.status = 'PENDING_PAYMENT' " +
            "AND r.bookedAt < :expiryTime")
     List<Reservation> findExpiredPendingReservations(@Param("expiryTime") LocalDateTime expiryTime);
-
-    @Query("SELECT r FROM Reservation r WHERE r.clubId = :clubId " +
-           "AND r.status = 'PENDING_PAYMENT' ORDER BY r.bookedAt DESC")
-    List<Reservation> findPendingPaymentsByClub(@Param("clubId") Long clubId);
 }
 
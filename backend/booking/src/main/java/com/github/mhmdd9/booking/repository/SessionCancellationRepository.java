@@ -0,0 +1,72 @@
+package com.github.mhmdd9.booking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based cascade applied when a class session is cancelled.
+ * Each method is a single statement over all rows of the session and must run inside the cancelling transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SessionCancellationRepository {
+
+    private static final String REFUND_PAYMENTS_SQL =
+            "UPDATE payments p SET status = 'REFUND_PENDING', updated_at = :now " +
+            "FROM reservations r " +
+            "WHERE p.reservation_id = r.id AND r.session_id = :sessionId " +
+            "AND r.status IN ('PENDING_PAYMENT', 'PAID') AND p.status = 'PAID' " +
+            "RETURNING p.reservation_id";
+
+    private static final String CANCEL_RESERVATIONS_SQL =
+            "UPDATE reservations SET status = 'CANCELLED', cancelled_at = :now, " +
+            "cancellation_reason = :reason, version = version + 1, updated_at = :now " +
+            "WHERE session_id = :sessionId AND status IN ('PENDING_PAYMENT', 'PAID') " +
+            "RETURNING id, user_id";
+
+    private static final String EXPIRE_WAITLIST_SQL =
+            "UPDATE waitlist SET status = 'EXPIRED' " +
+            "WHERE session_id = :sessionId AND status IN ('WAITING', 'NOTIFIED') " +
+            "RETURNING user_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Marks paid payments of the session's active reservations for refund.
+     * Must run before {@link #cancelReservations}, which changes the statuses this filters on.
+     */
+    public Set<Long> markPaymentsForRefund(Long sessionId, LocalDateTime now) {
+        return new HashSet<>(jdbcTemplate.queryForList(REFUND_PAYMENTS_SQL, new MapSqlParameterSource()
+                .addValue("sessionId", sessionId)
+                .addValue("now", now), Long.class));
+    }
+
+    public List<CancelledReservation> cancelReservations(Long sessionId, String reason, LocalDateTime now) {
+        return jdbcTemplate.query(CANCEL_RESERVATIONS_SQL, new MapSqlParameterSource()
+                        .addValue("sessionId", sessionId)
+                        .addValue("reason", reason)
+                        .addValue("now", now),
+                (rs, rowNum) -> new CancelledReservation(rs.getLong("id"), rs.getLong("user_id")));
+    }
+
+    public List<Long> expireWaitlist(Long sessionId) {
+        return jdbcTemplate.queryForList(EXPIRE_WAITLIST_SQL,
+                new MapSqlParameterSource("sessionId", sessionId), Long.class);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CancelledReservation {
+        private final long reservationId;
+        private final long userId;
+    }
+}
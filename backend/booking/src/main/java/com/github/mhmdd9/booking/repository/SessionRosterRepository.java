@@ -0,0 +1,144 @@
+package com.github.mhmdd9.booking.repository;
+
+import com.github.mhmdd9.booking.dto.RosterEntryDto;
+import com.github.mhmdd9.common.util.Names;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A session's roster and set-based attendance marking. The marking methods must run in one transaction
+ * after {@link #lockSession}, so settlement cannot settle the session halfway through.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SessionRosterRepository {
+
+    private static final String ROSTER_SQL =
+            "SELECT r.id, r.user_id, u.first_name, u.last_name, u.phone_number, r.status, r.booked_at, r.checked_in_at, " +
+            "p.status AS payment_status, p.amount AS paid_amount, p.method AS payment_method " +
+            "FROM reservations r " +
+            "JOIN users u ON u.id = r.user_id " +
+            "LEFT JOIN payments p ON p.reservation_id = r.id " +
+            "WHERE r.session_id = :sessionId AND r.status <> 'CANCELLED' " +
+            "ORDER BY u.last_name, u.first_name, r.id";
+
+    // The trainer's user id lets the session's own trainer through without a club role check
+    private static final String SESSION_SQL =
+            "SELECT s.club_id, s.status, t.user_id AS trainer_user_id " +
+            "FROM class_sessions s LEFT JOIN trainers t ON t.id = s.trainer_id " +
+            "WHERE s.id = :sessionId";
+
+    private static final String LOCK_SESSION_SQL = SESSION_SQL + " FOR UPDATE OF s";
+
+    // Before settlement only the check-in changes and settlement derives the status;
+    // after it, NO_SHOW becomes COMPLETED directly
+    private static final String MARK_PRESENT_SQL =
+            "UPDATE reservations " +
+            "SET status = CASE WHEN status = 'NO_SHOW' THEN 'COMPLETED' ELSE status END, " +
+            "checked_in_at = :now, version = version + 1, updated_at = :now " +
+            "WHERE session_id = :sessionId AND id IN (:ids) AND checked_in_at IS NULL AND status IN ('PAID', 'NO_SHOW') " +
+            "RETURNING id, status";
+
+    private static final String MARK_ABSENT_SQL =
+            "UPDATE reservations " +
+            "SET status = CASE WHEN status = 'COMPLETED' THEN 'NO_SHOW' ELSE status END, " +
+            "checked_in_at = NULL, version = version + 1, updated_at = :now " +
+            "WHERE session_id = :sessionId AND id IN (:ids) AND checked_in_at IS NOT NULL AND status IN ('PAID', 'COMPLETED') " +
+            "RETURNING id, status";
+
+    private static final RowMapper<RosterEntryDto> ROSTER_MAPPER = (rs, rowNum) -> RosterEntryDto.builder()
+            .reservationId(rs.getLong("id"))
+            .userId(rs.getLong("user_id"))
+            .userFullName(Names.fullName(rs.getString("first_name"), rs.getString("last_name")))
+            .userPhoneNumber(rs.getString("phone_number"))
+            .status(rs.getString("status"))
+            .bookedAt(rs.getTimestamp("booked_at").toLocalDateTime())
+            .checkedInAt(toLocalDateTime(rs.getTimestamp("checked_in_at")))
+            .paymentStatus(rs.getString("payment_status"))
+            .paidAmount(rs.getBigDecimal("paid_amount"))
+            .paymentMethod(rs.getString("payment_method"))
+            .build();
+
+    private static final RowMapper<MarkedReservation> MARKED_MAPPER = (rs, rowNum) ->
+            new MarkedReservation(rs.getLong("id"), rs.getString("status"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Everyone booked on the session except cancellations, with payment, ordered by name.
+     */
+    public List<RosterEntryDto> findRoster(Long sessionId) {
+        return jdbcTemplate.query(ROSTER_SQL, new MapSqlParameterSource("sessionId", sessionId), ROSTER_MAPPER);
+    }
+
+    public Optional<RosterSession> findSession(Long sessionId) {
+        return querySession(SESSION_SQL, sessionId);
+    }
+
+    public Optional<RosterSession> lockSession(Long sessionId) {
+        return querySession(LOCK_SESSION_SQL, sessionId);
+    }
+
+    private Optional<RosterSession> querySession(String sql, Long sessionId) {
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("sessionId", sessionId),
+                        (rs, rowNum) -> new RosterSession(rs.getLong("club_id"), rs.getString("status"),
+                                rs.getObject("trainer_user_id", Long.class)))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Checks in the given reservations of the session that are not checked in yet; returns those changed.
+     */
+    public List<MarkedReservation> markPresent(Long sessionId, Collection<Long> ids, LocalDateTime now) {
+        return mark(MARK_PRESENT_SQL, sessionId, ids, now);
+    }
+
+    /**
+     * Clears the check-in of the given reservations of the session; returns those changed.
+     */
+    public List<MarkedReservation> markAbsent(Long sessionId, Collection<Long> ids, LocalDateTime now) {
+        return mark(MARK_ABSENT_SQL, sessionId, ids, now);
+    }
+
+    private List<MarkedReservation> mark(String sql, Long sessionId, Collection<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sessionId", sessionId)
+                .addValue("ids", ids)
+                .addValue("now", now);
+        return jdbcTemplate.query(sql, params, MARKED_MAPPER);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RosterSession {
+        private final long clubId;
+        private final String status;
+        private final Long trainerUserId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MarkedReservation {
+        private final long id;
+        private final String status;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.mhmdd9.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based settlement of finished class sessions. All methods must run inside one transaction per chunk.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SessionSettlementRepository {
+
+    private static final String LOCK_ENDED_SESSIONS_SQL =
+            "SELECT id FROM class_sessions " +
+            "WHERE status = 'SCHEDULED' AND session_date <= CAST(:cutoff AS date) " +
+            "AND session_date + end_time " +
+            "    + CASE WHEN end_time <= start_time THEN INTERVAL '1 day' ELSE INTERVAL '0 day' END <= :cutoff " +
+            "ORDER BY session_date, id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED";
+
+    private static final String SETTLE_RESERVATIONS_SQL =
+            "UPDATE reservations " +
+            "SET status = CASE WHEN checked_in_at IS NOT NULL THEN 'COMPLETED' ELSE 'NO_SHOW' END, " +
+            "version = version + 1, updated_at = :now " +
+            "WHERE session_id IN (:ids) AND status IN ('PENDING_PAYMENT', 'PAID') " +
+            "RETURNING status";
+
+    private static final String EXPIRE_WAITLIST_SQL =
+            "UPDATE waitlist SET status = 'EXPIRED' " +
+            "WHERE session_id IN (:ids) AND status IN ('WAITING', 'NOTIFIED')";
+
+    private static final String COMPLETE_SESSIONS_SQL =
+            "UPDATE class_sessions SET status = 'COMPLETED', version = version + 1, updated_at = :now " +
+            "WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the next chunk of scheduled sessions that ended before {@code cutoff}, oldest first.
+     * Rows locked by another settler or a booking in flight are skipped and picked up on a later run.
+     */
+    public List<Long> lockEndedSessions(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(LOCK_ENDED_SESSIONS_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * Moves active reservations to COMPLETED (checked in) or NO_SHOW and returns the new statuses.
+     */
+    public List<String> settleReservations(Collection<Long> sessionIds, LocalDateTime now) {
+        return jdbcTemplate.queryForList(SETTLE_RESERVATIONS_SQL, new MapSqlParameterSource()
+                .addValue("ids", sessionIds)
+                .addValue("now", now), String.class);
+    }
+
+    public int expireWaitlist(Collection<Long> sessionIds) {
+        return jdbcTemplate.update(EXPIRE_WAITLIST_SQL, new MapSqlParameterSource("ids", sessionIds));
+    }
+
+    public int completeSessions(Collection<Long> sessionIds, LocalDateTime now) {
+        return jdbcTemplate.update(COMPLETE_SESSIONS_SQL, new MapSqlParameterSource()
+                .addValue("ids", sessionIds)
+                .addValue("now", now));
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.mhmdd9.booking.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The time slot held by one of a member's active reservations.
+ */
+public interface BookedSlotView {
+
+    Long getSessionId();
+
+    LocalDate getSessionDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
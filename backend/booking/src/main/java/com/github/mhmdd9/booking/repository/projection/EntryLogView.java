@@ -0,0 +1,29 @@
+package com.github.mhmdd9.booking.repository.projection;
+
+import com.github.mhmdd9.booking.entity.EntryLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry as the club entry log shows it, notes included, read in the same query.
+ */
+public interface EntryLogView {
+
+    Long getId();
+
+    Long getUserId();
+
+    Long getClubId();
+
+    Long getReservationId();
+
+    LocalDateTime getEntryTime();
+
+    LocalDateTime getExitTime();
+
+    EntryLog.EntryType getEntryType();
+
+    Long getRecordedBy();
+
+    String getNotes();
+}
@@ -0,0 +1,29 @@
+package com.github.mhmdd9.booking.repository.projection;
+
+import com.github.mhmdd9.booking.entity.Reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reservation as the club listing shows it, read without loading a managed entity.
+ */
+public interface ReservationView {
+
+    Long getId();
+
+    Long getUserId();
+
+    Long getSessionId();
+
+    Long getClubId();
+
+    Reservation.ReservationStatus getStatus();
+
+    LocalDateTime getBookedAt();
+
+    LocalDateTime getCancelledAt();
+
+    String getCancellationReason();
+
+    LocalDateTime getCheckedInAt();
+}
@@ -0,0 +1,204 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.event.ReservationBookedEvent;
+import com.github.mhmdd9.booking.event.ReservationCancelledEvent;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository.DailyCounts;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository.HourlyCounts;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository.RevenueTotal;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally maintains the club analytics rollups.
+ * Booking, cancellation, payment and entry events are summed in memory once their transaction commits
+ * and upserted in one short transaction per flush, so busy days do not serialize every booking on
+ * the same rollup row. Deltas lost in a crash are restored by the nightly {@code AnalyticsRebuildJob}.
+ */
+@Slf4j
+@Service
+public class AnalyticsRollupService {
+
+    private final AnalyticsRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Recorders share the read lock; a flush takes the write lock only to swap the buffer out
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Buffer buffer = new Buffer();
+
+    public AnalyticsRollupService(
+            AnalyticsRollupRepository rollupRepository,
+            PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationBooked(ReservationBookedEvent event) {
+        Long clubId = event.getClubId();
+        LocalDateTime bookedAt = event.getBookedAt();
+        record(pending -> {
+            pending.daily.merge(new DayKey(clubId, bookedAt.toLocalDate()), new long[]{1, 0, 0}, AnalyticsRollupService::sum);
+            pending.hourly.merge(HourKey.of(clubId, bookedAt), new long[]{1, 0}, AnalyticsRollupService::sum);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationCancelled(ReservationCancelledEvent event) {
+        recordCancellations(event.getClubId(), event.getCancelledAt(), 1);
+    }
+
+    public void cancellationsAfterCommit(Long clubId, LocalDateTime cancelledAt, int count) {
+        TransactionHooks.afterCommit(() -> recordCancellations(clubId, cancelledAt, count));
+    }
+
+    private void recordCancellations(Long clubId, LocalDateTime cancelledAt, int count) {
+        record(pending ->
+                pending.daily.merge(new DayKey(clubId, cancelledAt.toLocalDate()), new long[]{0, count, 0}, AnalyticsRollupService::sum));
+    }
+
+    public void paymentAfterCommit(Long clubId, LocalDateTime paidAt, String method, BigDecimal amount) {
+        TransactionHooks.afterCommit(() -> record(pending ->
+                pending.revenue.merge(new MethodKey(clubId, paidAt.toLocalDate(), method), new Revenue(1, amount), Revenue::plus)));
+    }
+
+    /**
+     * Counts an entry already written to entry_logs.
+     */
+    public void entry(Long clubId, LocalDateTime entryTime) {
+        record(pending -> {
+            pending.daily.merge(new DayKey(clubId, entryTime.toLocalDate()), new long[]{0, 0, 1}, AnalyticsRollupService::sum);
+            pending.hourly.merge(HourKey.of(clubId, entryTime), new long[]{0, 1}, AnalyticsRollupService::sum);
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${analytics.flush-interval:10000}",
+            fixedDelayString = "${analytics.flush-interval:10000}"
+    )
+    public synchronized void flush() {
+        Buffer drained;
+        swapLock.writeLock().lock();
+        try {
+            drained = buffer;
+            buffer = new Buffer();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.upsertDaily(drained.daily.entrySet().stream()
+                        .map(e -> new DailyCounts(e.getKey().clubId, e.getKey().date,
+                                (int) e.getValue()[0], (int) e.getValue()[1], 0, (int) e.getValue()[2]))
+                        .toList());
+                rollupRepository.upsertHourly(drained.hourly.entrySet().stream()
+                        .map(e -> new HourlyCounts(e.getKey().clubId, e.getKey().date, e.getKey().hour,
+                                (int) e.getValue()[0], (int) e.getValue()[1]))
+                        .toList());
+                rollupRepository.upsertRevenue(drained.revenue.entrySet().stream()
+                        .map(e -> new RevenueTotal(e.getKey().clubId, e.getKey().date, e.getKey().method,
+                                e.getValue().payments, e.getValue().amount))
+                        .toList());
+            });
+        } catch (Exception e) {
+            // Keep the deltas for the next flush rather than dropping a whole interval
+            log.error("Failed to flush analytics rollups, will retry", e);
+            record(pending -> {
+                drained.daily.forEach((key, value) -> pending.daily.merge(key, value, AnalyticsRollupService::sum));
+                drained.hourly.forEach((key, value) -> pending.hourly.merge(key, value, AnalyticsRollupService::sum));
+                drained.revenue.forEach((key, value) -> pending.revenue.merge(key, value, Revenue::plus));
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void record(Consumer<Buffer> update) {
+        swapLock.readLock().lock();
+        try {
+            update.accept(buffer);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+
+    private static class Buffer {
+        // bookings, cancellations, entries
+        private final Map<DayKey, long[]> daily = new ConcurrentHashMap<>();
+        // bookings, entries
+        private final Map<HourKey, long[]> hourly = new ConcurrentHashMap<>();
+        private final Map<MethodKey, Revenue> revenue = new ConcurrentHashMap<>();
+
+        private boolean isEmpty() {
+            return daily.isEmpty() && hourly.isEmpty() && revenue.isEmpty();
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class DayKey {
+        private final Long clubId;
+        private final LocalDate date;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class HourKey {
+        private final Long clubId;
+        private final LocalDate date;
+        private final int hour;
+
+        private static HourKey of(Long clubId, LocalDateTime time) {
+            return new HourKey(clubId, time.toLocalDate(), time.getHour());
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class MethodKey {
+        private final Long clubId;
+        private final LocalDate date;
+        private final String method;
+    }
+
+    @AllArgsConstructor
+    private static class Revenue {
+        private final int payments;
+        private final BigDecimal amount;
+
+        private Revenue plus(Revenue other) {
+            return new Revenue(payments + other.payments, amount.add(other.amount));
+        }
+    }
+}
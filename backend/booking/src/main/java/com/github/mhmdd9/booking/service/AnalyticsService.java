@@ -0,0 +1,88 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.dto.ClubDailyStatsDto;
+import com.github.mhmdd9.booking.dto.ClubHourlyStatsDto;
+import com.github.mhmdd9.booking.dto.SeatUtilizationDto;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository.DailyCounts;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository.RevenueTotal;
+import com.github.mhmdd9.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Owner dashboards, read from the rollup tables maintained by {@link AnalyticsRollupService}.
+ * Today's figures trail live activity by up to one rollup flush interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int MAX_HOURLY_RANGE_DAYS = 31;
+
+    private final AnalyticsRollupRepository rollupRepository;
+
+    @Transactional(readOnly = true)
+    public List<ClubDailyStatsDto> getDailyStats(Long clubId, LocalDate from, LocalDate to) {
+        checkRange(from, to, MAX_RANGE_DAYS);
+
+        Map<LocalDate, ClubDailyStatsDto> days = new TreeMap<>();
+        for (DailyCounts counts : rollupRepository.findDaily(clubId, from, to)) {
+            ClubDailyStatsDto day = days.computeIfAbsent(counts.getDate(), AnalyticsService::emptyDay);
+            day.setBookings(counts.getBookings());
+            day.setCancellations(counts.getCancellations());
+            day.setNoShows(counts.getNoShows());
+            day.setEntries(counts.getEntries());
+        }
+        for (RevenueTotal revenue : rollupRepository.findRevenue(clubId, from, to)) {
+            ClubDailyStatsDto day = days.computeIfAbsent(revenue.getDate(), AnalyticsService::emptyDay);
+            day.setPayments(day.getPayments() + revenue.getPayments());
+            day.setRevenue(day.getRevenue().add(revenue.getAmount()));
+            day.getRevenueByMethod().put(revenue.getMethod(), revenue.getAmount());
+        }
+        return List.copyOf(days.values());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClubHourlyStatsDto> getHourlyStats(Long clubId, LocalDate from, LocalDate to) {
+        checkRange(from, to, MAX_HOURLY_RANGE_DAYS);
+        return rollupRepository.findHourly(clubId, from, to).stream()
+                .map(ClubHourlyStatsDto::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SeatUtilizationDto> getSeatUtilization(Long clubId, LocalDate from, LocalDate to) {
+        checkRange(from, to, MAX_RANGE_DAYS);
+        return rollupRepository.findUtilization(clubId, from, to).stream()
+                .map(SeatUtilizationDto::from)
+                .toList();
+    }
+
+    private static ClubDailyStatsDto emptyDay(LocalDate date) {
+        return ClubDailyStatsDto.builder()
+                .date(date)
+                .revenue(BigDecimal.ZERO)
+                .revenueByMethod(new LinkedHashMap<>())
+                .build();
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to, int maxDays) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date must not be before start date", "INVALID_DATE_RANGE");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BusinessException("Date range cannot exceed " + maxDays + " days", "INVALID_DATE_RANGE");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.auth.security.UserPrincipal;
+import com.github.mhmdd9.booking.dto.AttendanceRequest;
+import com.github.mhmdd9.booking.dto.AttendanceResultDto;
+import com.github.mhmdd9.booking.dto.RosterEntryDto;
+import com.github.mhmdd9.booking.repository.AnalyticsRollupRepository;
+import com.github.mhmdd9.booking.repository.SessionRosterRepository;
+import com.github.mhmdd9.booking.repository.SessionRosterRepository.MarkedReservation;
+import com.github.mhmdd9.booking.repository.SessionRosterRepository.RosterSession;
+import com.github.mhmdd9.club.service.ClubAccessService;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
+import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Class rosters and attendance marked by trainers for a whole session in one request.
+ * Attendance is what happened in the class, not a door entry, so no entry log is written.
+ * Only the session's own trainer and front-desk staff of its club may read the roster or mark attendance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceService {
+
+    private final SessionRosterRepository rosterRepository;
+    private final AnalyticsRollupRepository rollupRepository;
+    private final ClubAccessService clubAccessService;
+
+    @Transactional(readOnly = true)
+    public List<RosterEntryDto> getRoster(Long sessionId, Authentication authentication) {
+        RosterSession session = rosterRepository.findSession(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("ClassSession", sessionId));
+        checkAccess(session, authentication);
+        return rosterRepository.findRoster(sessionId);
+    }
+
+    /**
+     * Marks reservations of the session present or absent with one update each.
+     * Before the session is settled this sets or clears the check-in and settlement decides the status;
+     * afterwards it corrects COMPLETED and NO_SHOW directly, and the settled rollups with them.
+     */
+    @Transactional
+    public AttendanceResultDto markAttendance(Long sessionId, AttendanceRequest request, Authentication authentication) {
+        Set<Long> present = new LinkedHashSet<>(request.getPresent());
+        Set<Long> absent = new LinkedHashSet<>(request.getAbsent());
+        if (present.isEmpty() && absent.isEmpty()) {
+            throw new BusinessException("No reservations to mark", "INVALID_ATTENDANCE");
+        }
+        Set<Long> both = new HashSet<>(present);
+        both.retainAll(absent);
+        if (!both.isEmpty()) {
+            throw new BusinessException("Reservations " + both + " are marked both present and absent", "INVALID_ATTENDANCE");
+        }
+
+        RosterSession session = rosterRepository.lockSession(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("ClassSession", sessionId));
+        checkAccess(session, authentication);
+        if ("CANCELLED".equals(session.getStatus())) {
+            throw new BusinessException("Session has been cancelled", "SESSION_CANCELLED");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MarkedReservation> markedPresent = rosterRepository.markPresent(sessionId, present, now);
+        List<MarkedReservation> markedAbsent = rosterRepository.markAbsent(sessionId, absent, now);
+
+        // Only settled sessions are in the rollups yet; there COMPLETED and NO_SHOW are the new statuses
+        if ("COMPLETED".equals(session.getStatus())) {
+            int attended = (int) markedPresent.stream().filter(r -> "COMPLETED".equals(r.getStatus())).count()
+                    - (int) markedAbsent.stream().filter(r -> "NO_SHOW".equals(r.getStatus())).count();
+            rollupRepository.adjustSettledAttendance(sessionId, attended);
+        }
+
+        Set<Long> unchanged = new LinkedHashSet<>(present);
+        unchanged.addAll(absent);
+        markedPresent.forEach(r -> unchanged.remove(r.getId()));
+        markedAbsent.forEach(r -> unchanged.remove(r.getId()));
+
+        log.info("Attendance for session {}: {} present, {} absent, {} unchanged",
+                sessionId, markedPresent.size(), markedAbsent.size(), unchanged.size());
+        return AttendanceResultDto.builder()
+                .sessionId(sessionId)
+                .markedPresent(markedPresent.size())
+                .markedAbsent(markedAbsent.size())
+                .unchanged(List.copyOf(unchanged))
+                .build();
+    }
+
+    private void checkAccess(RosterSession session, Authentication authentication) {
+        boolean ownTrainer = session.getTrainerUserId() != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && session.getTrainerUserId().equals(principal.getId());
+        if (!ownTrainer && !clubAccessService.isStaff(authentication, session.getClubId())) {
+            throw new ForbiddenException("You don't have permission to manage attendance for this session");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.event.ReservationBookedEvent;
+import com.github.mhmdd9.booking.event.ReservationCancelledEvent;
+import com.github.mhmdd9.booking.repository.ReservationRepository;
+import com.github.mhmdd9.booking.repository.projection.BookedSlotView;
+import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.common.util.IntervalIndex;
+import com.github.mhmdd9.common.util.SessionTimes;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-member index of the time slots held by their active, upcoming reservations.
+ * A member's index is loaded with one query on first use and then kept in step with
+ * bookings and cancellations after they commit, so overlap checks need no query of their own.
+ * Entries are bounded in number and reloaded after a TTL to pick up changes made elsewhere.
+ */
+@Slf4j
+@Component
+public class BookingOverlapIndex {
+
+    private final ReservationRepository reservationRepository;
+    private final long ttlMillis;
+    private final Map<Long, Entry> cache;
+
+    public BookingOverlapIndex(
+            ReservationRepository reservationRepository,
+            @Value("${booking.overlap-index.ttl:600}") long ttlSeconds,
+            @Value("${booking.overlap-index.cache-size:10000}") int cacheSize) {
+        this.reservationRepository = reservationRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Session ids of the member's bookings that overlap the given session.
+     */
+    public List<Long> findOverlaps(Long userId, ClassSession session) {
+        return getIndex(userId).overlapping(startOf(session), endOf(session));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationBooked(ReservationBookedEvent event) {
+        long start = SessionTimes.startMinutes(event.getSessionDate(), event.getStartTime());
+        long end = SessionTimes.endMinutes(event.getSessionDate(), event.getStartTime(), event.getEndTime());
+        cache.computeIfPresent(event.getUserId(),
+                (id, entry) -> new Entry(entry.index.with(start, end, event.getSessionId()), entry.loadedAt));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationCancelled(ReservationCancelledEvent event) {
+        remove(event.getUserId(), event.getSessionId());
+    }
+
+    public void removeAfterCommit(Long userId, Long sessionId) {
+        TransactionHooks.afterCommit(() -> remove(userId, sessionId));
+    }
+
+    private void remove(Long userId, Long sessionId) {
+        cache.computeIfPresent(userId,
+                (id, entry) -> new Entry(entry.index.without(s -> Objects.equals(s, sessionId)), entry.loadedAt));
+    }
+
+    public void evict(Long userId) {
+        cache.remove(userId);
+    }
+
+    public static long startOf(ClassSession session) {
+        return SessionTimes.startMinutes(session.getSessionDate(), session.getStartTime());
+    }
+
+    public static long endOf(ClassSession session) {
+        return SessionTimes.endMinutes(session.getSessionDate(), session.getStartTime(), session.getEndTime());
+    }
+
+    private IntervalIndex<Long> getIndex(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            return entry.index;
+        }
+
+        List<BookedSlotView> slots = reservationRepository.findActiveSlotsByUser(userId, LocalDate.now());
+        IntervalIndex<Long> index = IntervalIndex.of(slots.stream()
+                .map(slot -> new IntervalIndex.Interval<>(
+                        SessionTimes.startMinutes(slot.getSessionDate(), slot.getStartTime()),
+                        SessionTimes.endMinutes(slot.getSessionDate(), slot.getStartTime(), slot.getEndTime()),
+                        slot.getSessionId()))
+                .toList());
+        cache.put(userId, new Entry(index, now));
+        log.debug("Loaded overlap index for user {} with {} bookings", userId, index.size());
+        return index;
+    }
+
+
+    private static class Entry {
+        private final IntervalIndex<Long> index;
+        private final long loadedAt;
+
+        Entry(IntervalIndex<Long> index, long loadedAt) {
+            this.index = index;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.common.live.LiveEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares check-ins and pass revocations with every node over the live event channel, so a pass used or revoked
+ * on one node is refused at kiosks served by the others. Published inside a transaction, they are delivered once
+ * it commits; {@link CheckInService} applies them as they arrive, on the publishing node too.
+ * The topic is not one clients can subscribe to.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckInBroadcaster {
+
+    public static final String TOPIC = "checkin";
+    public static final String CHECKED_IN = "checked-in";
+    public static final String REVOKED = "revoked";
+
+    // Keeps each notification well under the NOTIFY payload limit
+    private static final int MAX_PASSES_PER_EVENT = 200;
+
+    private final LiveEventPublisher publisher;
+
+    /**
+     * @param passes reservation id -> epoch second its pass expires
+     */
+    public void checkedIn(Map<Long, Long> passes) {
+        publish(CHECKED_IN, passes);
+    }
+
+    /**
+     * @param passes reservation id -> epoch second its pass expires
+     */
+    public void revoked(Map<Long, Long> passes) {
+        publish(REVOKED, passes);
+    }
+
+    private void publish(String event, Map<Long, Long> passes) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(passes.entrySet());
+        for (int from = 0; from < entries.size(); from += MAX_PASSES_PER_EVENT) {
+            Map<Long, Long> chunk = new LinkedHashMap<>();
+            entries.subList(from, Math.min(from + MAX_PASSES_PER_EVENT, entries.size()))
+                    .forEach(entry -> chunk.put(entry.getKey(), entry.getValue()));
+            publisher.publish(TOPIC, event, chunk);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.dto.CheckInPassDto;
+import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.booking.repository.ReservationRepository;
+import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.repository.ClassSessionRepository;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
+import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * Issues and verifies signed check-in passes.
+ * A pass is {@code base64url(payload).base64url(HMAC-SHA256(payload))} where the payload carries the
+ * reservation, session, member and club ids and a validity window around the session, so a kiosk can
+ * verify it without touching the database.
+ */
+@Service
+public class CheckInPassService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ReservationRepository reservationRepository;
+    private final ClassSessionRepository sessionRepository;
+    private final SecretKeySpec key;
+    private final long validBeforeSeconds;
+    private final long validAfterSeconds;
+    private final ThreadLocal<Mac> mac;
+
+    public CheckInPassService(
+            ReservationRepository reservationRepository,
+            ClassSessionRepository sessionRepository,
+            @Value("${checkin.pass-secret}") String secret,
+            @Value("${checkin.valid-before-start:3600}") long validBeforeSeconds,
+            @Value("${checkin.valid-after-end:900}") long validAfterSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.sessionRepository = sessionRepository;
+        this.key = new SecretKeySpec(Base64.getDecoder().decode(secret), ALGORITHM);
+        this.validBeforeSeconds = validBeforeSeconds;
+        this.validAfterSeconds = validAfterSeconds;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Transactional(readOnly = true)
+    public CheckInPassDto issuePass(Long reservationId, Long userId) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation", reservationId));
+
+        if (!reservation.getUserId().equals(userId)) {
+            throw new ForbiddenException("You don't have permission to view this reservation");
+        }
+        if (reservation.getStatus() != Reservation.ReservationStatus.PAID) {
+            throw new BusinessException("Passes are only issued for paid reservations", "RESERVATION_NOT_PAID");
+        }
+
+        ClassSession session = sessionRepository.findById(reservation.getSessionId())
+                .orElseThrow(() -> new ResourceNotFoundException("ClassSession", reservation.getSessionId()));
+
+        long validFrom = toEpochSecond(session.getSessionDate(), session.getStartTime()) - validBeforeSeconds;
+        long validUntil = validUntil(session.getSessionDate(), session.getStartTime(), session.getEndTime());
+
+        String payload = String.join("|", VERSION,
+                String.valueOf(reservation.getId()),
+                String.valueOf(session.getId()),
+                String.valueOf(reservation.getUserId()),
+                String.valueOf(reservation.getClubId()),
+                String.valueOf(validFrom),
+                String.valueOf(validUntil));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        return CheckInPassDto.builder()
+                .reservationId(reservation.getId())
+                .pass(ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes)))
+                .validFrom(Instant.ofEpochSecond(validFrom))
+                .validUntil(Instant.ofEpochSecond(validUntil))
+                .build();
+    }
+
+    /**
+     * Checks the signature and decodes the pass. The validity window is left to the caller.
+     */
+    public CheckInPass verify(String pass) {
+        int dot = pass.indexOf('.');
+        if (dot <= 0 || dot != pass.lastIndexOf('.')) {
+            throw invalidPass();
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(pass.substring(0, dot));
+            signature = DECODER.decode(pass.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw invalidPass();
+        }
+
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw invalidPass();
+        }
+
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 7 || !VERSION.equals(parts[0])) {
+            throw invalidPass();
+        }
+        try {
+            return new CheckInPass(
+                    Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]),
+                    Long.parseLong(parts[4]),
+                    Long.parseLong(parts[5]),
+                    Long.parseLong(parts[6])
+            );
+        } catch (NumberFormatException e) {
+            throw invalidPass();
+        }
+    }
+
+    /**
+     * Epoch second after which passes for a session with this slot stop being accepted.
+     */
+    public long validUntil(LocalDate sessionDate, LocalTime startTime, LocalTime endTime) {
+        LocalDate endDate = endTime.isAfter(startTime) ? sessionDate : sessionDate.plusDays(1);
+        return validUntil(LocalDateTime.of(endDate, endTime));
+    }
+
+    public long validUntil(LocalDateTime sessionEnd) {
+        return sessionEnd.atZone(ZoneId.systemDefault()).toEpochSecond() + validAfterSeconds;
+    }
+
+    private byte[] sign(byte[] payload) {
+        return mac.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private static long toEpochSecond(LocalDate date, LocalTime time) {
+        return LocalDateTime.of(date, time).atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static BusinessException invalidPass() {
+        return new BusinessException("Invalid check-in pass", "INVALID_PASS");
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CheckInPass {
+        private final long reservationId;
+        private final long sessionId;
+        private final long userId;
+        private final long clubId;
+        private final long validFrom;
+        private final long validUntil;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.mhmdd9.booking.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mhmdd9.booking.dto.CheckInRequest;
+import com.github.mhmdd9.booking.dto.CheckInResultDto;
+import com.github.mhmdd9.booking.entity.EntryLog;
+import com.github.mhmdd9.booking.event.ReservationCancelledEvent;
+import com.github.mhmdd9.booking.repository.CheckInBatchRepository;
+import com.github.mhmdd9.booking.service.CheckInPassService.CheckInPass;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ConflictException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
+import com.github.mhmdd9.common.live.LiveEvent;
+import com.github.mhmdd9.common.live.LiveEventsReconnectedEvent;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kiosk check-in: verifies a signed pass, rejects revoked and replayed passes from memory,
+ * and hands the check-in to {@link CheckInWriter}. No database access on the request path.
+ * The seen and revoked sets hold reservation ids until their pass expires and are rebuilt on startup and after the
+ * live event listener reconnects. Every node applies the check-ins and revocations shared by
+ * {@link CheckInBroadcaster}; a kiosk check-in reaches the other nodes once it is written, so a pass replayed
+ * elsewhere within that flush interval is still refused by the database write, which closes the visit again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckInService {
+
+    private final CheckInPassService passService;
+    private final CheckInWriter checkInWriter;
+    private final CheckInBatchRepository checkInRepository;
+    private final EntryLogIngestionService entryLogIngestion;
+    private final CheckInBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    private static final TypeReference<Map<Long, Long>> PASSES = new TypeReference<>() {
+    };
+
+    /** Reservation id -> epoch second its pass expires. */
+    private final Map<Long, Long> seen = new ConcurrentHashMap<>();
+    private final Map<Long, Long> revoked = new ConcurrentHashMap<>();
+
+    public CheckInResultDto checkIn(CheckInRequest request) {
+        CheckInPass pass = passService.verify(request.getPass().trim());
+
+        long now = System.currentTimeMillis() / 1000;
+        if (now < pass.getValidFrom()) {
+            throw new BusinessException("Check-in for this session has not opened yet", "PASS_NOT_YET_VALID");
+        }
+        if (now > pass.getValidUntil()) {
+            throw new BusinessException("Check-in pass has expired", "PASS_EXPIRED");
+        }
+        if (pass.getClubId() != request.getClubId()) {
+            throw new ForbiddenException("Pass is for a different club", "WRONG_CLUB");
+        }
+        if (revoked.containsKey(pass.getReservationId())) {
+            throw new ForbiddenException("Reservation has been cancelled", "PASS_REVOKED");
+        }
+        if (seen.putIfAbsent(pass.getReservationId(), pass.getValidUntil()) != null) {
+            throw new ConflictException("Pass has already been used", "ALREADY_CHECKED_IN");
+        }
+
+        try {
+            // Refuses when the club floor is full; the pass stays usable for a later attempt
+            entryLogIngestion.recordEntry(pass.getUserId(), pass.getClubId(), pass.getReservationId(),
+                    EntryLog.EntryType.CLASS, null, null);
+        } catch (RuntimeException e) {
+            seen.remove(pass.getReservationId());
+            throw e;
+        }
+
+        LocalDateTime checkedInAt = LocalDateTime.now();
+        checkInWriter.submit(pass.getReservationId(), pass.getUserId(), pass.getClubId(), checkedInAt,
+                pass.getValidUntil());
+
+        return CheckInResultDto.builder()
+                .reservationId(pass.getReservationId())
+                .sessionId(pass.getSessionId())
+                .userId(pass.getUserId())
+                .checkedInAt(checkedInAt)
+                .build();
+    }
+
+    /**
+     * Whether the reservation has been checked in, at a kiosk or by staff, including check-ins not yet written.
+     */
+    public boolean isCheckedIn(Long reservationId) {
+        return seen.containsKey(reservationId);
+    }
+
+    /**
+     * Marks the reservation's pass as used on every node once the surrounding transaction commits,
+     * for check-ins made by staff.
+     */
+    public void checkedInAfterCommit(Long reservationId, long validUntil) {
+        broadcaster.checkedIn(Map.of(reservationId, validUntil));
+        TransactionHooks.afterCommit(() -> seen.putIfAbsent(reservationId, validUntil));
+    }
+
+    /**
+     * Revokes the reservation's pass on every node once the surrounding transaction commits.
+     */
+    public void revokeAfterCommit(Long reservationId, long validUntil) {
+        broadcaster.revoked(Map.of(reservationId, validUntil));
+        TransactionHooks.afterCommit(() -> revoked.put(reservationId, validUntil));
+    }
+
+    /**
+     * Shares the revocation inside the cancelling transaction, so the other nodes only hear of it if it commits.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void shareRevocation(ReservationCancelledEvent event) {
+        if (event.getPassValidUntil() != null) {
+            broadcaster.revoked(Map.of(event.getReservationId(), event.getPassValidUntil()));
+        }
+    }
+
+    /**
+     * A pass may already have been issued for a paid reservation; kiosks must refuse it once it is cancelled.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationCancelled(ReservationCancelledEvent event) {
+        if (event.getPassValidUntil() != null) {
+            revoked.put(event.getReservationId(), event.getPassValidUntil());
+        }
+    }
+
+    /**
+     * Applies check-ins and revocations shared by any node, this one included.
+     */
+    @EventListener(condition = "#event.topic == '" + CheckInBroadcaster.TOPIC + "'")
+    public void onSharedPasses(LiveEvent event) {
+        Map<Long, Long> passes = objectMapper.convertValue(event.getData(), PASSES);
+        if (CheckInBroadcaster.CHECKED_IN.equals(event.getEvent())) {
+            passes.forEach(seen::putIfAbsent);
+        } else if (CheckInBroadcaster.REVOKED.equals(event.getEvent())) {
+            revoked.putAll(passes);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${checkin.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis() / 1000;
+        seen.values().removeIf(until -> until < now);
+        revoked.values().removeIf(until -> until < now);
+    }
+
+    @EventListener({ApplicationReadyEvent.class, LiveEventsReconnectedEvent.class})
+    public void warmUp() {
+        LocalDate today = LocalDate.now();
+        checkInRepository.findCheckedInSince(today)
+                .forEach((id, endsAt) -> seen.put(id, passService.validUntil(endsAt)));
+        checkInRepository.findCancelledSince(today)
+                .forEach((id, endsAt) -> revoked.put(id, passService.validUntil(endsAt)));
+        log.info("Check-in sets loaded: {} checked in, {} revoked", seen.size(), revoked.size());
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.repository.CheckInBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffers kiosk check-ins in a bounded queue and writes them to the database in JDBC batches,
+ * so the kiosk request never waits on the database. When the queue is full the check-in is written
+ * synchronously instead of being dropped.
+ * A batch that fails is written row by row so one bad check-in cannot hold back the rest; a check-in that
+ * keeps failing is retried on later flushes up to {@code max-attempts} times and then dead-lettered: logged
+ * with everything needed to replay it and counted in {@code checkin.dead_lettered}.
+ * A check-in the database refuses (the reservation was cancelled or checked in elsewhere in the meantime)
+ * has already been admitted at the door, so the member's visit is closed again and counted in
+ * {@code checkin.rejected}.
+ * Written check-ins are shared with the other nodes through {@link CheckInBroadcaster}, so their kiosks refuse the
+ * pass from then on.
+ */
+@Slf4j
+@Component
+public class CheckInWriter {
+
+    private final CheckInBatchRepository checkInRepository;
+    private final EntryLogIngestionService entryLogIngestion;
+    private final CheckInBroadcaster broadcaster;
+    private final BlockingQueue<PendingCheckIn> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final Counter rejected;
+    private final Counter deadLettered;
+
+    public CheckInWriter(
+            CheckInBatchRepository checkInRepository,
+            EntryLogIngestionService entryLogIngestion,
+            CheckInBroadcaster broadcaster,
+            MeterRegistry meterRegistry,
+            @Value("${checkin.queue-capacity:10000}") int queueCapacity,
+            @Value("${checkin.batch-size:500}") int batchSize,
+            @Value("${checkin.max-attempts:5}") int maxAttempts) {
+        this.checkInRepository = checkInRepository;
+        this.entryLogIngestion = entryLogIngestion;
+        this.broadcaster = broadcaster;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        this.rejected = Counter.builder("checkin.rejected")
+                .description("Kiosk check-ins refused by the database after the member was admitted")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("checkin.dead_lettered")
+                .description("Kiosk check-ins given up on after repeated write failures")
+                .register(meterRegistry);
+    }
+
+    public void submit(long reservationId, long userId, long clubId, LocalDateTime checkedInAt, long validUntil) {
+        PendingCheckIn checkIn = new PendingCheckIn(reservationId, userId, clubId, checkedInAt, validUntil, 0);
+        if (!queue.offer(checkIn)) {
+            log.warn("Check-in queue full, writing check-in for reservation {} synchronously", reservationId);
+            requeue(write(List.of(checkIn)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${checkin.flush-interval:200}")
+    public void flush() {
+        List<PendingCheckIn> failed = new ArrayList<>();
+        List<PendingCheckIn> drained = new ArrayList<>(batchSize);
+        while (queue.drainTo(drained, batchSize) > 0) {
+            failed.addAll(write(drained));
+            drained.clear();
+        }
+        // Re-queued only once the queue is drained, so a failing check-in is retried on the next flush
+        requeue(failed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Writes the check-ins and returns those to retry.
+     */
+    private List<PendingCheckIn> write(List<PendingCheckIn> checkIns) {
+        Map<Long, PendingCheckIn> batch = new LinkedHashMap<>();
+        for (PendingCheckIn checkIn : checkIns) {
+            batch.putIfAbsent(checkIn.reservationId, checkIn);
+        }
+
+        try {
+            List<Long> refused = checkInRepository.markCheckedIn(toParams(batch.values()));
+            reject(refused, batch);
+            share(batch.values(), refused);
+            return List.of();
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                return retryOrDeadLetter(batch.values().iterator().next(), e);
+            }
+            log.warn("Failed to write {} check-ins as a batch, writing them one by one", batch.size(), e);
+        }
+
+        List<PendingCheckIn> retry = new ArrayList<>();
+        List<PendingCheckIn> written = new ArrayList<>();
+        List<Long> refused = new ArrayList<>();
+        for (PendingCheckIn checkIn : batch.values()) {
+            try {
+                List<Long> rowRefused = checkInRepository.markCheckedIn(toParams(List.of(checkIn)));
+                reject(rowRefused, batch);
+                written.add(checkIn);
+                refused.addAll(rowRefused);
+            } catch (Exception e) {
+                retry.addAll(retryOrDeadLetter(checkIn, e));
+            }
+        }
+        share(written, refused);
+        return retry;
+    }
+
+    /**
+     * Publishes the written check-ins; they are already in the database, so a failure here is only logged.
+     */
+    private void share(Collection<PendingCheckIn> checkIns, List<Long> refused) {
+        Map<Long, Long> passes = new LinkedHashMap<>();
+        for (PendingCheckIn checkIn : checkIns) {
+            if (!refused.contains(checkIn.reservationId)) {
+                passes.put(checkIn.reservationId, checkIn.validUntil);
+            }
+        }
+        if (passes.isEmpty()) {
+            return;
+        }
+        try {
+            broadcaster.checkedIn(passes);
+        } catch (Exception e) {
+            log.warn("Could not share {} check-ins with the other nodes", passes.size(), e);
+        }
+    }
+
+    private void requeue(List<PendingCheckIn> checkIns) {
+        for (PendingCheckIn checkIn : checkIns) {
+            if (!queue.offer(checkIn)) {
+                deadLetter(checkIn, "queue full");
+            }
+        }
+    }
+
+    private void reject(List<Long> reservationIds, Map<Long, PendingCheckIn> batch) {
+        for (Long reservationId : reservationIds) {
+            PendingCheckIn checkIn = batch.get(reservationId);
+            log.warn("Check-in for reservation {} at {} was refused (cancelled or already checked in); "
+                    + "closing the visit of user {} at club {}",
+                    reservationId, checkIn.checkedInAt, checkIn.userId, checkIn.clubId);
+            entryLogIngestion.recordExit(checkIn.userId, checkIn.clubId);
+            rejected.increment();
+        }
+    }
+
+    private List<PendingCheckIn> retryOrDeadLetter(PendingCheckIn checkIn, Exception e) {
+        int attempts = checkIn.attempts + 1;
+        if (attempts >= maxAttempts) {
+            deadLetter(checkIn, e.getMessage());
+            return List.of();
+        }
+        log.warn("Failed to write check-in for reservation {} (attempt {} of {})",
+                checkIn.reservationId, attempts, maxAttempts, e);
+        return List.of(checkIn.retried(attempts));
+    }
+
+    private void deadLetter(PendingCheckIn checkIn, String reason) {
+        log.error("Dead-lettered check-in: reservation={} user={} club={} checkedInAt={} attempts={} reason={}",
+                checkIn.reservationId, checkIn.userId, checkIn.clubId, checkIn.checkedInAt, checkIn.attempts, reason);
+        deadLettered.increment();
+    }
+
+    private static Map<Long, LocalDateTime> toParams(Iterable<PendingCheckIn> checkIns) {
+        Map<Long, LocalDateTime> params = new LinkedHashMap<>();
+        checkIns.forEach(checkIn -> params.put(checkIn.reservationId, checkIn.checkedInAt));
+        return params;
+    }
+
+    private static class PendingCheckIn {
+        private final long reservationId;
+        private final long userId;
+        private final long clubId;
+        private final LocalDateTime checkedInAt;
+        private final long validUntil;
+        private final int attempts;
+
+        PendingCheckIn(long reservationId, long userId, long clubId, LocalDateTime checkedInAt, long validUntil,
+                       int attempts) {
+            this.reservationId = reservationId;
+            this.userId = userId;
+            this.clubId = clubId;
+            this.checkedInAt = checkedInAt;
+            this.validUntil = validUntil;
+            this.attempts = attempts;
+        }
+
+        PendingCheckIn retried(int attempts) {
+            return new PendingCheckIn(reservationId, userId, clubId, checkedInAt, validUntil, attempts);
+        }
+    }
+}
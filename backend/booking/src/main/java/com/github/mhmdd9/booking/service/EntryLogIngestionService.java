@@ -0,0 +1,306 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.entity.EntryLog;
+import com.github.mhmdd9.booking.repository.EntryLogBatchRepository;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests door events into entry_logs.
+ * Producers append to a bounded ring buffer and return immediately; a single scheduled writer drains it
+ * in order and writes runs of consecutive entries (batch insert) and exits (batch update) so an exit is
+ * never applied before the entry it closes.
+ * A run that fails is written row by row; events that still fail are kept and written ahead of newer events
+ * on the next flush, up to {@code max-attempts} times, then dead-lettered: logged with every field needed to
+ * replay them and counted in {@code entry_logs.dead_lettered}. Failed writes are counted in
+ * {@code entry_logs.write_failures}.
+ * An exit whose member still has an entry waiting for retry at the club is held back with it, so it is not
+ * written before the visit it closes exists; exits that still find no open visit are logged and counted in
+ * {@code entry_logs.unmatched_exits}.
+ */
+@Slf4j
+@Service
+public class EntryLogIngestionService {
+
+    private final EntryLogBatchRepository entryLogRepository;
+    private final OccupancyService occupancyService;
+    private final AnalyticsRollupService analyticsRollups;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<EntryLog> buffer;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final int batchSize;
+    private final long maxVisitHours;
+    private final int maxAttempts;
+
+    // Events whose write failed, with their failed attempts, written first on the next flush; guarded by writeLock
+    private final Map<EntryLog, Integer> retry = new IdentityHashMap<>();
+
+    private final Counter writeFailures;
+    private final Counter deadLettered;
+    private final Counter unmatchedExits;
+
+    public EntryLogIngestionService(
+            EntryLogBatchRepository entryLogRepository,
+            OccupancyService occupancyService,
+            AnalyticsRollupService analyticsRollups,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${entry-logs.buffer-capacity:50000}") int bufferCapacity,
+            @Value("${entry-logs.batch-size:1000}") int batchSize,
+            @Value("${entry-logs.max-visit-hours:24}") long maxVisitHours,
+            @Value("${entry-logs.max-attempts:5}") int maxAttempts) {
+        this.entryLogRepository = entryLogRepository;
+        this.occupancyService = occupancyService;
+        this.analyticsRollups = analyticsRollups;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.maxVisitHours = maxVisitHours;
+        this.maxAttempts = maxAttempts;
+
+        this.writeFailures = Counter.builder("entry_logs.write_failures")
+                .description("Entry log events whose write failed, counted per attempt")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("entry_logs.dead_lettered")
+                .description("Entry log events given up on after repeated write failures")
+                .register(meterRegistry);
+        this.unmatchedExits = Counter.builder("entry_logs.unmatched_exits")
+                .description("Exit events written without an open visit to close")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an entry, counting the person onto the club floor first.
+     * Throws CLUB_AT_CAPACITY, recording nothing, when the floor is full.
+     */
+    public void recordEntry(Long userId, Long clubId, Long reservationId,
+                            EntryLog.EntryType entryType, Long recordedBy, String notes) {
+        occupancyService.enter(clubId);
+        enqueue(EntryLog.builder()
+                .userId(userId)
+                .clubId(clubId)
+                .reservationId(reservationId)
+                .entryTime(LocalDateTime.now())
+                .entryType(entryType)
+                .recordedBy(recordedBy)
+                .notes(notes)
+                .build());
+    }
+
+    /**
+     * Records an entry made as part of the surrounding transaction. The person is counted onto the floor at once,
+     * so CLUB_AT_CAPACITY rolls the transaction back, and counted off again if it rolls back for any other reason;
+     * the entry log event is only queued once the transaction commits.
+     */
+    public void recordEntryAfterCommit(Long userId, Long clubId, Long reservationId,
+                                       EntryLog.EntryType entryType, Long recordedBy, String notes) {
+        occupancyService.enter(clubId);
+        TransactionHooks.afterRollback(() -> occupancyService.exit(clubId));
+        TransactionHooks.afterCommit(() -> enqueue(EntryLog.builder()
+                .userId(userId)
+                .clubId(clubId)
+                .reservationId(reservationId)
+                .entryTime(LocalDateTime.now())
+                .entryType(entryType)
+                .recordedBy(recordedBy)
+                .notes(notes)
+                .build()));
+    }
+
+    public void recordExit(Long userId, Long clubId) {
+        occupancyService.exit(clubId);
+        // Exit events carry only the exit time; they close the member's open visit when written
+        enqueue(EntryLog.builder()
+                .userId(userId)
+                .clubId(clubId)
+                .entryTime(null)
+                .exitTime(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${entry-logs.flush-interval:500}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            if (!retry.isEmpty()) {
+                // Older than anything in the buffer, so written first to keep entries ahead of their exits
+                List<EntryLog> failed = new ArrayList<>(retry.keySet());
+                failed.sort((a, b) -> eventTime(a).compareTo(eventTime(b)));
+                write(failed);
+            }
+            List<EntryLog> drained = new ArrayList<>(batchSize);
+            while (buffer.drainTo(drained, batchSize) > 0) {
+                write(drained);
+                drained.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while no batch is being written, passing it the per-club net occupancy change
+     * of events still waiting in the buffer, so it can combine a database count with what is not written yet.
+     */
+    public <T> T withPendingOccupancy(Function<Map<Long, Integer>, T> action) {
+        writeLock.lock();
+        try {
+            Map<Long, Integer> pending = new HashMap<>();
+            for (EntryLog event : retry.keySet()) {
+                pending.merge(event.getClubId(), isExit(event) ? -1 : 1, Integer::sum);
+            }
+            for (EntryLog event : buffer) {
+                pending.merge(event.getClubId(), isExit(event) ? -1 : 1, Integer::sum);
+            }
+            return action.apply(pending);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void enqueue(EntryLog event) {
+        if (!buffer.offer(event)) {
+            // Applying back-pressure on the door would be worse than a slower write
+            log.warn("Entry log buffer full, writing event for user {} synchronously", event.getUserId());
+            writeLock.lock();
+            try {
+                write(List.of(event));
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private void write(List<EntryLog> events) {
+        int from = 0;
+        while (from < events.size()) {
+            boolean exits = isExit(events.get(from));
+            int to = from + 1;
+            while (to < events.size() && isExit(events.get(to)) == exits) {
+                to++;
+            }
+
+            List<EntryLog> run = events.subList(from, to);
+            if (exits) {
+                run = holdBackExitsOfPendingEntries(run);
+                if (run.isEmpty()) {
+                    from = to;
+                    continue;
+                }
+            }
+            try {
+                writeRun(run, exits);
+                run.forEach(retry::remove);
+            } catch (Exception e) {
+                log.warn("Failed to write {} entry log {} events as a batch, writing them one by one",
+                        run.size(), exits ? "exit" : "entry", e);
+                for (EntryLog event : run) {
+                    try {
+                        writeRun(List.of(event), exits);
+                        retry.remove(event);
+                    } catch (Exception rowFailure) {
+                        failed(event, rowFailure);
+                    }
+                }
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * Moves exits whose member has an entry at the same club waiting for retry into the retry set, without
+     * counting an attempt, and returns the rest. They are written on a later flush once that entry is written
+     * or dead-lettered.
+     */
+    private List<EntryLog> holdBackExitsOfPendingEntries(List<EntryLog> exits) {
+        Set<String> pendingVisits = retry.keySet().stream()
+                .filter(event -> !isExit(event))
+                .map(EntryLogIngestionService::visitKey)
+                .collect(Collectors.toSet());
+        if (pendingVisits.isEmpty()) {
+            return exits;
+        }
+        List<EntryLog> ready = new ArrayList<>(exits.size());
+        for (EntryLog exit : exits) {
+            if (pendingVisits.contains(visitKey(exit))) {
+                retry.putIfAbsent(exit, 0);
+            } else {
+                ready.add(exit);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Writes a run in one transaction, so a failed batch leaves nothing behind to be written twice on retry.
+     */
+    private void writeRun(List<EntryLog> run, boolean exits) {
+        if (exits) {
+            List<EntryLog> unmatched = transactionTemplate.execute(
+                    status -> entryLogRepository.closeVisits(run, maxVisitHours));
+            for (EntryLog exit : unmatched) {
+                unmatchedExits.increment();
+                log.warn("Exit of user {} at club {} at {} matched no open visit",
+                        exit.getUserId(), exit.getClubId(), exit.getExitTime());
+            }
+        } else {
+            transactionTemplate.executeWithoutResult(status -> entryLogRepository.insertAll(run));
+            run.forEach(entry -> analyticsRollups.entry(entry.getClubId(), entry.getEntryTime()));
+        }
+    }
+
+    private void failed(EntryLog event, Exception e) {
+        writeFailures.increment();
+        int attempts = retry.getOrDefault(event, 0) + 1;
+        if (attempts < maxAttempts) {
+            retry.put(event, attempts);
+            log.warn("Failed to write entry log event for user {} at club {} (attempt {} of {})",
+                    event.getUserId(), event.getClubId(), attempts, maxAttempts, e);
+            return;
+        }
+        retry.remove(event);
+        deadLettered.increment();
+        log.error("Dead-lettered entry log event: user={} club={} reservation={} entryTime={} exitTime={} "
+                        + "entryType={} recordedBy={} notes={}",
+                event.getUserId(), event.getClubId(), event.getReservationId(), event.getEntryTime(),
+                event.getExitTime(), event.getEntryType(), event.getRecordedBy(), event.getNotes(), e);
+    }
+
+    private static boolean isExit(EntryLog event) {
+        return event.getEntryTime() == null;
+    }
+
+    private static String visitKey(EntryLog event) {
+        return event.getUserId() + ":" + event.getClubId();
+    }
+
+    private static LocalDateTime eventTime(EntryLog event) {
+        return isExit(event) ? event.getExitTime() : event.getEntryTime();
+    }
+}
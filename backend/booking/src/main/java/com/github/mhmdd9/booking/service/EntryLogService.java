@@ -0,0 +1,53 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.dto.EntryLogDto;
+import com.github.mhmdd9.booking.repository.EntryLogRepository;
+import com.github.mhmdd9.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EntryLogService {
+
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private final EntryLogRepository entryLogRepository;
+
+    @Transactional(readOnly = true)
+    public List<EntryLogDto> getClubEntries(Long clubId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return entryLogRepository.findByClubIdAndEntryTimeBetween(clubId, startOf(from), endOf(to)).stream()
+                .map(EntryLogDto::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public long countClubEntries(Long clubId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return entryLogRepository.countEntriesByClubAndDateRange(clubId, startOf(from), endOf(to));
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date must not be before start date", "INVALID_DATE_RANGE");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BusinessException("Date range cannot exceed " + MAX_RANGE_DAYS + " days", "INVALID_DATE_RANGE");
+        }
+    }
+
+    private static LocalDateTime startOf(LocalDate date) {
+        return date.atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(LocalDate date) {
+        return date.plusDays(1).atStartOfDay().minusNanos(1000);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
+import com.github.mhmdd9.common.live.LiveEventPublisher;
+import com.github.mhmdd9.common.live.SseTopicBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Live seat availability and pending payment queues.
+ * Topics:
+ * <ul>
+ *   <li>{@code sessions:date:YYYY-MM-DD} - availability of every session on a date</li>
+ *   <li>{@code sessions:club:{clubId}} - availability of a club's sessions</li>
+ *   <li>{@code payments:club:{clubId}} - a club's pending payments (staff only)</li>
+ * </ul>
+ * Events are published inside the booking transaction and reach subscribers only once it commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class LiveUpdateService {
+
+    private static final int MAX_TOPICS = 10;
+    private static final Pattern TOPIC = Pattern.compile("(sessions:date:(\\d{4}-\\d{2}-\\d{2}))|((sessions|payments):club:\\d+)");
+
+    private final LiveEventPublisher publisher;
+    private final SseTopicBroker broker;
+
+    /**
+     * @param canSeePayments whether the subscriber may follow the pending payments of the given club
+     */
+    public SseEmitter subscribe(List<String> topics, Predicate<Long> canSeePayments) {
+        if (topics.isEmpty() || topics.size() > MAX_TOPICS) {
+            throw new BusinessException("Subscribe to between 1 and " + MAX_TOPICS + " topics", "INVALID_TOPICS");
+        }
+        for (String topic : topics) {
+            Matcher matcher = TOPIC.matcher(topic);
+            if (!matcher.matches()) {
+                throw new BusinessException("Unknown topic: " + topic, "INVALID_TOPICS");
+            }
+            if (matcher.group(2) != null) {
+                try {
+                    LocalDate.parse(matcher.group(2));
+                } catch (DateTimeParseException e) {
+                    throw new BusinessException("Unknown topic: " + topic, "INVALID_TOPICS");
+                }
+            }
+            if (topic.startsWith("payments:") && !canSeePayments.test(clubIdOf(topic))) {
+                throw new ForbiddenException("Only the club's staff can follow its pending payments");
+            }
+        }
+        return broker.subscribe(topics.stream().distinct().toList());
+    }
+
+    private static Long clubIdOf(String topic) {
+        try {
+            return Long.valueOf(topic.substring(topic.lastIndexOf(':') + 1));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Unknown topic: " + topic, "INVALID_TOPICS");
+        }
+    }
+
+    public void sessionChanged(ClassSession session) {
+        sessionChanged(session.getId(), session.getClub().getId(), session.getSessionDate(),
+                session.getBookedCount(), session.getCapacity(), session.getStatus().name());
+    }
+
+    public void sessionChanged(Long sessionId, Long clubId, LocalDate sessionDate,
+                               int bookedCount, int capacity, String status) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("sessionId", sessionId);
+        data.put("clubId", clubId);
+        data.put("sessionDate", sessionDate);
+        data.put("bookedCount", bookedCount);
+        data.put("capacity", capacity);
+        data.put("availableSpots", Math.max(0, capacity - bookedCount));
+        data.put("status", status);
+        publisher.publish("sessions:date:" + sessionDate, "availability", data);
+        publisher.publish("sessions:club:" + clubId, "availability", data);
+    }
+
+    public void pendingPaymentAdded(Reservation reservation) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("reservationId", reservation.getId());
+        data.put("sessionId", reservation.getSessionId());
+        data.put("userId", reservation.getUserId());
+        publisher.publish("payments:club:" + reservation.getClubId(), "pending-added", data);
+    }
+
+    public void pendingPaymentRemoved(Long clubId, Long reservationId) {
+        publisher.publish("payments:club:" + clubId, "pending-removed", Map.of("reservationId", reservationId));
+    }
+}
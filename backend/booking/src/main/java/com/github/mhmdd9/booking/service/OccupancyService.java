@@ -0,0 +1,86 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.common.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live count of people on each club's floor, kept in memory and updated on every entry and exit.
+ * Counters are rebuilt from open entry logs and corrected periodically by OccupancyReconciliationJob;
+ * floor capacities are refreshed by the same job.
+ * Counters are per node: each node only sees the entries it admitted itself until the next reconciliation, so with
+ * several nodes each one could admit up to the full floor capacity. Refusing entries at capacity is therefore off
+ * by default ({@code occupancy.enforce-capacity}); enable it only where all door traffic goes through one node.
+ */
+@Slf4j
+@Service
+public class OccupancyService {
+
+    private final boolean enforceCapacity;
+    private final Map<Long, AtomicInteger> occupancy = new ConcurrentHashMap<>();
+    private volatile Map<Long, Integer> capacities = Map.of();
+
+    public OccupancyService(@Value("${occupancy.enforce-capacity:false}") boolean enforceCapacity) {
+        this.enforceCapacity = enforceCapacity;
+    }
+
+    /**
+     * Counts a person onto the floor, refusing when the club's floor capacity is reached.
+     */
+    public void enter(Long clubId) {
+        AtomicInteger counter = counter(clubId);
+        Integer capacity = enforceCapacity ? capacities.get(clubId) : null;
+        if (capacity == null) {
+            counter.incrementAndGet();
+            return;
+        }
+
+        int current;
+        do {
+            current = counter.get();
+            if (current >= capacity) {
+                throw new ConflictException("Club is at full floor capacity", "CLUB_AT_CAPACITY");
+            }
+        } while (!counter.compareAndSet(current, current + 1));
+    }
+
+    public void exit(Long clubId) {
+        counter(clubId).getAndUpdate(current -> current > 0 ? current - 1 : 0);
+    }
+
+    public int getOccupancy(Long clubId) {
+        AtomicInteger counter = occupancy.get(clubId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    public Integer getCapacity(Long clubId) {
+        return capacities.get(clubId);
+    }
+
+    /**
+     * Replaces the counters and capacities with freshly computed values.
+     */
+    public void reset(Map<Long, Integer> counts, Map<Long, Integer> floorCapacities) {
+        capacities = Map.copyOf(floorCapacities);
+        occupancy.forEach((clubId, counter) -> {
+            if (!counts.containsKey(clubId)) {
+                counter.set(0);
+            }
+        });
+        counts.forEach((clubId, count) -> {
+            int previous = counter(clubId).getAndSet(Math.max(count, 0));
+            if (previous != count) {
+                log.debug("Occupancy of club {} corrected from {} to {}", clubId, previous, count);
+            }
+        });
+    }
+
+    private AtomicInteger counter(Long clubId) {
+        return occupancy.computeIfAbsent(clubId, id -> new AtomicInteger());
+    }
+}
@@ -0,0 +1,300 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.dto.PaymentReconciliationDto;
+import com.github.mhmdd9.booking.dto.PaymentReconciliationItemDto;
+import com.github.mhmdd9.booking.entity.PaymentReconciliation;
+import com.github.mhmdd9.booking.entity.PaymentReconciliationItem;
+import com.github.mhmdd9.booking.entity.PaymentReconciliationItem.ItemStatus;
+import com.github.mhmdd9.booking.repository.PaymentReconciliationBatchRepository;
+import com.github.mhmdd9.booking.repository.PaymentReconciliationBatchRepository.SettlablePayment;
+import com.github.mhmdd9.booking.repository.PaymentReconciliationItemRepository;
+import com.github.mhmdd9.booking.repository.PaymentReconciliationRepository;
+import com.github.mhmdd9.club.service.ClubAccessService;
+import com.github.mhmdd9.common.dto.PageResponse;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
+import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import com.github.mhmdd9.common.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Matches a bank or POS settlement statement against the card, POS and bank transfer payments a club recorded.
+ * Payments for the period are loaded once into a hash index by reference number, then the uploaded CSV is
+ * streamed and each row is matched in a single pass; only discrepancies are stored, in batches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationService {
+
+    private static final int MAX_RANGE_DAYS = 93;
+    private static final int ITEM_BATCH_SIZE = 500;
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private static final List<String> REFERENCE_COLUMNS = List.of("reference", "reference_number", "ref", "rrn", "trace");
+    private static final List<String> AMOUNT_COLUMNS = List.of("amount", "settled_amount", "value");
+
+    private final PaymentReconciliationRepository reconciliationRepository;
+    private final PaymentReconciliationItemRepository itemRepository;
+    private final PaymentReconciliationBatchRepository batchRepository;
+    private final ClubAccessService clubAccessService;
+
+    /**
+     * Reconciles a statement covering payments paid from {@code from} to {@code to} inclusive.
+     */
+    @Transactional
+    public PaymentReconciliationDto reconcile(Long clubId, LocalDate from, LocalDate to, MultipartFile file, Long userId) {
+        checkRange(from, to);
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("Statement file is empty", "INVALID_STATEMENT");
+        }
+
+        PaymentReconciliation reconciliation = reconciliationRepository.save(PaymentReconciliation.builder()
+                .clubId(clubId)
+                .periodFrom(from)
+                .periodTo(to)
+                .fileName(file.getOriginalFilename())
+                .statementRows(0)
+                .paymentsChecked(0)
+                .matched(0)
+                .flagged(0)
+                .createdBy(userId)
+                .build());
+
+        Matcher matcher = new Matcher(reconciliation.getId());
+        batchRepository.forEachSettlablePayment(clubId, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), matcher::index);
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            matcher.match(new CsvReader(reader));
+        } catch (IOException e) {
+            throw new BusinessException("Statement file could not be read: " + e.getMessage(), "INVALID_STATEMENT");
+        }
+        matcher.finish();
+
+        reconciliation.setStatementRows(matcher.statementRows);
+        reconciliation.setPaymentsChecked(matcher.paymentsChecked);
+        reconciliation.setMatched(matcher.matched);
+        reconciliation.setFlagged(matcher.flagged);
+        log.info("Reconciled {} statement rows against {} payments for club {}: {} matched, {} flagged",
+                matcher.statementRows, matcher.paymentsChecked, clubId, matcher.matched, matcher.flagged);
+        return PaymentReconciliationDto.from(reconciliation);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<PaymentReconciliationDto> getReconciliations(Long clubId, Pageable pageable) {
+        Page<PaymentReconciliation> page = reconciliationRepository.findByClubId(clubId, pageable);
+        return PageResponse.from(page, page.getContent().stream()
+                .map(PaymentReconciliationDto::from)
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<PaymentReconciliationItemDto> getItems(Long reconciliationId, ItemStatus status, Pageable pageable,
+                                                               Authentication authentication) {
+        PaymentReconciliation reconciliation = reconciliationRepository.findById(reconciliationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation", reconciliationId));
+        if (!clubAccessService.isManager(authentication, reconciliation.getClubId())) {
+            throw new ForbiddenException("You don't have permission to view this reconciliation");
+        }
+        Page<PaymentReconciliationItem> page = status == null
+                ? itemRepository.findByReconciliationId(reconciliationId, pageable)
+                : itemRepository.findByReconciliationIdAndStatus(reconciliationId, status, pageable);
+        return PageResponse.from(page, page.getContent().stream()
+                .map(PaymentReconciliationItemDto::from)
+                .toList());
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date must not be before start date", "INVALID_DATE_RANGE");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BusinessException("Date range cannot exceed " + MAX_RANGE_DAYS + " days", "INVALID_DATE_RANGE");
+        }
+    }
+
+    /**
+     * Statement references and recorded ones differ in case and padding between banks; compare them normalized.
+     */
+    private static String normalizeReference(String reference) {
+        if (reference == null) {
+            return null;
+        }
+        String normalized = reference.strip().toUpperCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Parses amounts as statements print them, with thousands separators and an optional currency suffix.
+     */
+    private static BigDecimal parseAmount(String value) {
+        String digits = value.strip().replace(",", "").replace(" ", "");
+        if (digits.endsWith("IRR")) {
+            digits = digits.substring(0, digits.length() - 3);
+        }
+        return new BigDecimal(digits);
+    }
+
+    private static int columnIndex(List<String> header, List<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            if (names.contains(header.get(i).strip().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of payments by normalized reference, matched against statement rows in one pass.
+     */
+    private class Matcher {
+
+        private final Long reconciliationId;
+        private final Map<String, IndexedReference> index = new HashMap<>();
+        private final List<PaymentReconciliationItem> pending = new ArrayList<>(ITEM_BATCH_SIZE);
+        private int statementRows;
+        private int paymentsChecked;
+        private int matched;
+        private int flagged;
+
+        private Matcher(Long reconciliationId) {
+            this.reconciliationId = reconciliationId;
+        }
+
+        private void index(SettlablePayment payment) {
+            paymentsChecked++;
+            String reference = normalizeReference(payment.getReferenceNumber());
+            if (reference == null) {
+                flag(ItemStatus.MISSING_REFERENCE, payment, null, null, null,
+                        "Payment has no reference number and cannot be matched");
+                return;
+            }
+            index.computeIfAbsent(reference, key -> new IndexedReference()).payments.add(payment);
+        }
+
+        private void match(CsvReader csv) throws IOException {
+            List<String> header = csv.readRow();
+            if (header == null) {
+                throw new BusinessException("Statement file is empty", "INVALID_STATEMENT");
+            }
+            int referenceColumn = columnIndex(header, REFERENCE_COLUMNS);
+            int amountColumn = columnIndex(header, AMOUNT_COLUMNS);
+            if (referenceColumn < 0 || amountColumn < 0) {
+                throw new BusinessException("Statement must have reference and amount columns", "INVALID_STATEMENT");
+            }
+
+            List<String> row;
+            while ((row = csv.readRow()) != null) {
+                statementRows++;
+                int line = (int) csv.getLine();
+                String rawReference = referenceColumn < row.size() ? row.get(referenceColumn) : null;
+                String reference = normalizeReference(rawReference);
+                if (reference == null) {
+                    flag(ItemStatus.INVALID_ROW, null, rawReference, null, line, "Row has no reference");
+                    continue;
+                }
+                BigDecimal amount;
+                try {
+                    amount = parseAmount(amountColumn < row.size() ? row.get(amountColumn) : "");
+                } catch (NumberFormatException e) {
+                    flag(ItemStatus.INVALID_ROW, null, rawReference, null, line, "Row has no valid amount");
+                    continue;
+                }
+                matchRow(reference, rawReference.strip(), amount, line);
+            }
+        }
+
+        private void matchRow(String reference, String rawReference, BigDecimal amount, int line) {
+            IndexedReference entry = index.get(reference);
+            if (entry == null) {
+                flag(ItemStatus.UNRECORDED, null, rawReference, amount, line,
+                        "Settled amount has no recorded payment");
+                return;
+            }
+            if (entry.statementLine != null) {
+                flag(ItemStatus.DUPLICATE_STATEMENT_ROW, null, rawReference, amount, line,
+                        "Reference already settled on line " + entry.statementLine);
+                return;
+            }
+            entry.statementLine = line;
+
+            if (entry.payments.size() > 1) {
+                for (SettlablePayment payment : entry.payments) {
+                    flag(ItemStatus.DUPLICATE_PAYMENT, payment, rawReference, amount, line,
+                            entry.payments.size() + " payments were recorded with this reference");
+                }
+                return;
+            }
+            SettlablePayment payment = entry.payments.get(0);
+            if (payment.getAmount().compareTo(amount) != 0) {
+                flag(ItemStatus.AMOUNT_MISMATCH, payment, rawReference, amount, line,
+                        "Recorded amount differs from settled amount");
+                return;
+            }
+            matched++;
+        }
+
+        private void finish() {
+            index.values().stream()
+                    .filter(entry -> entry.statementLine == null)
+                    .forEach(entry -> {
+                        for (SettlablePayment payment : entry.payments) {
+                            flag(ItemStatus.UNSETTLED, payment, null, null, null,
+                                    entry.payments.size() > 1
+                                            ? "Not on the statement; " + entry.payments.size() + " payments share this reference"
+                                            : "Not on the statement");
+                        }
+                    });
+            flushItems();
+        }
+
+        private void flag(ItemStatus status, SettlablePayment payment, String statementReference,
+                          BigDecimal statementAmount, Integer line, String message) {
+            flagged++;
+            String reference = payment != null ? payment.getReferenceNumber() : statementReference;
+            pending.add(PaymentReconciliationItem.builder()
+                    .reconciliationId(reconciliationId)
+                    .status(status)
+                    .paymentId(payment != null ? payment.getId() : null)
+                    .referenceNumber(reference != null && reference.length() > 100 ? reference.substring(0, 100) : reference)
+                    .paymentAmount(payment != null ? payment.getAmount() : null)
+                    .statementAmount(statementAmount)
+                    .statementLine(line)
+                    .message(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message)
+                    .build());
+            if (pending.size() >= ITEM_BATCH_SIZE) {
+                flushItems();
+            }
+        }
+
+        private void flushItems() {
+            batchRepository.insertItems(pending);
+            pending.clear();
+        }
+    }
+
+    private static class IndexedReference {
+        private final List<SettlablePayment> payments = new ArrayList<>(1);
+        private Integer statementLine;
+    }
+}
@@ -1,30 +1,42 @@
 package com.github.mhmdd9.booking.service;
 
-import com.github.mhmdd9.auth.entity.User;
-import com.github.mhmdd9.auth.repository.UserRepository;
+import com.github.mhmdd9.booking.dto.BatchPaymentRequest;
+import com.github.mhmdd9.booking.dto.BatchPaymentResultDto;
 import com.github.mhmdd9.booking.dto.PaymentDto;
 import com.github.mhmdd9.booking.dto.PendingPaymentDto;
 import com.github.mhmdd9.booking.dto.RecordPaymentRequest;
 import com.github.mhmdd9.booking.entity.Payment;
 import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.booking.repository.PaymentBatchRepository;
+import com.github.mhmdd9.booking.repository.PaymentBatchRepository.PayableReservation;
 import com.github.mhmdd9.booking.repository.PaymentRepository;
+import com.github.mhmdd9.booking.repository.PendingPaymentQueryRepository;
 import com.github.mhmdd9.booking.repository.ReservationRepository;
-import com.github.mhmdd9.club.entity.ClassSession;
-import com.github.mhmdd9.club.entity.Club;
-import com.github.mhmdd9.club.repository.ClassSessionRepository;
-import com.github.mhmdd9.club.repository.ClubRepository;
+import com.github.mhmdd9.club.service.ClubAccessService;
+import com.github.mhmdd9.common.dto.CursorPageResponse;
 import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ConflictException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
 import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import com.github.mhmdd9.common.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,23 +44,38 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PaymentService {
 
+    private static final int MAX_PENDING_PAGE_SIZE = 200;
+
     private final PaymentRepository paymentRepository;
+    private final PaymentBatchRepository paymentBatchRepository;
     private final ReservationRepository reservationRepository;
-    private final ClassSessionRepository sessionRepository;
-    private final ClubRepository clubRepository;
-    private final UserRepository userRepository;
-
+    private final PendingPaymentQueryRepository pendingPaymentQueryRepository;
+    private final LiveUpdateService liveUpdates;
+    private final AnalyticsRollupService analyticsRollups;
+    private final ClubAccessService clubAccessService;
+
+    /**
+     * The payment of a reservation, visible to the member who paid and to staff of its club.
+     */
     @Transactional(readOnly = true)
-    public Optional<PaymentDto> getPaymentByReservation(Long reservationId) {
-        return paymentRepository.findByReservationId(reservationId)
-                .map(PaymentDto::from);
+    public Optional<PaymentDto> getPaymentByReservation(Long reservationId, Long userId, Authentication authentication) {
+        Optional<Payment> payment = paymentRepository.findByReservationId(reservationId);
+        if (payment.isPresent() && !payment.get().getUserId().equals(userId)
+                && !clubAccessService.isStaff(authentication, payment.get().getClubId())) {
+            throw new ForbiddenException("You don't have permission to view this payment");
+        }
+        return payment.map(PaymentDto::from);
     }
 
     @Transactional
-    public PaymentDto recordPayment(RecordPaymentRequest request, Long recordedBy) {
+    public PaymentDto recordPayment(RecordPaymentRequest request, Long recordedBy, Authentication authentication) {
         Reservation reservation = reservationRepository.findById(request.getReservationId())
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", request.getReservationId()));
 
+        if (!clubAccessService.isStaff(authentication, reservation.getClubId())) {
+            throw new ForbiddenException("You don't have permission to record payments for this club");
+        }
+
         // Check if payment already exists
         if (paymentRepository.findByReservationId(request.getReservationId()).isPresent()) {
             throw new BusinessException("Payment already recorded for this reservation", "PAYMENT_EXISTS");
@@ -73,11 +100,18 @@ public class PaymentService {
                 .notes(request.getNotes())
                 .build();
 
-        payment = paymentRepository.save(payment);
+        try {
+            payment = paymentRepository.saveAndFlush(payment);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("Payment already recorded for this reservation", "PAYMENT_EXISTS");
+        }
 
         // Update reservation status
         reservation.setStatus(Reservation.ReservationStatus.PAID);
         reservationRepository.save(reservation);
+        liveUpdates.pendingPaymentRemoved(reservation.getClubId(), reservation.getId());
+        analyticsRollups.paymentAfterCommit(payment.getClubId(), payment.getPaidAt(),
+                payment.getMethod().name(), payment.getAmount());
 
         log.info("Payment recorded: {} for reservation {} by staff {}", 
                 payment.getId(), reservation.getId(), recordedBy);
@@ -85,49 +119,115 @@ public class PaymentService {
         return PaymentDto.from(payment);
     }
 
+    /**
+     * Records payments for many reservations in one transaction.
+     * Reservations are locked and validated with one query, payments inserted in one JDBC batch and
+     * reservations flipped to PAID with one update; items that cannot be paid are reported, not thrown.
+     * Reservations of clubs the caller is not staff at are reported as forbidden.
+     */
+    @Transactional
+    public BatchPaymentResultDto recordPayments(BatchPaymentRequest request, Long recordedBy, Authentication authentication) {
+        List<RecordPaymentRequest> requests = request.getPayments();
+        BatchPaymentResultDto.Item[] items = new BatchPaymentResultDto.Item[requests.size()];
+
+        Set<Long> reservationIds = new HashSet<>();
+        for (RecordPaymentRequest item : requests) {
+            reservationIds.add(item.getReservationId());
+        }
+        Map<Long, PayableReservation> reservations = paymentBatchRepository.lockReservations(reservationIds).stream()
+                .collect(Collectors.toMap(PayableReservation::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> seen = new HashSet<>();
+        List<Payment> toInsert = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RecordPaymentRequest item = requests.get(i);
+            Long reservationId = item.getReservationId();
+            PayableReservation reservation = reservations.get(reservationId);
+            if (!seen.add(reservationId)) {
+                items[i] = BatchPaymentResultDto.Item.failed(reservationId,
+                        "DUPLICATE_ITEM", "Reservation appears more than once in this batch");
+            } else if (reservation == null) {
+                items[i] = BatchPaymentResultDto.Item.failed(reservationId,
+                        "RESOURCE_NOT_FOUND", "Reservation not found with id: " + reservationId);
+            } else if (!clubAccessService.isStaff(authentication, reservation.getClubId())) {
+                items[i] = BatchPaymentResultDto.Item.failed(reservationId,
+                        "FORBIDDEN", "You don't have permission to record payments for this club");
+            } else if (reservation.isHasPayment()) {
+                items[i] = BatchPaymentResultDto.Item.failed(reservationId,
+                        "PAYMENT_EXISTS", "Payment already recorded for this reservation");
+            } else if (!Reservation.ReservationStatus.PENDING_PAYMENT.name().equals(reservation.getStatus())) {
+                items[i] = BatchPaymentResultDto.Item.failed(reservationId,
+                        "INVALID_STATUS", "Reservation is not pending payment");
+            } else {
+                positions.add(i);
+                toInsert.add(Payment.builder()
+                        .reservationId(reservationId)
+                        .userId(reservation.getUserId())
+                        .clubId(reservation.getClubId())
+                        .amount(item.getAmount())
+                        .currency("IRR")
+                        .method(item.getMethod())
+                        .referenceNumber(item.getReferenceNumber())
+                        .status(Payment.PaymentStatus.PAID)
+                        .paidAt(now)
+                        .recordedBy(recordedBy)
+                        .notes(item.getNotes())
+                        .build());
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                paymentBatchRepository.insertAll(toInsert);
+            } catch (DuplicateKeyException e) {
+                throw new ConflictException("A payment in this batch was recorded concurrently. Please try again.");
+            }
+            paymentBatchRepository.markPaid(toInsert.stream().map(Payment::getReservationId).toList(), now);
+        }
+
+        for (int i = 0; i < toInsert.size(); i++) {
+            Payment payment = toInsert.get(i);
+            items[positions.get(i)] = BatchPaymentResultDto.Item.recorded(PaymentDto.from(payment));
+            liveUpdates.pendingPaymentRemoved(payment.getClubId(), payment.getReservationId());
+            analyticsRollups.paymentAfterCommit(payment.getClubId(), payment.getPaidAt(),
+                    payment.getMethod().name(), payment.getAmount());
+        }
+
+        log.info("Batch payment by staff {}: {} recorded, {} failed",
+                recordedBy, toInsert.size(), requests.size() - toInsert.size());
+
+        return BatchPaymentResultDto.builder()
+                .requested(requests.size())
+                .recorded(toInsert.size())
+                .failed(requests.size() - toInsert.size())
+                .items(List.of(items))
+                .build();
+    }
+
+    /**
+     * Pending payments of a club, newest bookings first, optionally narrowed to a session date or activity.
+     */
     @Transactional(readOnly = true)
-    public List<PendingPaymentDto> getPendingPaymentsByClub(Long clubId) {
-        List<Reservation> reservations = reservationRepository.findPendingPaymentsByClub(clubId);
-        
-        if (reservations.isEmpty()) {
-            return List.of();
+    public CursorPageResponse<PendingPaymentDto> getPendingPaymentsByClub(
+            Long clubId, LocalDate sessionDate, Long activityId, String cursor, int size) {
+        LocalDateTime afterBookedAt = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            try {
+                afterBookedAt = LocalDateTime.parse(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BusinessException("Invalid pagination cursor", "INVALID_CURSOR");
+            }
         }
 
-        // Get unique session IDs and user IDs
-        Set<Long> sessionIds = reservations.stream().map(Reservation::getSessionId).collect(Collectors.toSet());
-        Set<Long> userIds = reservations.stream().map(Reservation::getUserId).collect(Collectors.toSet());
-
-        // Fetch sessions, users, and club
-        Map<Long, ClassSession> sessionMap = sessionRepository.findAllById(sessionIds).stream()
-                .collect(Collectors.toMap(ClassSession::getId, s -> s));
-        Map<Long, User> userMap = userRepository.findAllById(userIds).stream()
-                .collect(Collectors.toMap(User::getId, u -> u));
-        Club club = clubRepository.findById(clubId).orElse(null);
-
-        return reservations.stream()
-                .map(r -> {
-                    ClassSession session = sessionMap.get(r.getSessionId());
-                    User user = userMap.get(r.getUserId());
-                    
-                    return PendingPaymentDto.builder()
-                            .reservationId(r.getId())
-                            .userId(r.getUserId())
-                            .userPhoneNumber(user != null ? user.getPhoneNumber() : null)
-                            .userFullName(user != null ? user.getFullName() : null)
-                            .sessionId(r.getSessionId())
-                            .activityName(session != null && session.getActivity() != null 
-                                    ? session.getActivity().getName() : null)
-                            .sessionDate(session != null ? session.getSessionDate() : null)
-                            .startTime(session != null ? session.getStartTime() : null)
-                            .endTime(session != null ? session.getEndTime() : null)
-                            .trainerName(session != null && session.getTrainer() != null 
-                                    ? session.getTrainer().getFullName() : null)
-                            .bookedAt(r.getBookedAt())
-                            .clubId(clubId)
-                            .clubName(club != null ? club.getName() : null)
-                            .build();
-                })
-                .toList();
+        int pageSize = Math.max(1, Math.min(size, MAX_PENDING_PAGE_SIZE));
+        List<PendingPaymentDto> rows = pendingPaymentQueryRepository.findPage(
+                clubId, sessionDate, activityId, afterBookedAt, afterId, pageSize + 1);
+        return CursorPageResponse.of(rows, pageSize, p -> KeysetCursor.encode(p.getBookedAt(), p.getReservationId()));
     }
 }
 
@@ -0,0 +1,229 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.event.ReservationBookedEvent;
+import com.github.mhmdd9.booking.event.ReservationCancelledEvent;
+import com.github.mhmdd9.booking.repository.ReminderQueryRepository;
+import com.github.mhmdd9.booking.repository.ReminderQueryRepository.UpcomingReservation;
+import com.github.mhmdd9.common.notification.Notification;
+import com.github.mhmdd9.common.notification.NotificationDispatcher;
+import com.github.mhmdd9.common.util.HierarchicalTimerWheel;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reminds members of upcoming classes {@code lead-minutes} before they start.
+ * Reservations are loaded in time-ordered chunks as they enter the scheduling horizon, keyset-continued from
+ * a watermark so each is read once, and held on a timer wheel until due. Cancellations take their reminder
+ * off the wheel, and bookings behind the watermark are added directly. At most {@code max-pending} reminders
+ * are held; loading pauses at the cap and resumes from the watermark.
+ * <p>
+ * Off unless {@code reminders.enabled}; enable it on one node. Every due reminder is claimed in the database
+ * before it is handed to the sender, so a reminder is sent once even if a second node has it on its wheel, and a
+ * restarted node picks up the ones still unsent instead of skipping them. A reminder claimed by a node that
+ * stops before sending it is lost.
+ */
+@Slf4j
+@Service
+public class ReservationReminderService {
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final ReminderQueryRepository reminderRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final boolean enabled;
+    private final long leadMinutes;
+    private final long horizonMinutes;
+    private final int chunkSize;
+    private final int maxPending;
+    private final HierarchicalTimerWheel<Long, Reminder> wheel;
+
+    // Session start and reservation id of the last reservation loaded
+    private LocalDateTime watermark;
+    private long watermarkId;
+
+    private final Counter remindersSent;
+
+    public ReservationReminderService(
+            ReminderQueryRepository reminderRepository,
+            NotificationDispatcher notificationDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${reminders.enabled:false}") boolean enabled,
+            @Value("${reminders.lead-minutes:120}") long leadMinutes,
+            @Value("${reminders.horizon-minutes:360}") long horizonMinutes,
+            @Value("${reminders.tick:10000}") long tickMillis,
+            @Value("${reminders.chunk-size:1000}") int chunkSize,
+            @Value("${reminders.max-pending:200000}") int maxPending) {
+        this.reminderRepository = reminderRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.enabled = enabled;
+        this.leadMinutes = leadMinutes;
+        this.horizonMinutes = horizonMinutes;
+        this.chunkSize = chunkSize;
+        this.maxPending = maxPending;
+        // Twice the horizon leaves room for reminders loaded just before the clock catches up
+        this.wheel = new HierarchicalTimerWheel<>(tickMillis, WHEEL_SIZE,
+                2 * horizonMinutes * 60_000, System.currentTimeMillis());
+
+        this.remindersSent = Counter.builder("reminders.sent")
+                .description("Class reminders handed to the notification sender")
+                .register(meterRegistry);
+        Gauge.builder("reminders.pending", this, service -> service.pending())
+                .description("Reminders waiting on the timer wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        // Unsent reminders that fell due while the node was down are sent late, if their class has not started
+        watermark = LocalDateTime.now();
+        watermarkId = 0;
+        load();
+    }
+
+    /**
+     * Loads reservations whose reminder falls due within the horizon, continuing from the watermark.
+     */
+    @Scheduled(
+            initialDelayString = "${reminders.load-interval:300000}",
+            fixedDelayString = "${reminders.load-interval:300000}"
+    )
+    public synchronized void load() {
+        if (watermark == null) {
+            return;
+        }
+        LocalDateTime until = LocalDateTime.now().plusMinutes(leadMinutes + horizonMinutes);
+        int loaded = 0;
+        while (wheel.size() < maxPending) {
+            int limit = Math.min(chunkSize, maxPending - wheel.size());
+            List<UpcomingReservation> chunk = reminderRepository.findUpcoming(watermark, watermarkId, until, limit);
+            for (UpcomingReservation reservation : chunk) {
+                schedule(reservation.getReservationId(), reservation.getUserId(), reservation.getBookedAt(),
+                        reservation.getStartsAt(), reservation.getActivityName(), reservation.getClubName());
+                watermark = reservation.getStartsAt();
+                watermarkId = reservation.getReservationId();
+            }
+            loaded += chunk.size();
+            if (chunk.size() < limit) {
+                break;
+            }
+        }
+        if (loaded > 0) {
+            log.debug("Loaded {} reminders up to {}, {} pending", loaded, watermark, wheel.size());
+        }
+        if (wheel.size() >= maxPending) {
+            log.warn("Reminder wheel is full ({} pending); loading resumes from {}", wheel.size(), watermark);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.tick:10000}")
+    public void fire() {
+        List<Reminder> due;
+        synchronized (this) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        Set<Long> claimed;
+        try {
+            claimed = Set.copyOf(reminderRepository.claimReminders(
+                    due.stream().map(reminder -> reminder.reservationId).toList(), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // Put back, so they are claimed on the next tick
+            log.warn("Failed to claim {} due reminders; retrying", due.size(), e);
+            synchronized (this) {
+                due.forEach(reminder -> wheel.schedule(reminder.reservationId, System.currentTimeMillis(), reminder));
+            }
+            return;
+        }
+        due = due.stream().filter(reminder -> claimed.contains(reminder.reservationId)).toList();
+        if (due.isEmpty()) {
+            return;
+        }
+        notificationDispatcher.dispatch(due.stream()
+                .map(reminder -> Notification.builder()
+                        .userId(reminder.userId)
+                        .type("CLASS_REMINDER")
+                        .title("Upcoming class")
+                        .message("Your class " + reminder.activityName + " at " + reminder.clubName
+                                + " starts at " + reminder.startsAt.toLocalTime() + ".")
+                        .build())
+                .toList());
+        remindersSent.increment(due.size());
+    }
+
+    /**
+     * Schedules the reminder of a new booking once its transaction commits, if the loader has already
+     * passed its session start.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onReservationBooked(ReservationBookedEvent event) {
+        LocalDateTime startsAt = event.getSessionDate().atTime(event.getStartTime());
+        if (watermark != null && !startsAt.isAfter(watermark)) {
+            schedule(event.getReservationId(), event.getUserId(), event.getBookedAt(), startsAt,
+                    event.getActivityName(), event.getClubName());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onReservationCancelled(ReservationCancelledEvent event) {
+        wheel.cancel(event.getReservationId());
+    }
+
+    /**
+     * Drops the reminder of a cancelled reservation once its transaction commits.
+     */
+    public void cancelAfterCommit(Long reservationId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                wheel.cancel(reservationId);
+            }
+        });
+    }
+
+    private synchronized int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * Bookings made after their reminder time get none; overdue reminders of earlier bookings fire on the next
+     * tick, as long as the class has not started.
+     */
+    private void schedule(long reservationId, long userId, LocalDateTime bookedAt, LocalDateTime startsAt,
+                          String activityName, String clubName) {
+        LocalDateTime remindAt = startsAt.minusMinutes(leadMinutes);
+        if (!bookedAt.isBefore(remindAt) || !startsAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        wheel.schedule(reservationId, remindAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                new Reminder(reservationId, userId, startsAt, activityName, clubName));
+    }
+
+    @AllArgsConstructor
+    private static class Reminder {
+        private final long reservationId;
+        private final long userId;
+        private final LocalDateTime startsAt;
+        private final String activityName;
+        private final String clubName;
+    }
+}
@@ -1,41 +1,98 @@
 package com.github.mhmdd9.booking.service;
 
+import com.github.mhmdd9.booking.dto.BatchReservationRequest;
+import com.github.mhmdd9.booking.dto.BatchReservationResultDto;
 import com.github.mhmdd9.booking.dto.CreateReservationRequest;
+import com.github.mhmdd9.booking.dto.ReservationDetailsDto;
 import com.github.mhmdd9.booking.dto.ReservationDto;
+import com.github.mhmdd9.booking.entity.EntryLog;
 import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.booking.event.ReservationBookedEvent;
+import com.github.mhmdd9.booking.event.ReservationCancelledEvent;
+import com.github.mhmdd9.booking.repository.ReservationArchiveRepository;
+import com.github.mhmdd9.booking.repository.ReservationBatchRepository;
+import com.github.mhmdd9.booking.repository.ReservationDetailsQueryRepository;
 import com.github.mhmdd9.booking.repository.ReservationRepository;
+import com.github.mhmdd9.booking.repository.projection.BookedSlotView;
 import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.entity.Club;
 import com.github.mhmdd9.club.repository.ClassSessionRepository;
+import com.github.mhmdd9.club.repository.projection.SessionSlotView;
+import com.github.mhmdd9.club.service.ClubAccessService;
+import com.github.mhmdd9.common.dto.CursorPageResponse;
 import com.github.mhmdd9.common.dto.PageResponse;
+import com.github.mhmdd9.common.exception.BaseException;
 import com.github.mhmdd9.common.exception.BusinessException;
 import com.github.mhmdd9.common.exception.ConflictException;
 import com.github.mhmdd9.common.exception.ForbiddenException;
 import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import com.github.mhmdd9.common.util.IntervalIndex;
+import com.github.mhmdd9.common.util.KeysetCursor;
+import com.github.mhmdd9.common.util.SessionTimes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
+    private static final int MAX_BATCH_SESSIONS = 52;
+    private static final int MAX_DETAILS_PAGE_SIZE = 100;
+    private static final Comparator<ReservationDetailsDto> NEWEST_FIRST =
+            Comparator.comparing(ReservationDetailsDto::getBookedAt)
+                    .thenComparing(ReservationDetailsDto::getId)
+                    .reversed();
+
     private final ReservationRepository reservationRepository;
+    private final ReservationBatchRepository reservationBatchRepository;
+    private final ReservationArchiveRepository archiveRepository;
+    private final ReservationDetailsQueryRepository detailsQueryRepository;
     private final ClassSessionRepository sessionRepository;
+    private final BookingOverlapIndex overlapIndex;
+    private final CheckInService checkInService;
+    private final CheckInPassService checkInPassService;
+    private final EntryLogIngestionService entryLogIngestion;
+    private final LiveUpdateService liveUpdates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClubAccessService clubAccessService;
 
     @Transactional(readOnly = true)
     public PageResponse<ReservationDto> getMyReservations(Long userId, Pageable pageable) {
-        Page<Reservation> reservations = reservationRepository.findByUserId(userId, pageable);
-        return PageResponse.from(reservations, reservations.getContent().stream()
-                .map(ReservationDto::from)
-                .toList());
+        Page<ReservationDto> reservations = withArchive(
+                reservationRepository.findByUserId(userId, pageable).map(ReservationDto::from), pageable,
+                () -> archiveRepository.countByUserId(userId),
+                (offset, limit) -> archiveRepository.findByUserId(userId, offset, limit).stream()
+                        .map(ReservationDto::from)
+                        .toList());
+        return PageResponse.from(reservations);
     }
 
     @Transactional(readOnly = true)
@@ -45,21 +102,102 @@ public class ReservationService {
                 .toList();
     }
 
+    /**
+     * A member's reservations with session, activity, trainer, club and payment, newest bookings first.
+     * Only PENDING_PAYMENT and PAID ones when {@code activeOnly}. The full history reads the archive only
+     * for pages that run past the member's hot rows.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ReservationDetailsDto> getMyReservationDetails(
+            Long userId, boolean activeOnly, String cursor, int size) {
+        LocalDateTime afterBookedAt = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            try {
+                afterBookedAt = LocalDateTime.parse(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BusinessException("Invalid pagination cursor", "INVALID_CURSOR");
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_DETAILS_PAGE_SIZE));
+        List<ReservationDetailsDto> rows =
+                detailsQueryRepository.findPage(userId, activeOnly, afterBookedAt, afterId, pageSize + 1);
+        if (!activeOnly && rows.size() <= pageSize) {
+            List<ReservationDetailsDto> merged = new ArrayList<>(rows);
+            merged.addAll(detailsQueryRepository.findArchivedPage(userId, afterBookedAt, afterId, pageSize + 1));
+            merged.sort(NEWEST_FIRST);
+            rows = merged.size() > pageSize + 1 ? merged.subList(0, pageSize + 1) : merged;
+        }
+        return CursorPageResponse.of(rows, pageSize, r -> KeysetCursor.encode(r.getBookedAt(), r.getId()));
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<ReservationDto> getClubReservations(Long clubId, Pageable pageable) {
-        Page<Reservation> reservations = reservationRepository.findByClubId(clubId, pageable);
-        return PageResponse.from(reservations, reservations.getContent().stream()
-                .map(ReservationDto::from)
-                .toList());
+        Page<ReservationDto> reservations = withArchive(
+                reservationRepository.findByClubId(clubId, pageable).map(ReservationDto::from), pageable,
+                () -> archiveRepository.countByClubId(clubId),
+                (offset, limit) -> archiveRepository.findByClubId(clubId, offset, limit).stream()
+                        .map(ReservationDto::from)
+                        .toList());
+        return PageResponse.from(reservations);
+    }
+
+    /**
+     * Appends archived reservations once a page reaches past the hot rows, newest booking first.
+     * The archive is neither counted nor read while the caller pages through hot data.
+     * Archived rows are only ever read newest first, so any other sort lists the hot rows alone.
+     */
+    private <T> Page<T> withArchive(Page<T> hot, Pageable pageable,
+                                    Supplier<Long> archiveCount, ArchivePageLoader<T> archivePage) {
+        if (pageable.isUnpaged() || !isNewestFirst(pageable.getSort())
+                || pageable.getOffset() + pageable.getPageSize() < hot.getTotalElements()) {
+            return hot;
+        }
+        long archived = archiveCount.get();
+        if (archived == 0) {
+            return hot;
+        }
+
+        List<T> content = new ArrayList<>(hot.getContent());
+        long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+        int remaining = pageable.getPageSize() - content.size();
+        if (remaining > 0 && archiveOffset < archived) {
+            content.addAll(archivePage.load(archiveOffset, remaining));
+        }
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archived);
+    }
+
+    /**
+     * Whether the sort matches the archive's own order: bookedAt descending, optionally followed by id descending.
+     */
+    private static boolean isNewestFirst(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || orders.size() > 2) {
+            return false;
+        }
+        Sort.Order first = orders.get(0);
+        if (!first.getProperty().equals("bookedAt") || !first.isDescending()) {
+            return false;
+        }
+        return orders.size() == 1 || (orders.get(1).getProperty().equals("id") && orders.get(1).isDescending());
+    }
+
+    @FunctionalInterface
+    private interface ArchivePageLoader<T> {
+        List<T> load(long offset, int limit);
     }
 
     @Transactional(readOnly = true)
-    public ReservationDto getReservationById(Long id, Long userId, boolean isStaff) {
+    public ReservationDto getReservationById(Long id, Long userId, Authentication authentication) {
         Reservation reservation = reservationRepository.findById(id)
+                .or(() -> archiveRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", id));
 
-        // Check ownership unless staff
-        if (!isStaff && !reservation.getUserId().equals(userId)) {
+        // Check ownership unless staff of the reservation's club
+        if (!reservation.getUserId().equals(userId) && !clubAccessService.isStaff(authentication, reservation.getClubId())) {
             throw new ForbiddenException("You don't have permission to view this reservation");
         }
 
@@ -77,14 +215,8 @@ public class ReservationService {
         ClassSession session = sessionRepository.findByIdWithLock(request.getSessionId())
                 .orElseThrow(() -> new ResourceNotFoundException("ClassSession", request.getSessionId()));
 
-        // Check availability
-        if (!session.hasAvailableSpots()) {
-            throw new BusinessException("Session is fully booked", "SESSION_FULL");
-        }
-
-        if (session.getStatus() != ClassSession.SessionStatus.SCHEDULED) {
-            throw new BusinessException("Session is not available for booking", "SESSION_UNAVAILABLE");
-        }
+        checkBookable(session);
+        String overlapWarning = checkOverlap(userId, session, IntervalIndex.empty());
 
         try {
             // Increment booked count
@@ -101,23 +233,125 @@ public class ReservationService {
                     .build();
 
             reservation = reservationRepository.save(reservation);
+            eventPublisher.publishEvent(ReservationBookedEvent.of(reservation, session));
+            liveUpdates.sessionChanged(session);
+            liveUpdates.pendingPaymentAdded(reservation);
             log.info("Reservation created: {} for user {} on session {}", 
                     reservation.getId(), userId, session.getId());
 
-            return ReservationDto.from(reservation);
+            ReservationDto dto = ReservationDto.from(reservation);
+            if (overlapWarning != null) {
+                dto.setWarnings(List.of(overlapWarning));
+            }
+            return dto;
 
         } catch (ObjectOptimisticLockingFailureException e) {
             throw new ConflictException("Session was updated by another user. Please try again.");
         }
     }
 
+    /**
+     * Books several sessions in one transaction.
+     * Sessions are locked in id order; in ALL_OR_NOTHING mode any failure rejects the whole batch,
+     * in BEST_EFFORT mode the bookable sessions are booked and the rest reported per item.
+     */
+    @Transactional
+    public BatchReservationResultDto createReservations(BatchReservationRequest request, Long userId) {
+        List<Long> sessionIds = resolveBatchSessionIds(request);
+        if (sessionIds.isEmpty()) {
+            throw new BusinessException("No sessions found to book", "EMPTY_BATCH");
+        }
+        if (sessionIds.size() > MAX_BATCH_SESSIONS) {
+            throw new BusinessException("Cannot book more than " + MAX_BATCH_SESSIONS + " sessions at once",
+                    "BATCH_TOO_LARGE");
+        }
+
+        Set<Long> alreadyBooked = new HashSet<>(reservationRepository.findBookedSessionIds(userId, sessionIds));
+        Map<Long, ClassSession> sessions = sessionRepository.findAllByIdInForUpdate(sessionIds).stream()
+                .collect(Collectors.toMap(ClassSession::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BatchReservationResultDto.Item> items = new LinkedHashMap<>();
+        List<Reservation> toInsert = new ArrayList<>();
+        Map<Long, String> warnings = new HashMap<>();
+        IntervalIndex<Long> accepted = IntervalIndex.empty();
+
+        for (Long sessionId : sessionIds) {
+            ClassSession session = sessions.get(sessionId);
+            if (session == null) {
+                items.put(sessionId, BatchReservationResultDto.Item.failed(sessionId,
+                        "RESOURCE_NOT_FOUND", "ClassSession not found with id: " + sessionId));
+                continue;
+            }
+            if (alreadyBooked.contains(sessionId)) {
+                items.put(sessionId, BatchReservationResultDto.Item.failed(sessionId,
+                        "ALREADY_BOOKED", "You have already booked this session"));
+                continue;
+            }
+            try {
+                checkBookable(session);
+                String warning = checkOverlap(userId, session, accepted);
+                if (warning != null) {
+                    warnings.put(sessionId, warning);
+                }
+            } catch (BaseException e) {
+                items.put(sessionId, BatchReservationResultDto.Item.failed(sessionId, e.getErrorCode(), e.getMessage()));
+                continue;
+            }
+
+            accepted = accepted.with(BookingOverlapIndex.startOf(session), BookingOverlapIndex.endOf(session), sessionId);
+            items.put(sessionId, null);
+            toInsert.add(Reservation.builder()
+                    .userId(userId)
+                    .sessionId(sessionId)
+                    .clubId(session.getClub().getId())
+                    .status(Reservation.ReservationStatus.PENDING_PAYMENT)
+                    .bookedAt(now)
+                    .build());
+        }
+
+        int failed = sessionIds.size() - toInsert.size();
+        if (failed > 0 && request.getMode() != BatchReservationRequest.BatchMode.BEST_EFFORT) {
+            throw new BusinessException("Some sessions could not be booked", "BATCH_BOOKING_FAILED",
+                    items.values().stream().filter(Objects::nonNull).toList());
+        }
+
+        // Seat claims are flushed together with the inserts when the transaction commits
+        toInsert.forEach(r -> sessions.get(r.getSessionId()).incrementBookedCount());
+        try {
+            reservationBatchRepository.insertAll(toInsert);
+        } catch (DuplicateKeyException e) {
+            throw new ConflictException("One of these sessions was booked concurrently. Please try again.");
+        }
+
+        toInsert.forEach(r -> {
+            eventPublisher.publishEvent(ReservationBookedEvent.of(r, sessions.get(r.getSessionId())));
+            liveUpdates.sessionChanged(sessions.get(r.getSessionId()));
+            liveUpdates.pendingPaymentAdded(r);
+            ReservationDto dto = ReservationDto.from(r);
+            if (warnings.containsKey(r.getSessionId())) {
+                dto.setWarnings(List.of(warnings.get(r.getSessionId())));
+            }
+            items.put(r.getSessionId(), BatchReservationResultDto.Item.booked(dto));
+        });
+
+        log.info("Batch reservation for user {}: {} booked, {} failed", userId, toInsert.size(), failed);
+
+        return BatchReservationResultDto.builder()
+                .requested(sessionIds.size())
+                .booked(toInsert.size())
+                .failed(failed)
+                .items(new ArrayList<>(items.values()))
+                .build();
+    }
+
     @Transactional
-    public ReservationDto cancelReservation(Long id, Long userId, String reason, boolean isStaff) {
+    public ReservationDto cancelReservation(Long id, Long userId, String reason, Authentication authentication) {
         Reservation reservation = reservationRepository.findByIdWithLock(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", id));
 
-        // Check ownership unless staff
-        if (!isStaff && !reservation.getUserId().equals(userId)) {
+        // Check ownership unless staff of the reservation's club
+        if (!reservation.getUserId().equals(userId) && !clubAccessService.isStaff(authentication, reservation.getClubId())) {
             throw new ForbiddenException("You don't have permission to cancel this reservation");
         }
 
@@ -127,34 +361,144 @@ public class ReservationService {
 
         // Decrement booked count
         ClassSession session = sessionRepository.findById(reservation.getSessionId()).orElse(null);
+        Long passValidUntil = null;
         if (session != null) {
             session.decrementBookedCount();
             sessionRepository.save(session);
+            liveUpdates.sessionChanged(session);
+            if (reservation.getStatus() == Reservation.ReservationStatus.PAID) {
+                passValidUntil = checkInPassService.validUntil(
+                        session.getSessionDate(), session.getStartTime(), session.getEndTime());
+            }
         }
 
+        if (reservation.getStatus() == Reservation.ReservationStatus.PENDING_PAYMENT) {
+            liveUpdates.pendingPaymentRemoved(reservation.getClubId(), reservation.getId());
+        }
         reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
         reservation.setCancelledAt(LocalDateTime.now());
         reservation.setCancellationReason(reason);
         reservation = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationCancelledEvent(reservation.getId(), reservation.getUserId(),
+                reservation.getSessionId(), reservation.getClubId(), reservation.getCancelledAt(), passValidUntil));
 
         log.info("Reservation cancelled: {} by user {}", id, userId);
         return ReservationDto.from(reservation);
     }
 
     @Transactional
-    public ReservationDto checkIn(Long id) {
+    public ReservationDto checkIn(Long id, Authentication authentication) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", id));
 
+        if (!clubAccessService.isStaff(authentication, reservation.getClubId())) {
+            throw new ForbiddenException("You don't have permission to check in reservations for this club");
+        }
+
         if (!reservation.canCheckIn()) {
             throw new BusinessException("Reservation cannot be checked in", "CANNOT_CHECK_IN");
         }
+        // A kiosk check-in may still be waiting to be written
+        if (checkInService.isCheckedIn(reservation.getId())) {
+            throw new ConflictException("Reservation has already been checked in", "ALREADY_CHECKED_IN");
+        }
 
         reservation.setCheckedInAt(LocalDateTime.now());
         reservation = reservationRepository.save(reservation);
+        entryLogIngestion.recordEntryAfterCommit(reservation.getUserId(), reservation.getClubId(), reservation.getId(),
+                EntryLog.EntryType.CLASS, null, null);
+        // The member's pass must not let them in a second time at the kiosk
+        ClassSession session = sessionRepository.findById(reservation.getSessionId()).orElse(null);
+        if (session != null) {
+            checkInService.checkedInAfterCommit(reservation.getId(), checkInPassService.validUntil(
+                    session.getSessionDate(), session.getStartTime(), session.getEndTime()));
+        }
 
         log.info("Reservation checked in: {}", id);
         return ReservationDto.from(reservation);
     }
-}
 
+    private void checkBookable(ClassSession session) {
+        if (!session.hasAvailableSpots()) {
+            throw new BusinessException("Session is fully booked", "SESSION_FULL");
+        }
+
+        if (session.getStatus() != ClassSession.SessionStatus.SCHEDULED) {
+            throw new BusinessException("Session is not available for booking", "SESSION_UNAVAILABLE");
+        }
+    }
+
+    /**
+     * Applies the club's overlap policy against the member's other bookings and any
+     * sessions already accepted earlier in the same request. Returns a warning, or null.
+     * Under REJECT a miss in the index is confirmed against the table while holding the member's booking lock,
+     * since the index is per node and only learns of bookings once they commit.
+     */
+    private String checkOverlap(Long userId, ClassSession session, IntervalIndex<Long> pending) {
+        Club.OverlapPolicy policy = session.getClub().getOverlapPolicy();
+        if (policy == Club.OverlapPolicy.ALLOW) {
+            return null;
+        }
+
+        long start = BookingOverlapIndex.startOf(session);
+        long end = BookingOverlapIndex.endOf(session);
+        List<Long> overlapping = new ArrayList<>(overlapIndex.findOverlaps(userId, session));
+        overlapping.addAll(pending.overlapping(start, end));
+        if (overlapping.isEmpty() && policy == Club.OverlapPolicy.REJECT) {
+            overlapping.addAll(findOverlappingBookings(userId, session, start, end));
+        }
+        if (overlapping.isEmpty()) {
+            return null;
+        }
+
+        String message = "Session overlaps your booking for session(s) " + overlapping;
+        if (policy == Club.OverlapPolicy.REJECT) {
+            throw new ConflictException(message, "BOOKING_OVERLAP");
+        }
+        return message;
+    }
+
+    /**
+     * Locks the member's bookings until commit, so a concurrent booking on any node waits for this one, then reads
+     * their active slots of the day before through the day after with one indexed query.
+     */
+    private List<Long> findOverlappingBookings(Long userId, ClassSession session, long start, long end) {
+        reservationRepository.lockUserBookings(userId);
+        LocalDate date = session.getSessionDate();
+        return reservationRepository.findActiveSlotsByUserBetween(userId, date.minusDays(1), date.plusDays(1))
+                .stream()
+                .filter(slot -> SessionTimes.startMinutes(slot.getSessionDate(), slot.getStartTime()) < end
+                        && start < SessionTimes.endMinutes(
+                                slot.getSessionDate(), slot.getStartTime(), slot.getEndTime()))
+                .map(BookedSlotView::getSessionId)
+                .toList();
+    }
+
+    private List<Long> resolveBatchSessionIds(BatchReservationRequest request) {
+        boolean hasList = request.getSessionIds() != null && !request.getSessionIds().isEmpty();
+        boolean hasSeries = request.getSeriesSessionId() != null;
+        if (hasList == hasSeries) {
+            throw new BusinessException("Provide either sessionIds or seriesSessionId", "INVALID_BATCH_REQUEST");
+        }
+
+        if (hasList) {
+            return request.getSessionIds().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted()
+                    .toList();
+        }
+
+        SessionSlotView slot = sessionRepository.findSlotById(request.getSeriesSessionId())
+                .orElseThrow(() -> new ResourceNotFoundException("ClassSession", request.getSeriesSessionId()));
+        int weeks = request.getWeeks() != null ? request.getWeeks() : 1;
+        List<LocalDate> dates = IntStream.range(0, weeks)
+                .mapToObj(week -> slot.getSessionDate().plusWeeks(week))
+                .toList();
+
+        return sessionRepository.findSeriesSessionIds(
+                        slot.getActivityId(), slot.getClubId(), slot.getStartTime(), dates).stream()
+                .sorted()
+                .toList();
+    }
+}
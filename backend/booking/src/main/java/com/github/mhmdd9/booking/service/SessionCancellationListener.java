@@ -0,0 +1,88 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.repository.SessionCancellationRepository;
+import com.github.mhmdd9.booking.repository.SessionCancellationRepository.CancelledReservation;
+import com.github.mhmdd9.club.event.ClassSessionCancelledEvent;
+import com.github.mhmdd9.common.notification.Notification;
+import com.github.mhmdd9.common.notification.NotificationDispatcher;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cascades a class session cancellation to its reservations, payments and waitlist
+ * in the cancelling transaction, then notifies the affected members once it commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionCancellationListener {
+
+    private static final String CANCELLATION_REASON = "Session cancelled by the club";
+
+    private final SessionCancellationRepository cancellationRepository;
+    private final BookingOverlapIndex overlapIndex;
+    private final NotificationDispatcher notificationDispatcher;
+    private final CheckInService checkInService;
+    private final CheckInPassService checkInPassService;
+    private final LiveUpdateService liveUpdates;
+    private final AnalyticsRollupService analyticsRollups;
+    private final ReservationReminderService reminders;
+
+    @EventListener
+    public void onSessionCancelled(ClassSessionCancelledEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Long sessionId = event.getSessionId();
+
+        Set<Long> refunded = cancellationRepository.markPaymentsForRefund(sessionId, now);
+        List<CancelledReservation> cancelled = cancellationRepository.cancelReservations(sessionId, CANCELLATION_REASON, now);
+        List<Long> waitlisted = cancellationRepository.expireWaitlist(sessionId);
+
+        log.info("Session {} cancelled: {} reservations cancelled, {} payments marked for refund, {} waitlist entries expired",
+                sessionId, cancelled.size(), refunded.size(), waitlisted.size());
+        liveUpdates.sessionChanged(sessionId, event.getClubId(), event.getSessionDate(), 0, 0, "CANCELLED");
+        if (!cancelled.isEmpty()) {
+            analyticsRollups.cancellationsAfterCommit(event.getClubId(), now, cancelled.size());
+        }
+
+        long passValidUntil = checkInPassService.validUntil(
+                event.getSessionDate(), event.getStartTime(), event.getEndTime());
+        String slot = event.getActivityName() + " on " + event.getSessionDate() + " at " + event.getStartTime();
+        List<Notification> notifications = new ArrayList<>(cancelled.size() + waitlisted.size());
+        for (CancelledReservation reservation : cancelled) {
+            overlapIndex.removeAfterCommit(reservation.getUserId(), sessionId);
+            checkInService.revokeAfterCommit(reservation.getReservationId(), passValidUntil);
+            reminders.cancelAfterCommit(reservation.getReservationId());
+            if (!refunded.contains(reservation.getReservationId())) {
+                liveUpdates.pendingPaymentRemoved(event.getClubId(), reservation.getReservationId());
+            }
+            notifications.add(Notification.builder()
+                    .userId(reservation.getUserId())
+                    .type("SESSION_CANCELLED")
+                    .title("Class cancelled")
+                    .message("Your class " + slot + " has been cancelled."
+                            + (refunded.contains(reservation.getReservationId())
+                                    ? " Your payment will be refunded." : ""))
+                    .build());
+        }
+        for (Long userId : waitlisted) {
+            notifications.add(Notification.builder()
+                    .userId(userId)
+                    .type("SESSION_CANCELLED")
+                    .title("Class cancelled")
+                    .message("The class " + slot + " you were waitlisted for has been cancelled.")
+                    .build());
+        }
+
+        if (!notifications.isEmpty()) {
+            TransactionHooks.afterCommit(() -> notificationDispatcher.dispatch(notifications));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.dto.CheckInPassDto;
+import com.github.mhmdd9.booking.entity.Reservation;
+import com.github.mhmdd9.booking.repository.ReservationRepository;
+import com.github.mhmdd9.booking.service.CheckInPassService.CheckInPass;
+import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.repository.ClassSessionRepository;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CheckInPassServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "test-secret-of-at-least-32-bytes!".getBytes(StandardCharsets.UTF_8));
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final ClassSessionRepository sessionRepository = mock(ClassSessionRepository.class);
+    private final CheckInPassService passService = newService(SECRET);
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        reservation = Reservation.builder()
+                .userId(7L)
+                .sessionId(3L)
+                .clubId(5L)
+                .status(Reservation.ReservationStatus.PAID)
+                .build();
+        reservation.setId(11L);
+        ClassSession session = ClassSession.builder()
+                .sessionDate(DATE)
+                .startTime(LocalTime.of(18, 0))
+                .endTime(LocalTime.of(19, 0))
+                .build();
+        session.setId(3L);
+
+        when(reservationRepository.findById(11L)).thenReturn(Optional.of(reservation));
+        when(sessionRepository.findById(3L)).thenReturn(Optional.of(session));
+    }
+
+    @Test
+    void issuedPassVerifiesToItsReservation() {
+        CheckInPassDto issued = passService.issuePass(11L, 7L);
+
+        CheckInPass pass = passService.verify(issued.getPass());
+
+        assertThat(pass.getReservationId()).isEqualTo(11L);
+        assertThat(pass.getSessionId()).isEqualTo(3L);
+        assertThat(pass.getUserId()).isEqualTo(7L);
+        assertThat(pass.getClubId()).isEqualTo(5L);
+        assertThat(pass.getValidFrom()).isEqualTo(epochSecond(DATE.atTime(17, 0)));
+        assertThat(pass.getValidUntil()).isEqualTo(epochSecond(DATE.atTime(19, 15)));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String pass = passService.issuePass(11L, 7L).getPass();
+        String payload = new String(Base64.getUrlDecoder().decode(pass.substring(0, pass.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.replace("|7|", "|8|").getBytes(StandardCharsets.UTF_8));
+
+        assertInvalid(forged + pass.substring(pass.indexOf('.')));
+    }
+
+    @Test
+    void rejectsPassSignedWithAnotherSecret() {
+        String other = Base64.getEncoder().encodeToString(
+                "another-secret-of-32-bytes-long!!".getBytes(StandardCharsets.UTF_8));
+        String pass = newService(other).issuePass(11L, 7L).getPass();
+
+        assertInvalid(pass);
+    }
+
+    @Test
+    void rejectsMalformedPasses() {
+        assertInvalid("");
+        assertInvalid("no-dot");
+        assertInvalid(".signature");
+        assertInvalid("a.b.c");
+        assertInvalid("!!!.???");
+    }
+
+    @Test
+    void issuesOnlyToTheOwnerOfAPaidReservation() {
+        assertThatThrownBy(() -> passService.issuePass(11L, 8L)).isInstanceOf(ForbiddenException.class);
+
+        reservation.setStatus(Reservation.ReservationStatus.PENDING_PAYMENT);
+        assertThatThrownBy(() -> passService.issuePass(11L, 7L))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("RESERVATION_NOT_PAID");
+    }
+
+    private CheckInPassService newService(String secret) {
+        return new CheckInPassService(reservationRepository, sessionRepository, secret, 3600, 900);
+    }
+
+    private void assertInvalid(String pass) {
+        assertThatThrownBy(() -> passService.verify(pass))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_PASS");
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.entity.EntryLog;
+import com.github.mhmdd9.booking.repository.EntryLogBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntryLogIngestionServiceTest {
+
+    private final EntryLogBatchRepository repository = mock(EntryLogBatchRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EntryLogIngestionService ingestion = new EntryLogIngestionService(repository,
+            mock(OccupancyService.class), mock(AnalyticsRollupService.class), transactionManager, meterRegistry,
+            100, 10, 24, 5);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void exitIsHeldBackWhileItsEntryWaitsForRetry() {
+        RuntimeException failure = new RuntimeException("database unavailable");
+        // The batch and the row-by-row write both fail on the first flush
+        doThrow(failure).doThrow(failure).doNothing().when(repository).insertAll(anyList());
+
+        ingestion.recordEntry(7L, 5L, null, EntryLog.EntryType.CLASS, null, null);
+        ingestion.recordExit(7L, 5L);
+        ingestion.recordExit(8L, 5L);
+        ingestion.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EntryLog>> written = ArgumentCaptor.forClass(List.class);
+        verify(repository).closeVisits(written.capture(), anyLong());
+        assertThat(written.getValue()).extracting(EntryLog::getUserId).containsExactly(8L);
+
+        ingestion.flush();
+
+        // The retried entry is written first, then the exit that closes it
+        InOrder order = inOrder(repository);
+        order.verify(repository, times(3)).insertAll(anyList());
+        order.verify(repository).closeVisits(written.capture(), anyLong());
+        assertThat(written.getValue()).extracting(EntryLog::getUserId).containsExactly(7L);
+    }
+
+    @Test
+    void exitIsNotHeldBackForAnotherClub() {
+        RuntimeException failure = new RuntimeException("database unavailable");
+        doThrow(failure).when(repository).insertAll(anyList());
+
+        ingestion.recordEntry(7L, 5L, null, EntryLog.EntryType.CLASS, null, null);
+        ingestion.recordExit(7L, 6L);
+        ingestion.flush();
+
+        verify(repository).closeVisits(anyList(), anyLong());
+    }
+
+    @Test
+    void unmatchedExitIsCounted() {
+        when(repository.closeVisits(anyList(), anyLong())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ingestion.recordExit(7L, 5L);
+        ingestion.flush();
+
+        assertThat(meterRegistry.counter("entry_logs.unmatched_exits").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("entry_logs.write_failures").count()).isZero();
+    }
+
+    @Test
+    void nothingIsClosedWhenOnlyHeldExitsAreBuffered() {
+        doThrow(new RuntimeException("database unavailable")).when(repository).insertAll(anyList());
+
+        ingestion.recordEntry(7L, 5L, null, EntryLog.EntryType.CLASS, null, null);
+        ingestion.recordExit(7L, 5L);
+        ingestion.flush();
+
+        verify(repository, never()).closeVisits(anyList(), anyLong());
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.mhmdd9.booking.service;
+
+import com.github.mhmdd9.booking.repository.ReminderQueryRepository;
+import com.github.mhmdd9.booking.repository.ReminderQueryRepository.UpcomingReservation;
+import com.github.mhmdd9.common.notification.Notification;
+import com.github.mhmdd9.common.notification.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReservationReminderServiceTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private final ReminderQueryRepository repository = mock(ReminderQueryRepository.class);
+    private final NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+
+    @Test
+    void sendsOnlyTheRemindersItClaims() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        // Booked well before the reminder time, which has passed while the class has not started yet
+        when(repository.findUpcoming(any(), anyLong(), any(), anyInt())).thenReturn(List.of(
+                new UpcomingReservation(1L, 11L, now.minusDays(1), now.plusMinutes(30), "Yoga", "Central"),
+                new UpcomingReservation(2L, 12L, now.minusDays(1), now.plusMinutes(30), "Yoga", "Central")));
+        when(repository.claimReminders(anyList(), any())).thenReturn(List.of(2L));
+
+        ReservationReminderService reminders = reminders(true);
+        reminders.start();
+        Thread.sleep(5 * TICK_MILLIS);
+        reminders.fire();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> sent = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher).dispatch(sent.capture());
+        assertThat(sent.getValue()).extracting(Notification::getUserId).containsExactly(12L);
+    }
+
+    @Test
+    void bookingAfterItsReminderTimeGetsNone() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findUpcoming(any(), anyLong(), any(), anyInt())).thenReturn(List.of(
+                new UpcomingReservation(1L, 11L, now.minusMinutes(5), now.plusMinutes(30), "Yoga", "Central")));
+
+        ReservationReminderService reminders = reminders(true);
+        reminders.start();
+        Thread.sleep(5 * TICK_MILLIS);
+        reminders.fire();
+
+        verify(repository, never()).claimReminders(anyList(), any());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void loadsNothingWhenDisabled() {
+        ReservationReminderService reminders = reminders(false);
+        reminders.start();
+        reminders.load();
+
+        verifyNoInteractions(repository);
+    }
+
+    private ReservationReminderService reminders(boolean enabled) {
+        return new ReservationReminderService(repository, dispatcher, new SimpleMeterRegistry(), enabled,
+                120, 360, TICK_MILLIS, 1000, 100);
+    }
+}
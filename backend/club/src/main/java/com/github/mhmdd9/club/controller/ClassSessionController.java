@@ -2,6 +2,7 @@ package com.github.mhmdd9.club.controller;
 
 import com.github.mhmdd9.club.dto.ClassSessionDto;
 import com.github.mhmdd9.club.dto.CreateClassSessionRequest;
+import com.github.mhmdd9.club.dto.TrainerDto;
 import com.github.mhmdd9.club.service.ClassSessionService;
 import com.github.mhmdd9.common.dto.ApiResponse;
 import jakarta.validation.Valid;
@@ -10,9 +11,11 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -45,12 +48,26 @@ public class ClassSessionController {
      * Get all sessions for a club (staff management - includes all statuses).
      */
     @GetMapping("/club/{clubId}/manage")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'TRAINER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'TRAINER') and @clubAccessService.isMember(authentication, #clubId)")
     public ResponseEntity<ApiResponse<List<ClassSessionDto>>> getClubSessionsForManagement(@PathVariable Long clubId) {
         List<ClassSessionDto> sessions = sessionService.getAllSessionsForManagement(clubId);
         return ResponseEntity.ok(ApiResponse.success(sessions));
     }
 
+    /**
+     * Get the club's trainers who are free for a slot (staff roles only: admin, owner, manager, trainer).
+     */
+    @GetMapping("/club/{clubId}/free-trainers")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'TRAINER') and @clubAccessService.isMember(authentication, #clubId)")
+    public ResponseEntity<ApiResponse<List<TrainerDto>>> getFreeTrainers(
+            @PathVariable Long clubId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime) {
+        List<TrainerDto> trainers = sessionService.getFreeTrainers(clubId, date, startTime, endTime);
+        return ResponseEntity.ok(ApiResponse.success(trainers));
+    }
+
     /**
      * Get session by ID (public).
      */
@@ -64,7 +81,7 @@ public class ClassSessionController {
      * Create a new class session (staff roles only: admin, owner, manager, trainer).
      */
     @PostMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'TRAINER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER', 'TRAINER') and @clubAccessService.isMember(authentication, #request.clubId)")
     public ResponseEntity<ApiResponse<ClassSessionDto>> createSession(
             @Valid @RequestBody CreateClassSessionRequest request) {
         ClassSessionDto session = sessionService.createSession(request);
@@ -78,8 +95,8 @@ public class ClassSessionController {
      */
     @PostMapping("/{id}/cancel")
     @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
-    public ResponseEntity<ApiResponse<Void>> cancelSession(@PathVariable Long id) {
-        sessionService.cancelSession(id);
+    public ResponseEntity<ApiResponse<Void>> cancelSession(@PathVariable Long id, Authentication authentication) {
+        sessionService.cancelSession(id, authentication);
         return ResponseEntity.ok(ApiResponse.success("Class session cancelled successfully."));
     }
 }
@@ -2,7 +2,9 @@ package com.github.mhmdd9.club.controller;
 
 import com.github.mhmdd9.auth.security.UserPrincipal;
 import com.github.mhmdd9.club.dto.ActivityDto;
+import com.github.mhmdd9.club.dto.AddClubStaffRequest;
 import com.github.mhmdd9.club.dto.ClubDto;
+import com.github.mhmdd9.club.dto.ClubStaffDto;
 import com.github.mhmdd9.club.dto.CreateActivityRequest;
 import com.github.mhmdd9.club.dto.CreateClubRequest;
 import com.github.mhmdd9.club.dto.TrainerDto;
@@ -10,6 +12,7 @@ import com.github.mhmdd9.club.repository.ActivityDefinitionRepository;
 import com.github.mhmdd9.club.repository.TrainerRepository;
 import com.github.mhmdd9.club.service.ActivityService;
 import com.github.mhmdd9.club.service.ClubService;
+import com.github.mhmdd9.club.service.ClubStaffService;
 import com.github.mhmdd9.common.dto.ApiResponse;
 import com.github.mhmdd9.common.dto.PageResponse;
 import jakarta.validation.Valid;
@@ -32,6 +35,7 @@ public class ClubController {
 
     private final ClubService clubService;
     private final ActivityService activityService;
+    private final ClubStaffService staffService;
     private final ActivityDefinitionRepository activityRepository;
     private final TrainerRepository trainerRepository;
 
@@ -121,7 +125,7 @@ public class ClubController {
      * Get all activities for a club (admin - includes inactive).
      */
     @GetMapping("/{id}/activities/all")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #id)")
     public ResponseEntity<ApiResponse<List<ActivityDto>>> getAllClubActivities(@PathVariable Long id) {
         List<ActivityDto> activities = activityService.getAllActivitiesByClub(id);
         return ResponseEntity.ok(ApiResponse.success(activities));
@@ -131,7 +135,7 @@ public class ClubController {
      * Create a new activity for a club.
      */
     @PostMapping("/{id}/activities")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #id)")
     public ResponseEntity<ApiResponse<ActivityDto>> createActivity(
             @PathVariable Long id,
             @Valid @RequestBody CreateActivityRequest request) {
@@ -145,7 +149,7 @@ public class ClubController {
      * Update an activity.
      */
     @PutMapping("/{clubId}/activities/{activityId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
     public ResponseEntity<ApiResponse<ActivityDto>> updateActivity(
             @PathVariable Long clubId,
             @PathVariable Long activityId,
@@ -158,7 +162,7 @@ public class ClubController {
      * Delete (deactivate) an activity.
      */
     @DeleteMapping("/{clubId}/activities/{activityId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
     public ResponseEntity<ApiResponse<Void>> deleteActivity(
             @PathVariable Long clubId,
             @PathVariable Long activityId) {
@@ -170,7 +174,7 @@ public class ClubController {
      * Toggle activity status (active/inactive).
      */
     @PostMapping("/{clubId}/activities/{activityId}/toggle")
-    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER', 'MANAGER') and @clubAccessService.isManager(authentication, #clubId)")
     public ResponseEntity<ApiResponse<ActivityDto>> toggleActivityStatus(
             @PathVariable Long clubId,
             @PathVariable Long activityId) {
@@ -188,5 +192,38 @@ public class ClubController {
                 .toList();
         return ResponseEntity.ok(ApiResponse.success(trainers));
     }
-}
 
+    /**
+     * Get the staff of a club (admin or owner only).
+     */
+    @GetMapping("/{id}/staff")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER') and @clubAccessService.isOwner(authentication, #id)")
+    public ResponseEntity<ApiResponse<List<ClubStaffDto>>> getClubStaff(@PathVariable Long id) {
+        List<ClubStaffDto> staff = staffService.getStaff(id);
+        return ResponseEntity.ok(ApiResponse.success(staff));
+    }
+
+    /**
+     * Add a user to a club's staff, or change their role (admin or owner only).
+     */
+    @PostMapping("/{id}/staff")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER') and @clubAccessService.isOwner(authentication, #id)")
+    public ResponseEntity<ApiResponse<ClubStaffDto>> addClubStaff(
+            @PathVariable Long id,
+            @Valid @RequestBody AddClubStaffRequest request) {
+        ClubStaffDto staff = staffService.addStaff(id, request);
+        return ResponseEntity.ok(ApiResponse.success(staff, "Staff member saved successfully."));
+    }
+
+    /**
+     * Remove a user from a club's staff (admin or owner only).
+     */
+    @DeleteMapping("/{id}/staff/{userId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GYM_OWNER') and @clubAccessService.isOwner(authentication, #id)")
+    public ResponseEntity<ApiResponse<Void>> removeClubStaff(
+            @PathVariable Long id,
+            @PathVariable Long userId) {
+        staffService.removeStaff(id, userId);
+        return ResponseEntity.ok(ApiResponse.success("Staff member removed successfully."));
+    }
+}
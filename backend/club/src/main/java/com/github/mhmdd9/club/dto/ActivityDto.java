@@ -1,6 +1,7 @@
 package com.github.mhmdd9.club.dto;
 
 import com.github.mhmdd9.club.entity.ActivityDefinition;
+import com.github.mhmdd9.club.repository.projection.ActivityListView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -34,4 +35,18 @@ public class ActivityDto {
                 .isActive(activity.getIsActive())
                 .build();
     }
+
+    public static ActivityDto from(ActivityListView activity) {
+        return ActivityDto.builder()
+                .id(activity.getId())
+                .clubId(activity.getClubId())
+                .name(activity.getName())
+                .description(activity.getDescription())
+                .durationMinutes(activity.getDurationMinutes())
+                .defaultCapacity(activity.getDefaultCapacity())
+                .intensityLevel(activity.getIntensityLevel() != null ? activity.getIntensityLevel().name() : null)
+                .category(activity.getCategory())
+                .isActive(activity.getIsActive())
+                .build();
+    }
 }
@@ -0,0 +1,21 @@
+package com.github.mhmdd9.club.dto;
+
+import com.github.mhmdd9.club.entity.ClubStaff;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddClubStaffRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Role is required")
+    private ClubStaff.StaffRole role;
+}
@@ -1,6 +1,7 @@
 package com.github.mhmdd9.club.dto;
 
 import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.repository.projection.SessionListView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -47,5 +48,26 @@ public class ClassSessionDto {
                 .status(session.getStatus().name())
                 .build();
     }
+
+    public static ClassSessionDto from(SessionListView session) {
+        return ClassSessionDto.builder()
+                .id(session.getId())
+                .activityId(session.getActivityId())
+                .activityName(session.getActivityName())
+                .trainerId(session.getTrainerId())
+                .trainerName(session.getTrainerId() != null
+                        ? session.getTrainerFirstName() + " " + session.getTrainerLastName()
+                        : null)
+                .clubId(session.getClubId())
+                .clubName(session.getClubName())
+                .sessionDate(session.getSessionDate())
+                .startTime(session.getStartTime())
+                .endTime(session.getEndTime())
+                .capacity(session.getCapacity())
+                .bookedCount(session.getBookedCount())
+                .availableSpots(session.getCapacity() - session.getBookedCount())
+                .status(session.getStatus().name())
+                .build();
+    }
 }
 
@@ -1,6 +1,7 @@
 package com.github.mhmdd9.club.dto;
 
 import com.github.mhmdd9.club.entity.Club;
+import com.github.mhmdd9.club.repository.projection.ClubListView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -27,6 +28,8 @@ public class ClubDto {
     private Boolean isActive;
     private LocalTime openingTime;
     private LocalTime closingTime;
+    private Integer floorCapacity;
+    private String overlapPolicy;
 
     public static ClubDto from(Club club) {
         return ClubDto.builder()
@@ -43,6 +46,28 @@ public class ClubDto {
                 .isActive(club.getIsActive())
                 .openingTime(club.getOpeningTime())
                 .closingTime(club.getClosingTime())
+                .floorCapacity(club.getFloorCapacity())
+                .overlapPolicy(club.getOverlapPolicy().name())
+                .build();
+    }
+
+    public static ClubDto from(ClubListView club) {
+        return ClubDto.builder()
+                .id(club.getId())
+                .ownerId(club.getOwnerId())
+                .name(club.getName())
+                .description(club.getDescription())
+                .address(club.getAddress())
+                .city(club.getCity())
+                .phoneNumber(club.getPhoneNumber())
+                .email(club.getEmail())
+                .latitude(club.getLatitude())
+                .longitude(club.getLongitude())
+                .isActive(club.getIsActive())
+                .openingTime(club.getOpeningTime())
+                .closingTime(club.getClosingTime())
+                .floorCapacity(club.getFloorCapacity())
+                .overlapPolicy(club.getOverlapPolicy().name())
                 .build();
     }
 }
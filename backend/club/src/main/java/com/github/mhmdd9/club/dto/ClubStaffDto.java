@@ -0,0 +1,31 @@
+package com.github.mhmdd9.club.dto;
+
+import com.github.mhmdd9.club.entity.ClubStaff;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubStaffDto {
+    private Long id;
+    private Long clubId;
+    private Long userId;
+    private String role;
+    private LocalDateTime createdAt;
+
+    public static ClubStaffDto from(ClubStaff staff) {
+        return ClubStaffDto.builder()
+                .id(staff.getId())
+                .clubId(staff.getClubId())
+                .userId(staff.getUserId())
+                .role(staff.getRole().name())
+                .createdAt(staff.getCreatedAt())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.mhmdd9.club.dto;
 
+import com.github.mhmdd9.club.entity.Club;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -37,5 +39,10 @@ public class CreateClubRequest {
     private BigDecimal longitude;
     private LocalTime openingTime;
     private LocalTime closingTime;
+
+    @Min(value = 1, message = "Floor capacity must be at least 1")
+    private Integer floorCapacity;
+
+    private Club.OverlapPolicy overlapPolicy;
 }
 
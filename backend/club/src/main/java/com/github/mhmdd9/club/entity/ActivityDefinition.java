@@ -20,6 +20,7 @@ public class ActivityDefinition extends BaseEntity {
     @Column(name = "name", nullable = false)
     private String name;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
@@ -7,6 +7,11 @@ import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+/**
+ * Scheduled instance of an activity. The table is range-partitioned by month on session_date with primary key
+ * (id, session_date); id alone stays unique since it comes from a single sequence, and session_date is never
+ * changed after creation, so a session stays in its partition.
+ */
 @Entity
 @Table(name = "class_sessions")
 @Getter
@@ -49,6 +54,7 @@ public class ClassSession extends VersionedEntity {
     @Builder.Default
     private SessionStatus status = SessionStatus.SCHEDULED;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
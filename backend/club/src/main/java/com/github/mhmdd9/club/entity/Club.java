@@ -22,9 +22,11 @@ public class Club extends BaseEntity {
     @Column(name = "name", nullable = false)
     private String name;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "address", nullable = false, columnDefinition = "TEXT")
     private String address;
 
@@ -52,5 +54,25 @@ public class Club extends BaseEntity {
 
     @Column(name = "closing_time")
     private LocalTime closingTime;
+
+    /**
+     * Maximum number of people on the gym floor at once; null means unlimited.
+     */
+    @Column(name = "floor_capacity")
+    private Integer floorCapacity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "overlap_policy", nullable = false, length = 20)
+    @Builder.Default
+    private OverlapPolicy overlapPolicy = OverlapPolicy.WARN;
+
+    /**
+     * What to do when a member books a session overlapping one of their other bookings.
+     */
+    public enum OverlapPolicy {
+        ALLOW,
+        WARN,
+        REJECT
+    }
 }
 
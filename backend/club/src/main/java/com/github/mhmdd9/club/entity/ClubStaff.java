@@ -0,0 +1,50 @@
+package com.github.mhmdd9.club.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user working at a club, with the role they hold there.
+ * Club-scoped authorization reads these through {@code ClubAccessService}.
+ */
+@Entity
+@Table(name = "club_staff")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClubStaff {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false, length = 50)
+    private StaffRole role;
+
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public enum StaffRole {
+        // Highest first. Owners are recorded on the club itself, never as staff rows
+        OWNER,
+        MANAGER,
+        RECEPTIONIST,
+        TRAINER
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.mhmdd9.club.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published inside the cancelling transaction, so listeners can cascade in the same unit of work.
+ */
+@Getter
+@AllArgsConstructor
+public class ClassSessionCancelledEvent {
+    private final Long sessionId;
+    private final Long clubId;
+    private final String activityName;
+    private final LocalDate sessionDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+}
@@ -0,0 +1,41 @@
+package com.github.mhmdd9.club.job;
+
+import com.github.mhmdd9.common.partition.MonthlyPartitionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps class_sessions partitions created ahead of the furthest month clubs usually schedule.
+ * Past months are detached by the reservation archive job once nothing refers to their sessions.
+ */
+@Slf4j
+@Component
+public class ClassSessionPartitionJob {
+
+    private static final String TABLE = "class_sessions";
+
+    private final MonthlyPartitionManager partitionManager;
+    private final int monthsAhead;
+
+    public ClassSessionPartitionJob(
+            MonthlyPartitionManager partitionManager,
+            @Value("${schedule.partitions-ahead:12}") int monthsAhead) {
+        this.partitionManager = partitionManager;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${schedule.partition-cron:0 40 3 * * *}")
+    public void maintainPartitions() {
+        int created = partitionManager.ensurePartitions(TABLE, YearMonth.now(), monthsAhead);
+        if (created > 0) {
+            log.info("class_sessions partitions: {} created", created);
+        }
+    }
+}
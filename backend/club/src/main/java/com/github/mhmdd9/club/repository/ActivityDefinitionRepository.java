@@ -1,7 +1,10 @@
 package com.github.mhmdd9.club.repository;
 
 import com.github.mhmdd9.club.entity.ActivityDefinition;
+import com.github.mhmdd9.club.repository.projection.ActivityListView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,12 +12,20 @@ import java.util.List;
 @Repository
 public interface ActivityDefinitionRepository extends JpaRepository<ActivityDefinition, Long> {
 
-    List<ActivityDefinition> findByClubIdAndIsActiveTrue(Long clubId);
+    @Query("SELECT a.id AS id, a.club.id AS clubId, a.name AS name, a.description AS description, " +
+           "a.durationMinutes AS durationMinutes, a.defaultCapacity AS defaultCapacity, " +
+           "a.intensityLevel AS intensityLevel, a.category AS category, a.isActive AS isActive " +
+           "FROM ActivityDefinition a WHERE a.club.id = :clubId AND a.isActive = true")
+    List<ActivityListView> findByClubIdAndIsActiveTrue(@Param("clubId") Long clubId);
 
     List<ActivityDefinition> findByClubIdAndCategoryAndIsActiveTrue(Long clubId, String category);
 
     List<ActivityDefinition> findByCategoryAndIsActiveTrue(String category);
 
-    List<ActivityDefinition> findAllByClubId(Long clubId);
+    @Query("SELECT a.id AS id, a.club.id AS clubId, a.name AS name, a.description AS description, " +
+           "a.durationMinutes AS durationMinutes, a.defaultCapacity AS defaultCapacity, " +
+           "a.intensityLevel AS intensityLevel, a.category AS category, a.isActive AS isActive " +
+           "FROM ActivityDefinition a WHERE a.club.id = :clubId")
+    List<ActivityListView> findAllByClubId(@Param("clubId") Long clubId);
 }
 
@@ -1,6 +1,9 @@
 package com.github.mhmdd9.club.repository;
 
 import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.repository.projection.SessionListView;
+import com.github.mhmdd9.club.repository.projection.SessionSlotView;
+import com.github.mhmdd9.club.repository.projection.TrainerSlotView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +14,8 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +26,32 @@ public interface ClassSessionRepository extends JpaRepository<ClassSession, Long
     @Query("SELECT cs FROM ClassSession cs WHERE cs.id = :id")
     Optional<ClassSession> findByIdWithLock(@Param("id") Long id);
 
+    /**
+     * Locks the given sessions in id order so concurrent multi-session bookings
+     * always acquire seat claims in the same order and cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cs FROM ClassSession cs WHERE cs.id IN :ids ORDER BY cs.id")
+    List<ClassSession> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT cs.activity.id AS activityId, cs.club.id AS clubId, " +
+           "cs.sessionDate AS sessionDate, cs.startTime AS startTime " +
+           "FROM ClassSession cs WHERE cs.id = :id")
+    Optional<SessionSlotView> findSlotById(@Param("id") Long id);
+
+    @Query("SELECT cs.id FROM ClassSession cs " +
+           "WHERE cs.activity.id = :activityId " +
+           "AND cs.club.id = :clubId " +
+           "AND cs.startTime = :startTime " +
+           "AND cs.sessionDate IN :dates " +
+           "ORDER BY cs.sessionDate")
+    List<Long> findSeriesSessionIds(
+            @Param("activityId") Long activityId,
+            @Param("clubId") Long clubId,
+            @Param("startTime") LocalTime startTime,
+            @Param("dates") Collection<LocalDate> dates
+    );
+
     List<ClassSession> findByClubIdAndSessionDateAndStatus(
             Long clubId, 
             LocalDate sessionDate, 
@@ -35,42 +66,75 @@ public interface ClassSessionRepository extends JpaRepository<ClassSession, Long
             Pageable pageable
     );
 
-    @Query("SELECT cs FROM ClassSession cs " +
-           "JOIN FETCH cs.activity " +
-           "LEFT JOIN FETCH cs.trainer " +
+    @Query("SELECT cs.id AS id, a.id AS activityId, a.name AS activityName, " +
+           "t.id AS trainerId, t.firstName AS trainerFirstName, t.lastName AS trainerLastName, " +
+           "c.id AS clubId, c.name AS clubName, cs.sessionDate AS sessionDate, " +
+           "cs.startTime AS startTime, cs.endTime AS endTime, cs.capacity AS capacity, " +
+           "cs.bookedCount AS bookedCount, cs.status AS status " +
+           "FROM ClassSession cs " +
+           "JOIN cs.activity a " +
+           "JOIN cs.club c " +
+           "LEFT JOIN cs.trainer t " +
            "WHERE cs.club.id = :clubId " +
            "AND cs.sessionDate >= :startDate " +
            "AND cs.status = 'SCHEDULED' " +
            "ORDER BY cs.sessionDate, cs.startTime")
-    List<ClassSession> findUpcomingSessionsByClub(
+    List<SessionListView> findUpcomingSessionsByClub(
             @Param("clubId") Long clubId,
             @Param("startDate") LocalDate startDate
     );
 
-    @Query("SELECT cs FROM ClassSession cs " +
-           "JOIN FETCH cs.activity " +
-           "JOIN FETCH cs.club " +
-           "LEFT JOIN FETCH cs.trainer " +
+    @Query("SELECT cs.id AS id, a.id AS activityId, a.name AS activityName, " +
+           "t.id AS trainerId, t.firstName AS trainerFirstName, t.lastName AS trainerLastName, " +
+           "c.id AS clubId, c.name AS clubName, cs.sessionDate AS sessionDate, " +
+           "cs.startTime AS startTime, cs.endTime AS endTime, cs.capacity AS capacity, " +
+           "cs.bookedCount AS bookedCount, cs.status AS status " +
+           "FROM ClassSession cs " +
+           "JOIN cs.activity a " +
+           "JOIN cs.club c " +
+           "LEFT JOIN cs.trainer t " +
            "WHERE cs.sessionDate = :date " +
            "AND cs.status = 'SCHEDULED' " +
            "AND cs.bookedCount < cs.capacity " +
            "ORDER BY cs.startTime")
-    List<ClassSession> findAvailableSessionsByDate(@Param("date") LocalDate date);
+    List<SessionListView> findAvailableSessionsByDate(@Param("date") LocalDate date);
 
-    List<ClassSession> findByTrainerIdAndSessionDateBetween(
-            Long trainerId,
-            LocalDate startDate,
-            LocalDate endDate
+    @Query("SELECT cs.id AS sessionId, cs.trainer.id AS trainerId, cs.sessionDate AS sessionDate, " +
+           "cs.startTime AS startTime, cs.endTime AS endTime " +
+           "FROM ClassSession cs " +
+           "WHERE cs.trainer.id = :trainerId " +
+           "AND cs.status = 'SCHEDULED' " +
+           "AND cs.sessionDate BETWEEN :startDate AND :endDate")
+    List<TrainerSlotView> findScheduledSlotsByTrainer(
+            @Param("trainerId") Long trainerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT cs.id AS sessionId, cs.trainer.id AS trainerId, cs.sessionDate AS sessionDate, " +
+           "cs.startTime AS startTime, cs.endTime AS endTime " +
+           "FROM ClassSession cs " +
+           "WHERE cs.trainer IS NOT NULL " +
+           "AND cs.status = 'SCHEDULED' " +
+           "AND cs.sessionDate BETWEEN :startDate AND :endDate")
+    List<TrainerSlotView> findScheduledTrainerSlots(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 
-    @Query("SELECT cs FROM ClassSession cs " +
-           "JOIN FETCH cs.activity " +
-           "JOIN FETCH cs.club " +
-           "LEFT JOIN FETCH cs.trainer " +
+    @Query("SELECT cs.id AS id, a.id AS activityId, a.name AS activityName, " +
+           "t.id AS trainerId, t.firstName AS trainerFirstName, t.lastName AS trainerLastName, " +
+           "c.id AS clubId, c.name AS clubName, cs.sessionDate AS sessionDate, " +
+           "cs.startTime AS startTime, cs.endTime AS endTime, cs.capacity AS capacity, " +
+           "cs.bookedCount AS bookedCount, cs.status AS status " +
+           "FROM ClassSession cs " +
+           "JOIN cs.activity a " +
+           "JOIN cs.club c " +
+           "LEFT JOIN cs.trainer t " +
            "WHERE cs.club.id = :clubId " +
            "AND cs.sessionDate >= :startDate " +
            "ORDER BY cs.sessionDate, cs.startTime")
-    List<ClassSession> findAllSessionsByClub(
+    List<SessionListView> findAllSessionsByClub(
             @Param("clubId") Long clubId,
             @Param("startDate") LocalDate startDate
     );
@@ -1,6 +1,8 @@
 package com.github.mhmdd9.club.repository;
 
 import com.github.mhmdd9.club.entity.Club;
+import com.github.mhmdd9.club.repository.projection.ClubCapacityView;
+import com.github.mhmdd9.club.repository.projection.ClubListView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,15 +15,31 @@ import java.util.List;
 @Repository
 public interface ClubRepository extends JpaRepository<Club, Long> {
 
-    List<Club> findByOwnerId(Long ownerId);
-
-    Page<Club> findByIsActiveTrue(Pageable pageable);
+    @Query("SELECT c.id AS id, c.ownerId AS ownerId, c.name AS name, c.description AS description, " +
+           "c.address AS address, c.city AS city, c.phoneNumber AS phoneNumber, c.email AS email, " +
+           "c.latitude AS latitude, c.longitude AS longitude, c.isActive AS isActive, " +
+           "c.openingTime AS openingTime, c.closingTime AS closingTime, " +
+           "c.floorCapacity AS floorCapacity, c.overlapPolicy AS overlapPolicy " +
+           "FROM Club c WHERE c.ownerId = :ownerId")
+    List<ClubListView> findByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(value = "SELECT c.id AS id, c.ownerId AS ownerId, c.name AS name, c.description AS description, " +
+                   "c.address AS address, c.city AS city, c.phoneNumber AS phoneNumber, c.email AS email, " +
+                   "c.latitude AS latitude, c.longitude AS longitude, c.isActive AS isActive, " +
+                   "c.openingTime AS openingTime, c.closingTime AS closingTime, " +
+                   "c.floorCapacity AS floorCapacity, c.overlapPolicy AS overlapPolicy " +
+                   "FROM Club c WHERE c.isActive = true",
+           countQuery = "SELECT COUNT(c) FROM Club c WHERE c.isActive = true")
+    Page<ClubListView> findByIsActiveTrue(Pageable pageable);
 
     Page<Club> findByCityAndIsActiveTrue(String city, Pageable pageable);
 
     @Query("SELECT DISTINCT c.city FROM Club c WHERE c.isActive = true ORDER BY c.city")
     List<String> findDistinctCities();
 
+    @Query("SELECT c.id AS clubId, c.floorCapacity AS floorCapacity FROM Club c WHERE c.floorCapacity IS NOT NULL")
+    List<ClubCapacityView> findFloorCapacities();
+
     @Query("SELECT c FROM Club c WHERE c.isActive = true AND " +
            "(LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(c.city) LIKE LOWER(CONCAT('%', :query, '%')))")
@@ -0,0 +1,35 @@
+package com.github.mhmdd9.club.repository;
+
+import com.github.mhmdd9.club.entity.ClubStaff;
+import com.github.mhmdd9.club.repository.projection.ClubMembershipView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ClubStaffRepository extends JpaRepository<ClubStaff, Long> {
+
+    List<ClubStaff> findByClubIdAndIsActiveTrueOrderByCreatedAt(Long clubId);
+
+    Optional<ClubStaff> findByClubIdAndUserId(Long clubId, Long userId);
+
+    /**
+     * Every active club the user owns, is staff at or trains at, in one round trip.
+     */
+    @Query(value = "SELECT c.id AS \"clubId\", 'OWNER' AS role FROM clubs c " +
+                   "WHERE c.owner_id = :userId AND c.is_active = true " +
+                   "UNION ALL " +
+                   "SELECT s.club_id AS \"clubId\", s.role AS role FROM club_staff s " +
+                   "JOIN clubs c ON c.id = s.club_id " +
+                   "WHERE s.user_id = :userId AND s.is_active = true AND c.is_active = true " +
+                   "UNION ALL " +
+                   "SELECT t.club_id AS \"clubId\", 'TRAINER' AS role FROM trainers t " +
+                   "JOIN clubs c ON c.id = t.club_id " +
+                   "WHERE t.user_id = :userId AND t.is_active = true AND c.is_active = true",
+           nativeQuery = true)
+    List<ClubMembershipView> findMemberships(@Param("userId") Long userId);
+}
@@ -2,8 +2,12 @@ package com.github.mhmdd9.club.repository;
 
 import com.github.mhmdd9.club.entity.Trainer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +19,12 @@ public interface TrainerRepository extends JpaRepository<Trainer, Long> {
     Optional<Trainer> findByUserId(Long userId);
 
     boolean existsByUserIdAndClubId(Long userId, Long clubId);
+
+    /**
+     * Serializes session creation per trainer, so two overlapping sessions cannot both pass the conflict check.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Trainer t WHERE t.id = :id")
+    Optional<Trainer> findByIdForUpdate(@Param("id") Long id);
 }
 
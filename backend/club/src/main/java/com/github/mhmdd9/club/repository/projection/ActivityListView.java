@@ -0,0 +1,27 @@
+package com.github.mhmdd9.club.repository.projection;
+
+import com.github.mhmdd9.club.entity.ActivityDefinition;
+
+/**
+ * An activity as the activity listings show it, read without loading the entity or its club.
+ */
+public interface ActivityListView {
+
+    Long getId();
+
+    Long getClubId();
+
+    String getName();
+
+    String getDescription();
+
+    Integer getDurationMinutes();
+
+    Integer getDefaultCapacity();
+
+    ActivityDefinition.IntensityLevel getIntensityLevel();
+
+    String getCategory();
+
+    Boolean getIsActive();
+}
@@ -0,0 +1,8 @@
+package com.github.mhmdd9.club.repository.projection;
+
+public interface ClubCapacityView {
+
+    Long getClubId();
+
+    Integer getFloorCapacity();
+}
@@ -0,0 +1,42 @@
+package com.github.mhmdd9.club.repository.projection;
+
+import com.github.mhmdd9.club.entity.Club;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * A club as the club listing shows it, read without loading the entity.
+ */
+public interface ClubListView {
+
+    Long getId();
+
+    Long getOwnerId();
+
+    String getName();
+
+    String getDescription();
+
+    String getAddress();
+
+    String getCity();
+
+    String getPhoneNumber();
+
+    String getEmail();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+
+    Boolean getIsActive();
+
+    LocalTime getOpeningTime();
+
+    LocalTime getClosingTime();
+
+    Integer getFloorCapacity();
+
+    Club.OverlapPolicy getOverlapPolicy();
+}
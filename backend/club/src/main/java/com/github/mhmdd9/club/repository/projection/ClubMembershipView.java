@@ -0,0 +1,11 @@
+package com.github.mhmdd9.club.repository.projection;
+
+/**
+ * A club a user owns or works at, with their role there.
+ */
+public interface ClubMembershipView {
+
+    Long getClubId();
+
+    String getRole();
+}
@@ -0,0 +1,41 @@
+package com.github.mhmdd9.club.repository.projection;
+
+import com.github.mhmdd9.club.entity.ClassSession;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A session as the schedule listings show it, with the names of its activity, trainer and club,
+ * read without loading any of the four entities or their text columns.
+ */
+public interface SessionListView {
+
+    Long getId();
+
+    Long getActivityId();
+
+    String getActivityName();
+
+    Long getTrainerId();
+
+    String getTrainerFirstName();
+
+    String getTrainerLastName();
+
+    Long getClubId();
+
+    String getClubName();
+
+    LocalDate getSessionDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    Integer getCapacity();
+
+    Integer getBookedCount();
+
+    ClassSession.SessionStatus getStatus();
+}
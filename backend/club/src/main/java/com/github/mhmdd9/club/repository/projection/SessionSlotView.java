@@ -0,0 +1,18 @@
+package com.github.mhmdd9.club.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The weekly slot a session occupies, without loading the session entity.
+ */
+public interface SessionSlotView {
+
+    Long getActivityId();
+
+    Long getClubId();
+
+    LocalDate getSessionDate();
+
+    LocalTime getStartTime();
+}
@@ -0,0 +1,20 @@
+package com.github.mhmdd9.club.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The time a trainer is taken by a scheduled session, without loading the session entity.
+ */
+public interface TrainerSlotView {
+
+    Long getSessionId();
+
+    Long getTrainerId();
+
+    LocalDate getSessionDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
@@ -2,22 +2,32 @@ package com.github.mhmdd9.club.service;
 
 import com.github.mhmdd9.club.dto.ClassSessionDto;
 import com.github.mhmdd9.club.dto.CreateClassSessionRequest;
+import com.github.mhmdd9.club.dto.TrainerDto;
 import com.github.mhmdd9.club.entity.ActivityDefinition;
 import com.github.mhmdd9.club.entity.ClassSession;
 import com.github.mhmdd9.club.entity.Club;
 import com.github.mhmdd9.club.entity.Trainer;
+import com.github.mhmdd9.club.event.ClassSessionCancelledEvent;
 import com.github.mhmdd9.club.repository.ActivityDefinitionRepository;
 import com.github.mhmdd9.club.repository.ClassSessionRepository;
 import com.github.mhmdd9.club.repository.ClubRepository;
 import com.github.mhmdd9.club.repository.TrainerRepository;
+import com.github.mhmdd9.club.repository.projection.TrainerSlotView;
 import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ConflictException;
+import com.github.mhmdd9.common.exception.ForbiddenException;
 import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import com.github.mhmdd9.common.util.SessionTimes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +37,9 @@ public class ClassSessionService {
     private final ClubRepository clubRepository;
     private final ActivityDefinitionRepository activityRepository;
     private final TrainerRepository trainerRepository;
+    private final TrainerScheduleIndex scheduleIndex;
+    private final ClubAccessService clubAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ClassSessionDto> getUpcomingSessions(Long clubId) {
@@ -66,12 +79,13 @@ public class ClassSessionService {
 
         Trainer trainer = null;
         if (request.getTrainerId() != null) {
-            trainer = trainerRepository.findById(request.getTrainerId())
+            // Locked so concurrent sessions for the same trainer are checked one after the other
+            trainer = trainerRepository.findByIdForUpdate(request.getTrainerId())
                     .orElseThrow(() -> new ResourceNotFoundException("Trainer", request.getTrainerId()));
         }
 
-        // Validate times
-        if (request.getEndTime().isBefore(request.getStartTime())) {
+        // Validate times; sessions end on the day they start
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
             throw new BusinessException("End time must be after start time", "INVALID_TIME");
         }
 
@@ -88,23 +102,83 @@ public class ClassSessionService {
                 .notes(request.getNotes())
                 .build();
 
+        if (trainer != null) {
+            checkTrainerFree(session);
+        }
+
         session = sessionRepository.save(session);
+        scheduleIndex.addAfterCommit(session);
         return ClassSessionDto.from(session);
     }
 
+    /**
+     * Active trainers of the club with no scheduled session, at any club, overlapping the given slot.
+     */
+    @Transactional(readOnly = true)
+    public List<TrainerDto> getFreeTrainers(Long clubId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new BusinessException("End time must be after start time", "INVALID_TIME");
+        }
+        Set<Long> busy = scheduleIndex.findBusyTrainers(date, startTime, endTime);
+        return trainerRepository.findByClubIdAndIsActiveTrue(clubId).stream()
+                .filter(trainer -> !busy.contains(trainer.getId()))
+                .map(TrainerDto::from)
+                .toList();
+    }
+
     @Transactional
-    public void cancelSession(Long id) {
+    public void cancelSession(Long id, Authentication authentication) {
         ClassSession session = sessionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ClassSession", id));
 
+        if (!clubAccessService.isManager(authentication, session.getClub().getId())) {
+            throw new ForbiddenException("You don't have permission to cancel this session");
+        }
+
         if (session.getStatus() == ClassSession.SessionStatus.CANCELLED) {
             throw new BusinessException("Session is already cancelled", "ALREADY_CANCELLED");
         }
 
         session.setStatus(ClassSession.SessionStatus.CANCELLED);
-        sessionRepository.save(session);
-        
-        // TODO: Notify booked users
+        session.setBookedCount(0);
+        // Flush now so the session row is locked before listeners touch its reservations
+        sessionRepository.saveAndFlush(session);
+        scheduleIndex.removeAfterCommit(session);
+
+        // Reservations, payments, waitlist and notifications are handled by listeners in the booking module
+        eventPublisher.publishEvent(new ClassSessionCancelledEvent(
+                session.getId(),
+                session.getClub().getId(),
+                session.getActivity().getName(),
+                session.getSessionDate(),
+                session.getStartTime(),
+                session.getEndTime()
+        ));
     }
-}
 
+    /**
+     * Rejects the session if its trainer is booked for an overlapping one. A conflict found in the index
+     * needs no query; otherwise the trainer's scheduled slots of the day before through the day after are
+     * read as a projection, one indexed query per create, to catch sessions the index has not seen yet.
+     */
+    private void checkTrainerFree(ClassSession session) {
+        Long trainerId = session.getTrainer().getId();
+        LocalDate date = session.getSessionDate();
+        List<Long> conflicts = scheduleIndex.findConflicts(trainerId, date, session.getStartTime(), session.getEndTime());
+        if (conflicts.isEmpty()) {
+            // The index can lag sessions created on other nodes; under the trainer lock the table is authoritative
+            long start = TrainerScheduleIndex.startOf(session);
+            long end = TrainerScheduleIndex.endOf(session);
+            conflicts = sessionRepository.findScheduledSlotsByTrainer(trainerId, date.minusDays(1), date.plusDays(1))
+                    .stream()
+                    .filter(other -> SessionTimes.startMinutes(other.getSessionDate(), other.getStartTime()) < end
+                            && SessionTimes.endMinutes(other.getSessionDate(), other.getStartTime(), other.getEndTime()) > start)
+                    .map(TrainerSlotView::getSessionId)
+                    .toList();
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ConflictException("Trainer is already scheduled for overlapping session(s) " + conflicts,
+                    "TRAINER_CONFLICT");
+        }
+    }
+}
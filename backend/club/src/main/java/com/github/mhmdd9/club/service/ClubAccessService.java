@@ -0,0 +1,134 @@
+package com.github.mhmdd9.club.service;
+
+import com.github.mhmdd9.auth.security.UserPrincipal;
+import com.github.mhmdd9.club.entity.ClubStaff.StaffRole;
+import com.github.mhmdd9.club.repository.ClubStaffRepository;
+import com.github.mhmdd9.club.repository.projection.ClubMembershipView;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Club-scoped authorization for {@code @PreAuthorize}, e.g. {@code @clubAccessService.isStaff(authentication, #clubId)}.
+ * A user's clubs and their role at each (owner, their {@code club_staff} role, or trainer) are loaded with one
+ * query on first use and cached, so staff requests cost no query of their own. Entries are evicted when ownership or
+ * staff change here, bounded in number, and reloaded after a TTL to pick up changes made on other nodes.
+ * Admins pass every check.
+ */
+@Slf4j
+@Service
+public class ClubAccessService {
+
+    private static final Set<StaffRole> MANAGERS = EnumSet.of(StaffRole.OWNER, StaffRole.MANAGER);
+    private static final Set<StaffRole> FRONT_DESK = EnumSet.of(StaffRole.OWNER, StaffRole.MANAGER, StaffRole.RECEPTIONIST);
+
+    private final ClubStaffRepository staffRepository;
+    private final long ttlMillis;
+    private final Map<Long, Entry> cache;
+
+    public ClubAccessService(
+            ClubStaffRepository staffRepository,
+            @Value("${club-access.ttl:300}") long ttlSeconds,
+            @Value("${club-access.cache-size:10000}") int cacheSize) {
+        this.staffRepository = staffRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Owner of the club.
+     */
+    public boolean isOwner(Authentication authentication, Long clubId) {
+        return hasRole(authentication, clubId, EnumSet.of(StaffRole.OWNER));
+    }
+
+    /**
+     * Owner or manager of the club.
+     */
+    public boolean isManager(Authentication authentication, Long clubId) {
+        return hasRole(authentication, clubId, MANAGERS);
+    }
+
+    /**
+     * Owner, manager or receptionist of the club.
+     */
+    public boolean isStaff(Authentication authentication, Long clubId) {
+        return hasRole(authentication, clubId, FRONT_DESK);
+    }
+
+    /**
+     * Holds any role at the club, trainers included.
+     */
+    public boolean isMember(Authentication authentication, Long clubId) {
+        return hasRole(authentication, clubId, EnumSet.allOf(StaffRole.class));
+    }
+
+    public boolean isMember(Long userId, Long clubId) {
+        return getMemberships(userId).containsKey(clubId);
+    }
+
+    /**
+     * The user's role at each club they own or work at.
+     */
+    public Map<Long, StaffRole> getMemberships(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            return entry.roles;
+        }
+
+        Map<Long, StaffRole> roles = new HashMap<>();
+        for (ClubMembershipView membership : staffRepository.findMemberships(userId)) {
+            // A user listed more than once at a club keeps the highest role, roles being declared highest first
+            roles.merge(membership.getClubId(), StaffRole.valueOf(membership.getRole()),
+                    (a, b) -> a.ordinal() <= b.ordinal() ? a : b);
+        }
+        Map<Long, StaffRole> memberships = Collections.unmodifiableMap(roles);
+        cache.put(userId, new Entry(memberships, now));
+        log.debug("Loaded club memberships for user {}: {}", userId, memberships);
+        return memberships;
+    }
+
+    public void evictAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> cache.remove(userId));
+    }
+
+    /**
+     * Drops every entry, for changes such as deactivating a club that affect all of its staff.
+     */
+    public void evictAllAfterCommit() {
+        TransactionHooks.afterCommit(cache::clear);
+    }
+
+    private boolean hasRole(Authentication authentication, Long clubId, Set<StaffRole> allowed) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return false;
+        }
+        if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            return true;
+        }
+        StaffRole role = getMemberships(principal.getId()).get(clubId);
+        return role != null && allowed.contains(role);
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final Map<Long, StaffRole> roles;
+        private final long loadedAt;
+    }
+}
@@ -4,6 +4,7 @@ import com.github.mhmdd9.club.dto.ClubDto;
 import com.github.mhmdd9.club.dto.CreateClubRequest;
 import com.github.mhmdd9.club.entity.Club;
 import com.github.mhmdd9.club.repository.ClubRepository;
+import com.github.mhmdd9.club.repository.projection.ClubListView;
 import com.github.mhmdd9.common.dto.PageResponse;
 import com.github.mhmdd9.common.exception.ForbiddenException;
 import com.github.mhmdd9.common.exception.ResourceNotFoundException;
@@ -20,10 +21,11 @@ import java.util.List;
 public class ClubService {
 
     private final ClubRepository clubRepository;
+    private final ClubAccessService clubAccess;
 
     @Transactional(readOnly = true)
     public PageResponse<ClubDto> getAllClubs(Pageable pageable) {
-        Page<Club> clubs = clubRepository.findByIsActiveTrue(pageable);
+        Page<ClubListView> clubs = clubRepository.findByIsActiveTrue(pageable);
         return PageResponse.from(clubs, clubs.getContent().stream()
                 .map(ClubDto::from)
                 .toList());
@@ -57,10 +59,15 @@ public class ClubService {
                 .longitude(request.getLongitude())
                 .openingTime(request.getOpeningTime())
                 .closingTime(request.getClosingTime())
+                .floorCapacity(request.getFloorCapacity())
+                .overlapPolicy(request.getOverlapPolicy() != null
+                        ? request.getOverlapPolicy()
+                        : Club.OverlapPolicy.WARN)
                 .isActive(true)
                 .build();
 
         club = clubRepository.save(club);
+        clubAccess.evictAfterCommit(ownerId);
         return ClubDto.from(club);
     }
 
@@ -84,6 +91,10 @@ public class ClubService {
         club.setLongitude(request.getLongitude());
         club.setOpeningTime(request.getOpeningTime());
         club.setClosingTime(request.getClosingTime());
+        club.setFloorCapacity(request.getFloorCapacity());
+        if (request.getOverlapPolicy() != null) {
+            club.setOverlapPolicy(request.getOverlapPolicy());
+        }
 
         club = clubRepository.save(club);
         return ClubDto.from(club);
@@ -102,14 +113,11 @@ public class ClubService {
         // Soft delete
         club.setIsActive(false);
         clubRepository.save(club);
+        // Owner and staff lose access to the club
+        clubAccess.evictAllAfterCommit();
     }
 
-    @Transactional(readOnly = true)
     public boolean isClubOwnerOrStaff(Long clubId, Long userId) {
-        Club club = clubRepository.findById(clubId).orElse(null);
-        if (club == null) return false;
-        return club.getOwnerId().equals(userId);
-        // TODO: Also check club_staff table for managers/receptionists
+        return clubAccess.isMember(userId, clubId);
     }
 }
-
@@ -0,0 +1,71 @@
+package com.github.mhmdd9.club.service;
+
+import com.github.mhmdd9.auth.repository.UserRepository;
+import com.github.mhmdd9.club.dto.AddClubStaffRequest;
+import com.github.mhmdd9.club.dto.ClubStaffDto;
+import com.github.mhmdd9.club.entity.ClubStaff;
+import com.github.mhmdd9.club.repository.ClubRepository;
+import com.github.mhmdd9.club.repository.ClubStaffRepository;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ClubStaffService {
+
+    private final ClubStaffRepository staffRepository;
+    private final ClubRepository clubRepository;
+    private final UserRepository userRepository;
+    private final ClubAccessService clubAccess;
+
+    @Transactional(readOnly = true)
+    public List<ClubStaffDto> getStaff(Long clubId) {
+        return staffRepository.findByClubIdAndIsActiveTrueOrderByCreatedAt(clubId).stream()
+                .map(ClubStaffDto::from)
+                .toList();
+    }
+
+    /**
+     * Adds the user to the club's staff, or changes their role if they already are.
+     */
+    @Transactional
+    public ClubStaffDto addStaff(Long clubId, AddClubStaffRequest request) {
+        if (request.getRole() == ClubStaff.StaffRole.OWNER) {
+            throw new BusinessException("Owners are set on the club, not as staff", "INVALID_ROLE");
+        }
+        if (!clubRepository.existsById(clubId)) {
+            throw new ResourceNotFoundException("Club", clubId);
+        }
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new ResourceNotFoundException("User", request.getUserId());
+        }
+
+        ClubStaff staff = staffRepository.findByClubIdAndUserId(clubId, request.getUserId())
+                .orElseGet(() -> ClubStaff.builder()
+                        .clubId(clubId)
+                        .userId(request.getUserId())
+                        .build());
+        staff.setRole(request.getRole());
+        staff.setIsActive(true);
+        staff = staffRepository.save(staff);
+
+        clubAccess.evictAfterCommit(request.getUserId());
+        return ClubStaffDto.from(staff);
+    }
+
+    @Transactional
+    public void removeStaff(Long clubId, Long userId) {
+        ClubStaff staff = staffRepository.findByClubIdAndUserId(clubId, userId)
+                .filter(ClubStaff::getIsActive)
+                .orElseThrow(() -> new ResourceNotFoundException("ClubStaff", userId));
+        staff.setIsActive(false);
+        staffRepository.save(staff);
+
+        clubAccess.evictAfterCommit(userId);
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.mhmdd9.club.service;
+
+import com.github.mhmdd9.club.entity.ClassSession;
+import com.github.mhmdd9.club.repository.ClassSessionRepository;
+import com.github.mhmdd9.club.repository.projection.TrainerSlotView;
+import com.github.mhmdd9.common.util.IntervalIndex;
+import com.github.mhmdd9.common.util.SessionTimes;
+import com.github.mhmdd9.common.util.TransactionHooks;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Per-day index of the time trainers are taken by scheduled sessions, across all clubs.
+ * Holding every trainer of a day in one interval index answers both "does this trainer clash" and
+ * "which trainers are busy in this slot" with a single binary search, instead of one lookup per trainer.
+ * A day's index also holds the sessions starting the day before, so sessions running past midnight are seen.
+ * Days are loaded with one query on first use, kept in step with creations and cancellations after they
+ * commit, bounded in number and reloaded after a TTL to pick up changes made elsewhere.
+ */
+@Slf4j
+@Component
+public class TrainerScheduleIndex {
+
+    private final ClassSessionRepository sessionRepository;
+    private final long ttlMillis;
+    private final Map<LocalDate, Entry> cache;
+
+    public TrainerScheduleIndex(
+            ClassSessionRepository sessionRepository,
+            @Value("${schedule.trainer-index.ttl:600}") long ttlSeconds,
+            @Value("${schedule.trainer-index.cache-size:400}") int cacheSize) {
+        this.sessionRepository = sessionRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Ids of the trainer's scheduled sessions that overlap the given slot.
+     */
+    public List<Long> findConflicts(Long trainerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Set<Long> sessionIds = new LinkedHashSet<>();
+        forEachOverlapping(date, startTime, endTime, slot -> {
+            if (slot.trainerId.equals(trainerId)) {
+                sessionIds.add(slot.sessionId);
+            }
+        });
+        return List.copyOf(sessionIds);
+    }
+
+    /**
+     * Ids of all trainers with a scheduled session overlapping the given slot.
+     */
+    public Set<Long> findBusyTrainers(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Set<Long> trainerIds = new LinkedHashSet<>();
+        forEachOverlapping(date, startTime, endTime, slot -> trainerIds.add(slot.trainerId));
+        return trainerIds;
+    }
+
+    public void addAfterCommit(ClassSession session) {
+        if (session.getTrainer() == null) {
+            return;
+        }
+        long start = startOf(session);
+        long end = endOf(session);
+        Slot slot = new Slot(session.getId(), session.getTrainer().getId());
+        LocalDate date = session.getSessionDate();
+        TransactionHooks.afterCommit(() -> {
+            for (LocalDate day : List.of(date, date.plusDays(1))) {
+                cache.computeIfPresent(day, (d, entry) -> new Entry(entry.index.with(start, end, slot), entry.loadedAt));
+            }
+        });
+    }
+
+    public void removeAfterCommit(ClassSession session) {
+        if (session.getTrainer() == null) {
+            return;
+        }
+        Long sessionId = session.getId();
+        LocalDate date = session.getSessionDate();
+        TransactionHooks.afterCommit(() -> {
+            for (LocalDate day : List.of(date, date.plusDays(1))) {
+                cache.computeIfPresent(day, (d, entry) -> new Entry(
+                        entry.index.without(s -> Objects.equals(s.sessionId, sessionId)), entry.loadedAt));
+            }
+        });
+    }
+
+    public static long startOf(ClassSession session) {
+        return SessionTimes.startMinutes(session.getSessionDate(), session.getStartTime());
+    }
+
+    public static long endOf(ClassSession session) {
+        return SessionTimes.endMinutes(session.getSessionDate(), session.getStartTime(), session.getEndTime());
+    }
+
+    private void forEachOverlapping(LocalDate date, LocalTime startTime, LocalTime endTime, Consumer<Slot> action) {
+        long start = SessionTimes.startMinutes(date, startTime);
+        long end = SessionTimes.endMinutes(date, startTime, endTime);
+        // A slot past midnight can also clash with sessions starting the next day
+        LocalDate lastDay = endTime.isAfter(startTime) ? date : date.plusDays(1);
+        for (LocalDate day = date; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            getIndex(day).overlapping(start, end).forEach(action);
+        }
+    }
+
+    private IntervalIndex<Slot> getIndex(LocalDate day) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(day);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            return entry.index;
+        }
+
+        List<TrainerSlotView> slots = sessionRepository.findScheduledTrainerSlots(day.minusDays(1), day);
+        IntervalIndex<Slot> index = IntervalIndex.of(slots.stream()
+                .map(slot -> new IntervalIndex.Interval<>(
+                        SessionTimes.startMinutes(slot.getSessionDate(), slot.getStartTime()),
+                        SessionTimes.endMinutes(slot.getSessionDate(), slot.getStartTime(), slot.getEndTime()),
+                        new Slot(slot.getSessionId(), slot.getTrainerId())))
+                .toList());
+        cache.put(day, new Entry(index, now));
+        log.debug("Loaded trainer schedule index for {} with {} sessions", day, index.size());
+        return index;
+    }
+
+
+    @AllArgsConstructor
+    private static class Slot {
+        private final Long sessionId;
+        private final Long trainerId;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final IntervalIndex<Slot> index;
+        private final long loadedAt;
+    }
+}
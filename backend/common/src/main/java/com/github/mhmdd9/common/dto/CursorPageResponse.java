@@ -0,0 +1,38 @@
+package com.github.mhmdd9.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A keyset-paginated slice; pass {@code nextCursor} back to fetch the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows; the extra row only signals that more exist.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .content(content)
+                .size(size)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .build();
+    }
+}
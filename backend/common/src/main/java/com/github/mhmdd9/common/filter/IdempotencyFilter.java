@@ -0,0 +1,218 @@
+package com.github.mhmdd9.common.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mhmdd9.common.dto.ApiResponse;
+import com.github.mhmdd9.common.exception.BaseException;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Makes POST requests carrying an {@code Idempotency-Key} header safe to retry.
+ * Keys are scoped to the authenticated user and the endpoint; a retry with the same key and body
+ * gets the original response replayed, a retry with a different body is rejected.
+ * Runs after the security filter chain so the principal is available.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+
+    public IdempotencyFilter(
+            IdempotencyService idempotencyService,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.paths:/v1/reservations,/v1/reservations/batch,/v1/payments}") List<String> paths) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.paths = Set.copyOf(paths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !StringUtils.hasText(request.getHeader(HEADER))
+                || !paths.contains(getPath(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            writeError(response, new BusinessException(
+                    "Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters", "INVALID_IDEMPOTENCY_KEY"));
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        Principal principal = request.getUserPrincipal();
+        String scope = principal != null ? principal.getName() : "anonymous";
+        String path = getPath(request);
+
+        String keyHash = sha256((scope + '|' + path + '|' + key).getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(cachedRequest.getBody());
+
+        IdempotencyService.Acquisition acquisition;
+        try {
+            acquisition = idempotencyService.acquire(keyHash, requestHash);
+        } catch (BaseException ex) {
+            writeError(response, ex);
+            return;
+        }
+
+        if (acquisition.isReplay()) {
+            replay(response, acquisition.getReplay());
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            idempotencyService.complete(
+                    acquisition,
+                    cachingResponse.getStatus(),
+                    cachingResponse.getContentType(),
+                    new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)
+            );
+            completed = true;
+        } finally {
+            if (!completed) {
+                idempotencyService.abort(acquisition);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyService.StoredResponse stored) throws IOException {
+        response.setStatus(stored.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getBody() != null) {
+            response.getOutputStream().write(stored.getBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeError(HttpServletResponse response, BaseException ex) throws IOException {
+        response.setStatus(ex.getHttpStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
+    }
+
+    private String getPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        String path = StringUtils.hasLength(contextPath) && uri.startsWith(contextPath)
+                ? uri.substring(contextPath.length())
+                : uri;
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Reads the body once so it can be hashed and still be consumed by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available at once
+                    try {
+                        if (input.available() > 0) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.mhmdd9.common.live;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A small delta pushed to subscribers of {@code topic}; {@code event} becomes the SSE event name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveEvent {
+    private String topic;
+    private String event;
+    private JsonNode data;
+}
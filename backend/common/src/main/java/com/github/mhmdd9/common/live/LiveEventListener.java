@@ -0,0 +1,137 @@
+package com.github.mhmdd9.common.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on the {@link LiveEventPublisher#CHANNEL} channel over a dedicated connection
+ * (outside the pool, which would reset it) and hands each event to the local {@link SseTopicBroker}.
+ * Each event is also published as an application event, so node-local state can follow topics no client
+ * can subscribe to.
+ * Reconnects with backoff; subscribers are asked to resync after a reconnect since events may have been missed,
+ * and a {@link LiveEventsReconnectedEvent} is published for node-local state to reload.
+ */
+@Slf4j
+@Component
+public class LiveEventListener {
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final SseTopicBroker broker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollTimeoutMillis;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public LiveEventListener(
+            SseTopicBroker broker,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${sse.listen-timeout:5000}") int pollTimeoutMillis) {
+        this.broker = broker;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "live-events-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        long backoff = 1000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + LiveEventPublisher.CHANNEL);
+                }
+                log.info("Listening for live events on channel {}", LiveEventPublisher.CHANNEL);
+                if (reconnecting) {
+                    broker.broadcastResync();
+                    eventPublisher.publishEvent(new LiveEventsReconnectedEvent());
+                }
+                backoff = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Live event listener disconnected, retrying in {} ms: {}", backoff, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        LiveEvent event;
+        try {
+            event = objectMapper.readValue(payload, LiveEvent.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed live event: {}", e.getMessage());
+            return;
+        }
+        broker.deliver(event);
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            log.warn("Live event {} for topic {} failed in a local listener", event.getEvent(), event.getTopic(), e);
+        }
+    }
+}
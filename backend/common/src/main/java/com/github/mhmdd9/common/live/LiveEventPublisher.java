@@ -0,0 +1,47 @@
+package com.github.mhmdd9.common.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Publishes live events through Postgres {@code NOTIFY} so every node receives them.
+ * Called inside a transaction, the notification is only delivered if that transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveEventPublisher {
+
+    public static final String CHANNEL = "live_events";
+
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void publish(String topic, String event, Object data) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(LiveEvent.builder()
+                    .topic(topic)
+                    .event(event)
+                    .data(objectMapper.valueToTree(data))
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize live event {} for topic {}", event, topic, e);
+            return;
+        }
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            log.warn("Live event {} for topic {} is too large to publish", event, topic);
+            return;
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+}
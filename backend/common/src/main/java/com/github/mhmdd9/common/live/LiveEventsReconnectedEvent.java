@@ -0,0 +1,8 @@
+package com.github.mhmdd9.common.live;
+
+/**
+ * Published on this node when {@link LiveEventListener} reconnects. Events sent while it was disconnected
+ * are lost, so node-local state kept up to date by them should be reloaded.
+ */
+public class LiveEventsReconnectedEvent {
+}
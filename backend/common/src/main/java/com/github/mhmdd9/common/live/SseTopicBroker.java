@@ -0,0 +1,113 @@
+package com.github.mhmdd9.common.live;
+
+import com.github.mhmdd9.common.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds this node's SSE subscriptions by topic.
+ * Emitters complete asynchronously, so an open stream does not pin a request thread.
+ */
+@Slf4j
+@Component
+public class SseTopicBroker {
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, List<String>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final int maxConnections;
+
+    public SseTopicBroker(
+            @Value("${sse.timeout:1800000}") long timeoutMillis,
+            @Value("${sse.max-connections:10000}") int maxConnections) {
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnections = maxConnections;
+    }
+
+    public SseEmitter subscribe(List<String> topics) {
+        if (emitters.size() >= maxConnections) {
+            throw new RateLimitExceededException("Too many open live streams. Please try again later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.put(emitter, topics);
+        topics.forEach(topic -> subscribers.computeIfAbsent(topic, t -> ConcurrentHashMap.newKeySet()).add(emitter));
+
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+
+        send(emitter, SseEmitter.event().name("subscribed").data(topics, MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    /**
+     * Delivers an event to the emitters subscribed to its topic on this node.
+     */
+    public void deliver(LiveEvent event) {
+        Set<SseEmitter> targets = subscribers.get(event.getTopic());
+        if (targets == null) {
+            return;
+        }
+        for (SseEmitter emitter : targets) {
+            send(emitter, SseEmitter.event().name(event.getEvent()).data(event.getData(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Tells every subscriber that events may have been missed and its view should be reloaded.
+     */
+    public void broadcastResync() {
+        for (SseEmitter emitter : emitters.keySet()) {
+            send(emitter, SseEmitter.event().name("resync").data(""));
+        }
+    }
+
+    public int getConnectionCount() {
+        return emitters.size();
+    }
+
+    /**
+     * Keeps idle streams open through proxies and detects clients that went away.
+     */
+    @Scheduled(initialDelayString = "${sse.heartbeat-interval:15000}",
+            fixedDelayString = "${sse.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters.keySet()) {
+            send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping live stream: {}", e.getMessage());
+            unsubscribe(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        List<String> topics = emitters.remove(emitter);
+        if (topics == null) {
+            return;
+        }
+        for (String topic : topics) {
+            subscribers.computeIfPresent(topic, (t, set) -> {
+                set.remove(emitter);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
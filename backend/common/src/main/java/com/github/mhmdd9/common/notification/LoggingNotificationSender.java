@@ -0,0 +1,22 @@
+package com.github.mhmdd9.common.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sender that only logs; a real channel can replace it by registering a {@code @Primary} sender.
+ */
+@Slf4j
+@Component
+public class LoggingNotificationSender implements NotificationSender {
+
+    @Override
+    public void send(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            log.info("Notification [{}] to user {}: {}",
+                    notification.getType(), notification.getUserId(), notification.getMessage());
+        }
+    }
+}
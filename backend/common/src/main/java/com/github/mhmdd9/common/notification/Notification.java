@@ -0,0 +1,17 @@
+package com.github.mhmdd9.common.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification {
+    private Long userId;
+    private String type;
+    private String title;
+    private String message;
+}
@@ -0,0 +1,39 @@
+package com.github.mhmdd9.common.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fans notifications out to the {@link NotificationSender} in fixed-size batches, off the caller's thread.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationSender sender;
+    private final int batchSize;
+
+    public NotificationDispatcher(
+            NotificationSender sender,
+            @Value("${notification.batch-size:100}") int batchSize) {
+        this.sender = sender;
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    public void dispatch(List<Notification> notifications) {
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            List<Notification> batch = notifications.subList(from, Math.min(from + batchSize, notifications.size()));
+            try {
+                sender.send(batch);
+            } catch (Exception e) {
+                // One failed batch must not stop the remaining ones
+                log.error("Failed to send {} notifications", batch.size(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.mhmdd9.common.notification;
+
+import java.util.List;
+
+/**
+ * Delivers notifications to users over some channel (SMS, push, ...).
+ * Implementations receive notifications in batches and should send each batch in as few calls as the channel allows.
+ */
+public interface NotificationSender {
+
+    void send(List<Notification> notifications);
+}
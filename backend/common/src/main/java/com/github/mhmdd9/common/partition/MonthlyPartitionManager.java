@@ -0,0 +1,171 @@
+package com.github.mhmdd9.common.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains monthly range partitions of PostgreSQL tables partitioned by a timestamp or date column.
+ * Partitions are named {@code <table>_pYYYYMM} and cover {@code [first day of month, first day of next month)}.
+ * Rows that landed in the table's DEFAULT partition before their month existed are moved into it on creation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MonthlyPartitionManager {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ?";
+
+    private static final String DEFAULT_PARTITION_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ? AND pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT'";
+
+    private static final String PARTITION_KEY_SQL =
+            "SELECT a.attname FROM pg_partitioned_table pt " +
+            "JOIN pg_class p ON p.oid = pt.partrelid " +
+            "JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0] " +
+            "WHERE p.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates any missing partitions from {@code from} through {@code monthsAhead} months after it.
+     */
+    @Transactional
+    public int ensurePartitions(String table, YearMonth from, int monthsAhead) {
+        checkIdentifier(table);
+        List<YearMonth> existing = listPartitions(table);
+        String defaultPartition = findDefaultPartition(table);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = from.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            String partition = partitionName(table, month);
+            String bounds = "FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+            if (defaultPartition != null && hasRowsInDefault(table, defaultPartition, month)) {
+                // A new partition cannot overlap rows held by the default one, so they are moved in before attaching
+                String key = partitionKey(table);
+                jdbcTemplate.execute("CREATE TABLE " + partition +
+                        " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + defaultPartition +
+                        " WHERE " + key + " >= ? AND " + key + " < ? RETURNING *) " +
+                        "INSERT INTO " + partition + " SELECT * FROM moved",
+                        month.atDay(1), month.plusMonths(1).atDay(1));
+                jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition +
+                        " FOR VALUES " + bounds);
+                log.info("Created partition {} with {} rows moved from {}", partition, moved, defaultPartition);
+            } else {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition +
+                        " PARTITION OF " + table + " FOR VALUES " + bounds);
+                log.info("Created partition {}", partition);
+            }
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Detaches and drops every partition whose month is before {@code cutoff}.
+     */
+    @Transactional
+    public int dropPartitionsBefore(String table, YearMonth cutoff) {
+        checkIdentifier(table);
+        int dropped = 0;
+        for (YearMonth month : listPartitions(table)) {
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            String partition = partitionName(table, month);
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            dropped++;
+            log.info("Dropped partition {}", partition);
+        }
+        return dropped;
+    }
+
+    /**
+     * Detaches the month's partition and renames it {@code <table>_detached_pYYYYMM}, so its rows are kept but
+     * no longer scanned or probed through the table, and the month is never mistaken for an attached one.
+     * Returns false when the month has no attached partition.
+     */
+    @Transactional
+    public boolean detachPartition(String table, YearMonth month) {
+        checkIdentifier(table);
+        if (!listPartitions(table).contains(month)) {
+            return false;
+        }
+        String partition = partitionName(table, month);
+        String detached = table + "_detached_p" + month.format(SUFFIX);
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + detached);
+        log.info("Detached partition {} as {}", partition, detached);
+        return true;
+    }
+
+    /**
+     * Months of the monthly partitions currently attached to the table; other partitions
+     * (such as a DEFAULT partition) are ignored.
+     */
+    public List<YearMonth> listPartitions(String table) {
+        String prefix = table + "_p";
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table)) {
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            try {
+                months.add(YearMonth.parse(name.substring(prefix.length()), SUFFIX));
+            } catch (DateTimeParseException e) {
+                // Not one of ours
+            }
+        }
+        return months;
+    }
+
+    private String findDefaultPartition(String table) {
+        List<String> names = jdbcTemplate.queryForList(DEFAULT_PARTITION_SQL, String.class, table);
+        return names.isEmpty() ? null : names.get(0);
+    }
+
+    private boolean hasRowsInDefault(String table, String defaultPartition, YearMonth month) {
+        String key = partitionKey(table);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + defaultPartition +
+                " WHERE " + key + " >= ? AND " + key + " < ?)", Boolean.class,
+                month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    private String partitionKey(String table) {
+        return jdbcTemplate.queryForObject(PARTITION_KEY_SQL, String.class, table);
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    private static void checkIdentifier(String table) {
+        if (!IDENTIFIER.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+    }
+}
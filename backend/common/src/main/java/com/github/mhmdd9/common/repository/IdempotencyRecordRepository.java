@@ -0,0 +1,54 @@
+package com.github.mhmdd9.common.repository;
+
+import com.github.mhmdd9.common.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims a key for execution. Returns 1 if the key was free (or its previous record expired),
+     * 0 if another request already owns it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (key_hash, request_hash, status, created_at, expires_at) " +
+                   "VALUES (:keyHash, :requestHash, 'IN_PROGRESS', :now, :leaseUntil) " +
+                   "ON CONFLICT (key_hash) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+                   "status = 'IN_PROGRESS', response_status = NULL, content_type = NULL, response_body = NULL, " +
+                   "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+                   "WHERE idempotency_keys.expires_at < :now",
+           nativeQuery = true)
+    int tryClaim(@Param("keyHash") String keyHash,
+                 @Param("requestHash") String requestHash,
+                 @Param("now") LocalDateTime now,
+                 @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.responseStatus = :responseStatus, " +
+           "r.contentType = :contentType, r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+           "WHERE r.keyHash = :keyHash")
+    int complete(@Param("keyHash") String keyHash,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.keyHash = :keyHash AND r.status = 'IN_PROGRESS'")
+    int release(@Param("keyHash") String keyHash);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
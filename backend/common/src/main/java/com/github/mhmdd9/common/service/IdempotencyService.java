@@ -0,0 +1,229 @@
+package com.github.mhmdd9.common.service;
+
+import com.github.mhmdd9.common.entity.IdempotencyRecord;
+import com.github.mhmdd9.common.exception.BusinessException;
+import com.github.mhmdd9.common.exception.ConflictException;
+import com.github.mhmdd9.common.repository.IdempotencyRecordRepository;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key bookkeeping for write endpoints.
+ * Completed responses are kept in a bounded in-memory LRU backed by the idempotency_keys table;
+ * concurrent duplicates on the same node wait for the first execution instead of running again,
+ * and duplicates on other nodes are kept out by the table's IN_PROGRESS lease.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Map<String, StoredResponse> cache;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            @Value("${idempotency.ttl:86400}") long ttlSeconds,
+            @Value("${idempotency.lease:60}") long leaseSeconds,
+            @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Either returns a stored response to replay, or claims the key for the caller,
+     * who must then call {@link #complete} or {@link #abort}.
+     */
+    public Acquisition acquire(String keyHash, String requestHash) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            StoredResponse cached = cache.get(keyHash);
+            if (cached != null && !cached.isExpired()) {
+                return Acquisition.replay(verify(cached, requestHash));
+            }
+
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(keyHash, claim);
+            if (running != null) {
+                StoredResponse result = await(running);
+                if (result != null) {
+                    return Acquisition.replay(verify(result, requestHash));
+                }
+                // The first execution failed without a storable response; try to claim the key ourselves
+                continue;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (repository.tryClaim(keyHash, requestHash, now, now.plus(lease)) == 1) {
+                return Acquisition.execute(keyHash, requestHash, claim);
+            }
+
+            IdempotencyRecord record = repository.findById(keyHash).orElse(null);
+            if (record != null && record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                StoredResponse stored = StoredResponse.from(record);
+                cache.put(keyHash, stored);
+                finish(keyHash, claim, stored);
+                return Acquisition.replay(verify(stored, requestHash));
+            }
+
+            finish(keyHash, claim, null);
+            throw inProgress();
+        }
+        throw inProgress();
+    }
+
+    /**
+     * Stores the response for replay if retrying could not change it; otherwise releases the key.
+     */
+    public void complete(Acquisition acquisition, int status, String contentType, String body) {
+        if (!isReplayable(status)) {
+            abort(acquisition);
+            return;
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        repository.complete(acquisition.getKeyHash(), status, contentType, body, expiresAt);
+
+        StoredResponse stored = new StoredResponse(acquisition.getRequestHash(), status, contentType, body, expiresAt);
+        cache.put(acquisition.getKeyHash(), stored);
+        finish(acquisition.getKeyHash(), acquisition.getClaim(), stored);
+    }
+
+    public void abort(Acquisition acquisition) {
+        try {
+            repository.release(acquisition.getKeyHash());
+        } finally {
+            finish(acquisition.getKeyHash(), acquisition.getClaim(), null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:3600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        synchronized (cache) {
+            cache.values().removeIf(StoredResponse::isExpired);
+        }
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * 2xx and deterministic 4xx responses. Conflicts (such as losing a seat race) and rate limits
+     * ask the client to try again, so replaying them would make the retry fail for the whole TTL.
+     */
+    private static boolean isReplayable(int status) {
+        if (status >= 200 && status < 300) {
+            return true;
+        }
+        return status >= 400 && status < 500
+                && status != HttpStatus.CONFLICT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void finish(String keyHash, CompletableFuture<StoredResponse> claim, StoredResponse result) {
+        inFlight.remove(keyHash, claim);
+        claim.complete(result);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        } catch (ExecutionException | TimeoutException e) {
+            throw inProgress();
+        }
+    }
+
+    private StoredResponse verify(StoredResponse stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new BusinessException(
+                    "Idempotency-Key was already used for a different request",
+                    "IDEMPOTENCY_KEY_REUSED",
+                    HttpStatus.UNPROCESSABLE_ENTITY
+            );
+        }
+        return stored;
+    }
+
+    private ConflictException inProgress() {
+        return new ConflictException(
+                "A request with this Idempotency-Key is still being processed",
+                "IDEMPOTENCY_IN_PROGRESS"
+        );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StoredResponse {
+        private final String requestHash;
+        private final int status;
+        private final String contentType;
+        private final String body;
+        private final LocalDateTime expiresAt;
+
+        static StoredResponse from(IdempotencyRecord record) {
+            return new StoredResponse(
+                    record.getRequestHash(),
+                    record.getResponseStatus(),
+                    record.getContentType(),
+                    record.getResponseBody(),
+                    record.getExpiresAt()
+            );
+        }
+
+        boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Acquisition {
+        private final String keyHash;
+        private final String requestHash;
+        private final CompletableFuture<StoredResponse> claim;
+        private final StoredResponse replay;
+
+        static Acquisition execute(String keyHash, String requestHash, CompletableFuture<StoredResponse> claim) {
+            return new Acquisition(keyHash, requestHash, claim, null);
+        }
+
+        static Acquisition replay(StoredResponse response) {
+            return new Acquisition(null, null, null, response);
+        }
+
+        public boolean isReplay() {
+            return replay != null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.mhmdd9.common.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV rows one at a time from a reader, so large files are never held in memory.
+ * Quoted fields may contain separators, doubled quotes and line breaks; a leading byte order mark is skipped.
+ */
+public class CsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final StringBuilder field = new StringBuilder();
+    private int pushedBack = EOF - 1;
+    private boolean started;
+    private long newlines;
+    private long rowLine;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Returns the next row, or {@code null} at the end of input. Blank lines are skipped.
+     */
+    public List<String> readRow() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        rowLine = newlines + 1;
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field starting at line " + rowLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                row.add(field.toString());
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                return row;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Physical line on which the last returned row started, for error messages.
+     */
+    public long getLine() {
+        return rowLine;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack >= EOF) {
+            int c = pushedBack;
+            pushedBack = EOF - 1;
+            return c;
+        }
+        int c = in.read();
+        if (c == '\n') {
+            newlines++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.mhmdd9.common.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.regex.Pattern;
+
+/**
+ * Writes RFC 4180 CSV rows to a writer, quoting fields only when they need it.
+ * Files meant for spreadsheet applications can escape formulas: a field starting with {@code = + - @},
+ * a tab or a carriage return is prefixed with {@code '} so it is shown as text instead of being evaluated.
+ * Plain numbers, negative ones included, are left as they are.
+ */
+public class CsvWriter {
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?\\d+(\\.\\d+)?");
+
+    private final Writer out;
+    private final boolean escapeFormulas;
+
+    public CsvWriter(Writer out) {
+        this(out, false);
+    }
+
+    public CsvWriter(Writer out, boolean escapeFormulas) {
+        this.out = out;
+        this.escapeFormulas = escapeFormulas;
+    }
+
+    public void writeRow(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(fields[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        if (escapeFormulas && isFormula(field)) {
+            field = "'" + field;
+        }
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static boolean isFormula(String field) {
+        if (field.isEmpty()) {
+            return false;
+        }
+        char first = field.charAt(0);
+        boolean trigger = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        return trigger && !NUMBER.matcher(field).matches();
+    }
+}
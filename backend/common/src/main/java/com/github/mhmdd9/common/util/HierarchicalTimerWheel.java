@@ -0,0 +1,180 @@
+package com.github.mhmdd9.common.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timer wheel keyed by {@code K}: scheduling and cancelling are O(1), and advancing the clock
+ * costs one bucket per elapsed tick plus the timers that fall due or move down a level.
+ * Level {@code l} has {@code wheelSize} buckets spanning {@code wheelSize^l} ticks each; a timer sits on the
+ * lowest level whose span covers its delay and cascades down as the clock approaches its deadline.
+ * Not thread-safe; callers synchronize.
+ */
+public final class HierarchicalTimerWheel<K, V> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelSpans;
+    private final Timer<K, V>[][] buckets;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param horizonMillis the longest delay that can be scheduled, measured from the wheel's current time
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long tickMillis, int wheelSize, long horizonMillis, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || horizonMillis <= 0) {
+            throw new IllegalArgumentException("Tick, wheel size and horizon must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+
+        long horizonTicks = horizonMillis / tickMillis + 1;
+        List<Long> spans = new ArrayList<>();
+        long span = 1;
+        do {
+            spans.add(span);
+            span = Math.multiplyExact(span, wheelSize);
+        } while (span <= horizonTicks);
+        this.levelSpans = spans.stream().mapToLong(Long::longValue).toArray();
+        this.buckets = new Timer[levelSpans.length][wheelSize];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code value} to fall due at {@code deadlineMillis}, replacing any timer already under {@code key}.
+     * Deadlines already passed fall due on the next advance.
+     */
+    public void schedule(K key, long deadlineMillis, V value) {
+        cancel(key);
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        if (deadlineTick - currentTick >= levelSpans[levelSpans.length - 1] * wheelSize) {
+            throw new IllegalArgumentException("Deadline is beyond the wheel's horizon");
+        }
+        Timer<K, V> timer = new Timer<>(key, value, deadlineTick);
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    /**
+     * Removes the timer under {@code key}; returns whether there was one.
+     */
+    public boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis} and returns the values that fell due, in deadline order.
+     */
+    public List<V> advance(long nowMillis) {
+        List<V> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            // Nothing scheduled: jump instead of stepping through empty buckets
+            if (timers.isEmpty()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            for (int level = levelSpans.length - 1; level > 0; level--) {
+                if (currentTick % levelSpans[level] == 0) {
+                    cascade(level, (int) ((currentTick / levelSpans[level]) % wheelSize));
+                }
+            }
+            int index = (int) (currentTick % wheelSize);
+            Timer<K, V> timer = buckets[0][index];
+            buckets[0][index] = null;
+            while (timer != null) {
+                Timer<K, V> next = timer.next;
+                timers.remove(timer.key);
+                timer.prev = null;
+                timer.next = null;
+                due.add(timer.value);
+                timer = next;
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    public boolean isEmpty() {
+        return timers.isEmpty();
+    }
+
+    private void cascade(int level, int index) {
+        Timer<K, V> timer = buckets[level][index];
+        buckets[level][index] = null;
+        while (timer != null) {
+            Timer<K, V> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<K, V> timer) {
+        long delay = timer.deadlineTick - currentTick;
+        int level = 0;
+        while (level < levelSpans.length - 1 && delay >= levelSpans[level] * wheelSize) {
+            level++;
+        }
+        int index = (int) ((timer.deadlineTick / levelSpans[level]) % wheelSize);
+        Timer<K, V> head = buckets[level][index];
+        timer.level = level;
+        timer.index = index;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[level][index] = timer;
+    }
+
+    private void unlink(Timer<K, V> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.level][timer.index] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final V value;
+        private final long deadlineTick;
+        private int level;
+        private int index;
+        private Timer<K, V> prev;
+        private Timer<K, V> next;
+
+        private Timer(K key, V value, long deadlineTick) {
+            this.key = key;
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.mhmdd9.common.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Immutable index of half-open intervals {@code [start, end)} with attached values.
+ * Intervals are kept sorted by start together with a running maximum of their ends,
+ * so an overlap query is a binary search plus a walk over the candidates that can still overlap.
+ * Updates copy the arrays, which suits the small per-owner sets this is used for.
+ */
+public final class IntervalIndex<T> {
+
+    private static final IntervalIndex<?> EMPTY = new IntervalIndex<>(new long[0], new long[0], new Object[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final Object[] values;
+
+    private IntervalIndex(long[] starts, long[] ends, Object[] values) {
+        this.starts = starts;
+        this.ends = ends;
+        this.values = values;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IntervalIndex<T> empty() {
+        return (IntervalIndex<T>) EMPTY;
+    }
+
+    public static <T> IntervalIndex<T> of(Collection<Interval<T>> intervals) {
+        if (intervals.isEmpty()) {
+            return empty();
+        }
+        List<Interval<T>> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingLong(Interval::getStart));
+
+        int size = sorted.size();
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            Interval<T> interval = sorted.get(i);
+            starts[i] = interval.getStart();
+            ends[i] = interval.getEnd();
+            values[i] = interval.getValue();
+        }
+        return new IntervalIndex<>(starts, ends, values);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * Returns a copy with the interval added.
+     */
+    public IntervalIndex<T> with(long start, long end, T value) {
+        int at = firstStartAtOrAfter(start);
+        return new IntervalIndex<>(
+                insert(starts, at, start),
+                insert(ends, at, end),
+                insert(values, at, value)
+        );
+    }
+
+    /**
+     * Returns a copy without the intervals whose value matches.
+     */
+    @SuppressWarnings("unchecked")
+    public IntervalIndex<T> without(Predicate<T> filter) {
+        List<Interval<T>> kept = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            if (!filter.test((T) values[i])) {
+                kept.add(new Interval<>(starts[i], ends[i], (T) values[i]));
+            }
+        }
+        return kept.size() == starts.length ? this : of(kept);
+    }
+
+    /**
+     * Values of all intervals overlapping {@code [start, end)}.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> overlapping(long start, long end) {
+        List<T> result = new ArrayList<>();
+        // Only intervals starting before 'end' can overlap; of those, walk back while some end can still reach past 'start'
+        for (int i = firstStartAtOrAfter(end) - 1; i >= 0 && maxEnds[i] > start; i--) {
+            if (ends[i] > start) {
+                result.add((T) values[i]);
+            }
+        }
+        return result;
+    }
+
+    public boolean overlaps(long start, long end) {
+        int candidates = firstStartAtOrAfter(end);
+        return candidates > 0 && maxEnds[candidates - 1] > start;
+    }
+
+    private int firstStartAtOrAfter(long value) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] source, int at, long value) {
+        long[] copy = Arrays.copyOf(source, source.length + 1);
+        System.arraycopy(source, at, copy, at + 1, source.length - at);
+        copy[at] = value;
+        return copy;
+    }
+
+    private static Object[] insert(Object[] source, int at, Object value) {
+        Object[] copy = Arrays.copyOf(source, source.length + 1);
+        System.arraycopy(source, at, copy, at + 1, source.length - at);
+        copy[at] = value;
+        return copy;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Interval<T> {
+        private final long start;
+        private final long end;
+        private final T value;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.mhmdd9.common.util;
+
+import com.github.mhmdd9.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for keyset pagination: the sort key values of the last row, URL-safe Base64 encoded.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into exactly {@code parts} key values.
+     */
+    public static String[] decode(String cursor, int parts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length == parts) {
+                return keys;
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through to the error below
+        }
+        throw new BusinessException("Invalid pagination cursor", "INVALID_CURSOR");
+    }
+}
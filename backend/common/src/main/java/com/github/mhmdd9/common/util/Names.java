@@ -0,0 +1,20 @@
+package com.github.mhmdd9.common.util;
+
+public final class Names {
+
+    private Names() {
+    }
+
+    /**
+     * First and last name joined by a space; either part may be missing, null when both are.
+     */
+    public static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        if (firstName == null || lastName == null) {
+            return firstName != null ? firstName : lastName;
+        }
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.mhmdd9.common.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Class session times as minutes on a single timeline, for interval indexes.
+ * Sessions are created ending after they start on the same day; a row ending at or before its start,
+ * written before that was enforced, is read as running past midnight into the next day.
+ */
+public final class SessionTimes {
+
+    private SessionTimes() {
+    }
+
+    public static long startMinutes(LocalDate date, LocalTime start) {
+        return toMinutes(date, start);
+    }
+
+    public static long endMinutes(LocalDate date, LocalTime start, LocalTime end) {
+        LocalDate endDate = end.isAfter(start) ? date : date.plusDays(1);
+        return toMinutes(endDate, end);
+    }
+
+    private static long toMinutes(LocalDate date, LocalTime time) {
+        return LocalDateTime.of(date, time).toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
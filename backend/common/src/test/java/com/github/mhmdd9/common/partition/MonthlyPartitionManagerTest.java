@@ -0,0 +1,98 @@
+package com.github.mhmdd9.common.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class MonthlyPartitionManagerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    private JdbcTemplate jdbcTemplate;
+    private MonthlyPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        partitionManager = new MonthlyPartitionManager(jdbcTemplate);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS visits");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS visits_detached_p202603");
+        jdbcTemplate.execute("CREATE TABLE visits (id BIGINT NOT NULL, visit_date DATE NOT NULL, " +
+                "PRIMARY KEY (id, visit_date)) PARTITION BY RANGE (visit_date)");
+        jdbcTemplate.execute("CREATE TABLE visits_default PARTITION OF visits DEFAULT");
+    }
+
+    @Test
+    void createsMissingMonthsOnce() {
+        assertThat(partitionManager.ensurePartitions("visits", MARCH, 2)).isEqualTo(3);
+        assertThat(partitionManager.ensurePartitions("visits", MARCH, 3)).isEqualTo(1);
+
+        assertThat(partitionManager.listPartitions("visits"))
+                .containsExactlyInAnyOrder(MARCH, MARCH.plusMonths(1), MARCH.plusMonths(2), MARCH.plusMonths(3));
+    }
+
+    @Test
+    void movesRowsOutOfTheDefaultPartitionIntoTheirNewMonth() {
+        insert(1, MARCH.atDay(1));
+        insert(2, MARCH.atEndOfMonth());
+        insert(3, MARCH.plusMonths(1).atDay(1));
+
+        partitionManager.ensurePartitions("visits", MARCH, 0);
+
+        assertThat(ids("visits_p202603")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("visits_default")).containsExactly(3L);
+        assertThat(ids("visits")).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        // New rows of the month are routed to the attached partition
+        insert(4, MARCH.atDay(15));
+        assertThat(ids("visits_p202603")).contains(4L);
+    }
+
+    @Test
+    void dropsPartitionsBeforeTheCutoff() {
+        partitionManager.ensurePartitions("visits", MARCH, 2);
+        insert(1, MARCH.atDay(5));
+
+        assertThat(partitionManager.dropPartitionsBefore("visits", MARCH.plusMonths(1))).isEqualTo(1);
+
+        assertThat(partitionManager.listPartitions("visits")).containsExactlyInAnyOrder(MARCH.plusMonths(1), MARCH.plusMonths(2));
+        assertThat(ids("visits")).isEmpty();
+    }
+
+    @Test
+    void detachesAMonthKeepingItsRows() {
+        partitionManager.ensurePartitions("visits", MARCH, 1);
+        insert(1, MARCH.atDay(5));
+        insert(2, MARCH.plusMonths(1).atDay(5));
+
+        assertThat(partitionManager.detachPartition("visits", MARCH)).isTrue();
+        assertThat(partitionManager.detachPartition("visits", MARCH)).isFalse();
+
+        assertThat(partitionManager.listPartitions("visits")).containsExactly(MARCH.plusMonths(1));
+        assertThat(ids("visits")).containsExactly(2L);
+        assertThat(ids("visits_detached_p202603")).containsExactly(1L);
+    }
+
+    private void insert(long id, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO visits (id, visit_date) VALUES (?, ?)", id, date);
+    }
+
+    private List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.mhmdd9.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsRowsSplitOnCommas() throws IOException {
+        assertThat(readAll("a,b,c\n1,2,3\n")).containsExactly(List.of("a", "b", "c"), List.of("1", "2", "3"));
+    }
+
+    @Test
+    void acceptsCrLfAndMissingTrailingNewline() throws IOException {
+        assertThat(readAll("a,b\r\n1,2")).containsExactly(List.of("a", "b"), List.of("1", "2"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll(",a,,\n")).containsExactly(List.of("", "a", "", ""));
+    }
+
+    @Test
+    void readsQuotedSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(readAll("\"a,b\",\"say \"\"hi\"\"\",\"two\r\nlines\"\nnext\n"))
+                .containsExactly(List.of("a,b", "say \"hi\"", "two\r\nlines"), List.of("next"));
+    }
+
+    @Test
+    void skipsByteOrderMarkAndBlankLines() throws IOException {
+        assertThat(readAll("\uFEFFreference,amount\n\n\r\nR1,10\n"))
+                .containsExactly(List.of("reference", "amount"), List.of("R1", "10"));
+    }
+
+    @Test
+    void reportsLineOnWhichEachRowStarts() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\"multi\nline\"\nb\n"));
+
+        reader.readRow();
+        assertThat(reader.getLine()).isEqualTo(1);
+        reader.readRow();
+        assertThat(reader.getLine()).isEqualTo(2);
+        reader.readRow();
+        assertThat(reader.getLine()).isEqualTo(4);
+        assertThat(reader.readRow()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"never closed\n"));
+
+        assertThatThrownBy(() -> {
+            reader.readRow();
+            reader.readRow();
+        }).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+    }
+
+    @Test
+    void readsBackWhatCsvWriterWrote() throws IOException {
+        List<List<String>> rows = List.of(
+                List.of("plain", "with,comma", "with \"quotes\""),
+                List.of("multi\nline", "", "last"));
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        for (List<String> row : rows) {
+            writer.writeRow(row.toArray(String[]::new));
+        }
+
+        assertThat(readAll(out.toString())).isEqualTo(rows);
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = reader.readRow(); row != null; row = reader.readRow()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
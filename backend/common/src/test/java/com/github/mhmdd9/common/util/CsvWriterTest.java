@@ -0,0 +1,55 @@
+package com.github.mhmdd9.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void writesPlainFieldsUnquoted() throws IOException {
+        assertThat(write(false, "a", "b c", "42")).isEqualTo("a,b c,42\r\n");
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(write(false, "a,b", "say \"hi\"", "two\nlines", "cr\r"))
+                .isEqualTo("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\"cr\r\"\r\n");
+    }
+
+    @Test
+    void writesNullAsEmptyField() throws IOException {
+        assertThat(write(false, "a", null, "c")).isEqualTo("a,,c\r\n");
+    }
+
+    @Test
+    void leavesFormulasAloneUnlessEscaping() throws IOException {
+        assertThat(write(false, "=SUM(A1:A2)")).isEqualTo("=SUM(A1:A2)\r\n");
+    }
+
+    @Test
+    void escapesFormulaTriggers() throws IOException {
+        assertThat(write(true, "=SUM(A1:A2)", "+cmd", "-cmd", "@ref", "\tx"))
+                .isEqualTo("'=SUM(A1:A2),'+cmd,'-cmd,'@ref,'\tx\r\n");
+    }
+
+    @Test
+    void escapedFormulaIsStillQuotedWhenNeeded() throws IOException {
+        assertThat(write(true, "=HYPERLINK(\"x\",\"y\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"\r\n");
+    }
+
+    @Test
+    void keepsPlainNumbersWhenEscaping() throws IOException {
+        assertThat(write(true, "-12", "+3.50", "0", "")).isEqualTo("-12,+3.50,0,\r\n");
+    }
+
+    private static String write(boolean escapeFormulas, String... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out, escapeFormulas).writeRow(fields);
+        return out.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.mhmdd9.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimerWheelTest {
+
+    private static final long TICK = 10;
+
+    private final HierarchicalTimerWheel<String, String> wheel = new HierarchicalTimerWheel<>(TICK, 4, 10_000, 0);
+
+    @Test
+    void firesAtTheFirstTickAtOrAfterTheDeadline() {
+        wheel.schedule("a", 25, "a");
+
+        assertThat(wheel.advance(29)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("a");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void cancelledTimerNeverFires() {
+        wheel.schedule("a", 100, "a");
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+        assertThat(wheel.advance(200)).isEmpty();
+    }
+
+    @Test
+    void schedulingAgainReplacesTheTimer() {
+        wheel.schedule("a", 100, "first");
+        wheel.schedule("a", 500, "second");
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(400)).isEmpty();
+        assertThat(wheel.advance(500)).containsExactly("second");
+    }
+
+    @Test
+    void passedDeadlineFallsDueOnNextTick() {
+        wheel.advance(1_000);
+        wheel.schedule("late", 500, "late");
+
+        assertThat(wheel.advance(1_010)).containsExactly("late");
+    }
+
+    @Test
+    void timersOnHigherLevelsCascadeDownAndFireInDeadlineOrder() {
+        wheel.schedule("far", 9_000, "far");
+        wheel.schedule("mid", 700, "mid");
+        wheel.schedule("near", 30, "near");
+
+        assertThat(wheel.advance(10_000)).containsExactly("near", "mid", "far");
+    }
+
+    @Test
+    void rejectsDeadlinesBeyondTheHorizon() {
+        assertThatThrownBy(() -> wheel.schedule("a", 1_000_000, "a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomScheduleCancelAndAdvance() {
+        Random random = new Random(7);
+        Map<String, Long> expected = new HashMap<>();
+        long now = 0;
+
+        for (int step = 0; step < 2_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 6) {
+                String key = "k" + random.nextInt(300);
+                long deadline = now + random.nextInt(9_000);
+                wheel.schedule(key, deadline, key);
+                expected.put(key, Math.max(Math.floorDiv(deadline + TICK - 1, TICK), now / TICK + 1));
+            } else if (action < 8) {
+                String key = "k" + random.nextInt(300);
+                assertThat(wheel.cancel(key)).isEqualTo(expected.remove(key) != null);
+            } else {
+                now += random.nextInt(400);
+                long nowTick = now / TICK;
+                List<Map.Entry<String, Long>> due = new ArrayList<>(expected.entrySet().stream()
+                        .filter(e -> e.getValue() <= nowTick)
+                        .toList());
+                due.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+
+                List<String> fired = wheel.advance(now);
+
+                assertThat(fired).containsExactlyInAnyOrderElementsOf(due.stream().map(Map.Entry::getKey).toList());
+                assertDeadlineOrder(fired, expected);
+                due.forEach(e -> expected.remove(e.getKey()));
+            }
+            assertThat(wheel.size()).isEqualTo(expected.size());
+        }
+    }
+
+    private static void assertDeadlineOrder(List<String> fired, Map<String, Long> deadlines) {
+        for (int i = 1; i < fired.size(); i++) {
+            assertThat(deadlines.get(fired.get(i))).isGreaterThanOrEqualTo(deadlines.get(fired.get(i - 1)));
+        }
+    }
+}
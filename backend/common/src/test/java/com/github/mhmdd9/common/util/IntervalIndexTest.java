@@ -0,0 +1,94 @@
+package com.github.mhmdd9.common.util;
+
+import com.github.mhmdd9.common.util.IntervalIndex.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalIndexTest {
+
+    @Test
+    void emptyIndexHasNoOverlaps() {
+        IntervalIndex<String> index = IntervalIndex.empty();
+
+        assertThat(index.isEmpty()).isTrue();
+        assertThat(index.overlapping(0, 100)).isEmpty();
+        assertThat(index.overlaps(0, 100)).isFalse();
+    }
+
+    @Test
+    void intervalsAreHalfOpen() {
+        IntervalIndex<String> index = IntervalIndex.<String>empty().with(10, 20, "a");
+
+        assertThat(index.overlapping(20, 30)).isEmpty();
+        assertThat(index.overlapping(0, 10)).isEmpty();
+        assertThat(index.overlapping(19, 21)).containsExactly("a");
+        assertThat(index.overlapping(0, 11)).containsExactly("a");
+        assertThat(index.overlaps(20, 30)).isFalse();
+        assertThat(index.overlaps(15, 16)).isTrue();
+    }
+
+    @Test
+    void findsLongIntervalStartingBeforeShorterOnes() {
+        IntervalIndex<String> index = IntervalIndex.of(List.of(
+                new Interval<>(0, 100, "long"),
+                new Interval<>(10, 20, "short"),
+                new Interval<>(30, 40, "later")));
+
+        assertThat(index.overlapping(50, 60)).containsExactly("long");
+        assertThat(index.overlapping(15, 35)).containsExactlyInAnyOrder("long", "short", "later");
+    }
+
+    @Test
+    void withReturnsCopyAndLeavesOriginalUnchanged() {
+        IntervalIndex<String> original = IntervalIndex.<String>empty().with(10, 20, "a");
+        IntervalIndex<String> added = original.with(5, 15, "b");
+
+        assertThat(original.size()).isEqualTo(1);
+        assertThat(added.size()).isEqualTo(2);
+        assertThat(added.overlapping(0, 8)).containsExactly("b");
+        assertThat(added.overlapping(12, 13)).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void withoutRemovesMatchingValues() {
+        IntervalIndex<String> index = IntervalIndex.of(List.of(
+                new Interval<>(0, 10, "a"),
+                new Interval<>(5, 15, "b")));
+
+        IntervalIndex<String> removed = index.without("a"::equals);
+
+        assertThat(removed.size()).isEqualTo(1);
+        assertThat(removed.overlapping(0, 20)).containsExactly("b");
+        assertThat(index.without("missing"::equals)).isSameAs(index);
+    }
+
+    @Test
+    void matchesBruteForceOnRandomIntervals() {
+        Random random = new Random(42);
+        List<Interval<Integer>> intervals = new ArrayList<>();
+        IntervalIndex<Integer> index = IntervalIndex.empty();
+        for (int i = 0; i < 200; i++) {
+            long start = random.nextInt(1000);
+            long end = start + 1 + random.nextInt(60);
+            intervals.add(new Interval<>(start, end, i));
+            index = index.with(start, end, i);
+        }
+
+        for (int q = 0; q < 500; q++) {
+            long start = random.nextInt(1100);
+            long end = start + 1 + random.nextInt(80);
+            List<Integer> expected = intervals.stream()
+                    .filter(interval -> interval.getStart() < end && interval.getEnd() > start)
+                    .map(Interval::getValue)
+                    .toList();
+
+            assertThat(index.overlapping(start, end)).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(index.overlaps(start, end)).isEqualTo(!expected.isEmpty());
+        }
+    }
+}
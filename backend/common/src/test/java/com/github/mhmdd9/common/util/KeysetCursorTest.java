@@ -0,0 +1,49 @@
+package com.github.mhmdd9.common.util;
+
+import com.github.mhmdd9.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodesWhatWasEncoded() {
+        LocalDateTime bookedAt = LocalDateTime.of(2026, 3, 10, 9, 30, 15);
+
+        String cursor = KeysetCursor.encode(bookedAt, 42L);
+
+        assertThat(KeysetCursor.decode(cursor, 2)).containsExactly(bookedAt.toString(), "42");
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = KeysetCursor.encode("???>>>", "~~~");
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void keepsEmptyKeys() {
+        assertThat(KeysetCursor.decode(KeysetCursor.encode("", "x", ""), 3)).containsExactly("", "x", "");
+    }
+
+    @Test
+    void rejectsWrongNumberOfKeys() {
+        String cursor = KeysetCursor.encode("a", "b");
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, 3))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+    }
+
+    @Test
+    void rejectsMalformedBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", 2))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.mhmdd9.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionTimesTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void sameDaySessionSpansItsMinutes() {
+        long start = SessionTimes.startMinutes(DATE, LocalTime.of(9, 0));
+        long end = SessionTimes.endMinutes(DATE, LocalTime.of(9, 0), LocalTime.of(10, 30));
+
+        assertThat(end - start).isEqualTo(90);
+    }
+
+    @Test
+    void consecutiveDaysDoNotOverlap() {
+        long firstEnd = SessionTimes.endMinutes(DATE, LocalTime.of(22, 0), LocalTime.of(23, 59));
+        long nextStart = SessionTimes.startMinutes(DATE.plusDays(1), LocalTime.of(0, 0));
+
+        assertThat(nextStart).isGreaterThan(firstEnd);
+    }
+
+    @Test
+    void legacyRowEndingBeforeItsStartRunsIntoNextDay() {
+        long start = SessionTimes.startMinutes(DATE, LocalTime.of(23, 0));
+        long end = SessionTimes.endMinutes(DATE, LocalTime.of(23, 0), LocalTime.of(1, 0));
+
+        assertThat(end - start).isEqualTo(120);
+    }
+}
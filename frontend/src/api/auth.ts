@@ -39,6 +39,11 @@ interface AuthResponse {
   user: User
 }
 
+interface StreamTicketResponse {
+  ticket: string
+  expiresIn: number
+}
+
 interface ApiResponse<T> {
   success: boolean
   message: string
@@ -60,6 +65,9 @@ export const authApi = {
 
   logout: () => apiClient.post('/v1/auth/logout'),
 
+  streamTicket: () =>
+    apiClient.post<ApiResponse<StreamTicketResponse>>('/v1/auth/stream-ticket'),
+
   me: () => apiClient.get<ApiResponse<User>>('/v1/auth/me'),
 }
 
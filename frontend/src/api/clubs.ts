@@ -1,5 +1,5 @@
 import { apiClient } from './client'
-import type { ApiResponse, Club, PageResponse, PaginationParams } from '../types'
+import type { ApiResponse, Club, ClubStaff, ClubStaffRole, PageResponse, PaginationParams } from '../types'
 
 export const clubsApi = {
   /**
@@ -34,5 +34,21 @@ export const clubsApi = {
    * Delete (deactivate) a club (requires GYM_OWNER or ADMIN role)
    */
   deleteClub: (id: number) => apiClient.delete<ApiResponse<void>>(`/v1/clubs/${id}`),
-}
 
+  /**
+   * Get the staff of a club (requires club owner or ADMIN)
+   */
+  getClubStaff: (id: number) => apiClient.get<ApiResponse<ClubStaff[]>>(`/v1/clubs/${id}/staff`),
+
+  /**
+   * Add a user to a club's staff or change their role (requires club owner or ADMIN)
+   */
+  addClubStaff: (id: number, data: { userId: number; role: ClubStaffRole }) =>
+    apiClient.post<ApiResponse<ClubStaff>>(`/v1/clubs/${id}/staff`, data),
+
+  /**
+   * Remove a user from a club's staff (requires club owner or ADMIN)
+   */
+  removeClubStaff: (id: number, userId: number) =>
+    apiClient.delete<ApiResponse<void>>(`/v1/clubs/${id}/staff/${userId}`),
+}
@@ -1,12 +1,17 @@
 import { apiClient } from './client'
-import type { ApiResponse, PendingPayment, Payment, RecordPaymentRequest } from '../types'
+import type { ApiResponse, BatchPaymentResult, CursorPageResponse, PendingPayment, Payment, RecordPaymentRequest } from '../types'
 
 export const paymentsApi = {
   /**
-   * Get pending payments for a club (staff only)
+   * Get pending payments for a club, newest first (staff only)
    */
-  getPendingPayments: (clubId: number) =>
-    apiClient.get<ApiResponse<PendingPayment[]>>(`/v1/payments/club/${clubId}/pending`),
+  getPendingPayments: (
+    clubId: number,
+    params?: { cursor?: string; size?: number; sessionDate?: string; activityId?: number }
+  ) =>
+    apiClient.get<ApiResponse<CursorPageResponse<PendingPayment>>>(`/v1/payments/club/${clubId}/pending`, {
+      params,
+    }),
 
   /**
    * Get payment by reservation ID
@@ -19,4 +24,10 @@ export const paymentsApi = {
    */
   recordPayment: (data: RecordPaymentRequest) =>
     apiClient.post<ApiResponse<Payment>>('/v1/payments', data),
+
+  /**
+   * Record payments for many reservations at once (staff only)
+   */
+  recordPayments: (payments: RecordPaymentRequest[]) =>
+    apiClient.post<ApiResponse<BatchPaymentResult>>('/v1/payments/batch', { payments }),
 }
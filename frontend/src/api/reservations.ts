@@ -1,5 +1,16 @@
 import { apiClient } from './client'
-import type { ApiResponse, PageResponse, PaginationParams, Reservation } from '../types'
+import type {
+  ApiResponse,
+  AttendanceResult,
+  CheckInPass,
+  CheckInResult,
+  CursorPageResponse,
+  PageResponse,
+  PaginationParams,
+  Reservation,
+  ReservationDetails,
+  RosterEntry,
+} from '../types'
 
 export const reservationsApi = {
   /**
@@ -14,6 +25,14 @@ export const reservationsApi = {
   getMyActiveReservations: () =>
     apiClient.get<ApiResponse<Reservation[]>>('/v1/reservations/my/active'),
 
+  /**
+   * Get current user's reservations with session, trainer, club and payment details, newest first
+   */
+  getMyReservationDetails: (params?: { active?: boolean; cursor?: string; size?: number }) =>
+    apiClient.get<ApiResponse<CursorPageResponse<ReservationDetails>>>('/v1/reservations/my/details', {
+      params,
+    }),
+
   /**
    * Get a specific reservation by ID
    */
@@ -28,6 +47,21 @@ export const reservationsApi = {
       params,
     }),
 
+  /**
+   * Get everyone booked on a session with payment status (requires staff or trainer role)
+   */
+  getSessionRoster: (sessionId: number) =>
+    apiClient.get<ApiResponse<RosterEntry[]>>(`/v1/reservations/session/${sessionId}/roster`),
+
+  /**
+   * Mark attendance for a whole session at once (requires staff or trainer role)
+   */
+  markAttendance: (sessionId: number, present: number[], absent: number[]) =>
+    apiClient.post<ApiResponse<AttendanceResult>>(`/v1/reservations/session/${sessionId}/attendance`, {
+      present,
+      absent,
+    }),
+
   /**
    * Create a new reservation (book a class session)
    */
@@ -47,5 +81,17 @@ export const reservationsApi = {
    */
   checkInReservation: (id: number) =>
     apiClient.post<ApiResponse<Reservation>>(`/v1/reservations/${id}/checkin`),
+
+  /**
+   * Get a signed check-in pass for a paid reservation (shown as a QR code)
+   */
+  getCheckInPass: (id: number) =>
+    apiClient.get<ApiResponse<CheckInPass>>(`/v1/reservations/${id}/pass`),
+
+  /**
+   * Check in with a scanned pass at a kiosk (requires staff role)
+   */
+  checkInWithPass: (pass: string, clubId: number) =>
+    apiClient.post<ApiResponse<CheckInResult>>('/v1/checkin', { pass, clubId }),
 }
 
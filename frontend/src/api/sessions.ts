@@ -79,4 +79,12 @@ export const sessionsApi = {
    */
   getClubTrainers: (clubId: number) =>
     apiClient.get<ApiResponse<Trainer[]>>(`/v1/clubs/${clubId}/trainers`),
+
+  /**
+   * Get the club's trainers with no overlapping session in a slot (staff only)
+   */
+  getFreeTrainers: (clubId: number, date: string, startTime: string, endTime: string) =>
+    apiClient.get<ApiResponse<Trainer[]>>(`/v1/classes/club/${clubId}/free-trainers`, {
+      params: { date, startTime, endTime },
+    }),
 }
@@ -0,0 +1,86 @@
+import type { PendingPaymentEvent, SessionAvailabilityEvent } from '../types'
+import { authApi } from './auth'
+
+const STREAM_URL = '/api/v1/stream'
+const RECONNECT_DELAY_MS = 3000
+
+export const streamTopics = {
+  sessionsByDate: (date: string) => `sessions:date:${date}`,
+  sessionsByClub: (clubId: number) => `sessions:club:${clubId}`,
+  pendingPayments: (clubId: number) => `payments:club:${clubId}`,
+}
+
+export interface StreamHandlers {
+  availability?: (event: SessionAvailabilityEvent) => void
+  'pending-added'?: (event: PendingPaymentEvent) => void
+  'pending-removed'?: (event: PendingPaymentEvent) => void
+  // Events may have been missed (server reconnected); reload the view
+  resync?: () => void
+}
+
+/**
+ * Subscribe to live updates over Server-Sent Events.
+ * EventSource cannot send headers, so signed-in users exchange their token for a single-use ticket
+ * that travels as a query parameter. A used ticket cannot be replayed, so the stream reconnects itself
+ * with a fresh ticket instead of relying on EventSource's own reconnect.
+ * Returns a function that closes the stream.
+ */
+export function subscribeToStream(topics: string[], handlers: StreamHandlers): () => void {
+  let source: EventSource | null = null
+  let reconnectTimer: ReturnType<typeof setTimeout> | null = null
+  let opened = false
+  let closed = false
+
+  const connect = async () => {
+    const params = new URLSearchParams()
+    topics.forEach((topic) => params.append('topic', topic))
+    if (localStorage.getItem('accessToken')) {
+      try {
+        const response = await authApi.streamTicket()
+        params.append('ticket', response.data.data.ticket)
+      } catch {
+        scheduleReconnect()
+        return
+      }
+    }
+    if (closed) {
+      return
+    }
+
+    source = new EventSource(`${STREAM_URL}?${params.toString()}`)
+    source.addEventListener('subscribed', () => {
+      // Anything sent while the stream was away is lost
+      if (opened) {
+        handlers.resync?.()
+      }
+      opened = true
+    })
+    source.addEventListener('resync', () => handlers.resync?.())
+    ;(['availability', 'pending-added', 'pending-removed'] as const).forEach((name) => {
+      source?.addEventListener(name, (event) => {
+        const handler = handlers[name] as ((data: unknown) => void) | undefined
+        handler?.(JSON.parse((event as MessageEvent).data))
+      })
+    })
+    source.onerror = () => {
+      source?.close()
+      scheduleReconnect()
+    }
+  }
+
+  const scheduleReconnect = () => {
+    if (!closed) {
+      reconnectTimer = setTimeout(connect, RECONNECT_DELAY_MS)
+    }
+  }
+
+  connect()
+
+  return () => {
+    closed = true
+    if (reconnectTimer) {
+      clearTimeout(reconnectTimer)
+    }
+    source?.close()
+  }
+}
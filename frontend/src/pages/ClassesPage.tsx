@@ -2,6 +2,7 @@ import { useEffect, useState } from 'react'
 import { Link } from 'react-router-dom'
 import { classesApi } from '../api/classes'
 import { reservationsApi } from '../api/reservations'
+import { streamTopics, subscribeToStream } from '../api/stream'
 import type { ClassSession } from '../types'
 
 // Helper to format date as YYYY-MM-DD
@@ -57,6 +58,23 @@ export default function ClassesPage() {
     fetchSessions(selectedDate)
   }, [selectedDate])
 
+  // Live seat availability for the selected date
+  useEffect(() => {
+    return subscribeToStream([streamTopics.sessionsByDate(selectedDate)], {
+      availability: (event) =>
+        setSessions((current) =>
+          event.status !== 'SCHEDULED'
+            ? current.filter((s) => s.id !== event.sessionId)
+            : current.map((s) =>
+                s.id === event.sessionId
+                  ? { ...s, bookedCount: event.bookedCount, availableSpots: event.availableSpots }
+                  : s
+              )
+        ),
+      resync: () => fetchSessions(selectedDate),
+    })
+  }, [selectedDate])
+
   const fetchSessions = async (date: string) => {
     try {
       setIsLoading(true)
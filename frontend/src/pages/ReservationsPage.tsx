@@ -1,7 +1,7 @@
 import { useEffect, useState } from 'react'
 import { Link } from 'react-router-dom'
 import { reservationsApi } from '../api/reservations'
-import type { Reservation } from '../types'
+import type { ReservationDetails } from '../types'
 
 type TabType = 'active' | 'history'
 
@@ -16,8 +16,10 @@ const statusConfig: Record<string, { label: string; className: string }> = {
 
 export default function ReservationsPage() {
   const [activeTab, setActiveTab] = useState<TabType>('active')
-  const [activeReservations, setActiveReservations] = useState<Reservation[]>([])
-  const [allReservations, setAllReservations] = useState<Reservation[]>([])
+  const [activeReservations, setActiveReservations] = useState<ReservationDetails[]>([])
+  const [allReservations, setAllReservations] = useState<ReservationDetails[]>([])
+  const [historyCursor, setHistoryCursor] = useState<string | null>(null)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const [isLoading, setIsLoading] = useState(true)
   const [error, setError] = useState<string | null>(null)
   const [cancellingId, setCancellingId] = useState<number | null>(null)
@@ -32,12 +34,13 @@ export default function ReservationsPage() {
       setError(null)
 
       const [activeRes, allRes] = await Promise.all([
-        reservationsApi.getMyActiveReservations(),
-        reservationsApi.getMyReservations({ size: 50 }),
+        reservationsApi.getMyReservationDetails({ active: true, size: 100 }),
+        reservationsApi.getMyReservationDetails({ size: 20 }),
       ])
 
-      setActiveReservations(activeRes.data.data)
+      setActiveReservations(activeRes.data.data.content)
       setAllReservations(allRes.data.data.content)
+      setHistoryCursor(allRes.data.data.nextCursor ?? null)
     } catch (err: any) {
       setError(err.response?.data?.message || 'خطا در دریافت رزروها')
     } finally {
@@ -45,6 +48,20 @@ export default function ReservationsPage() {
     }
   }
 
+  const fetchMoreHistory = async () => {
+    if (!historyCursor) return
+    try {
+      setIsLoadingMore(true)
+      const response = await reservationsApi.getMyReservationDetails({ cursor: historyCursor, size: 20 })
+      setAllReservations((current) => [...current, ...response.data.data.content])
+      setHistoryCursor(response.data.data.nextCursor ?? null)
+    } catch (err: any) {
+      setError(err.response?.data?.message || 'خطا در دریافت رزروها')
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
+
   const handleCancelReservation = async (id: number) => {
     if (!confirm('آیا از لغو این رزرو مطمئن هستید؟')) return
 
@@ -73,6 +90,15 @@ export default function ReservationsPage() {
     })
   }
 
+  const formatSessionTime = (reservation: ReservationDetails) => {
+    const date = new Date(`${reservation.sessionDate}T00:00:00`).toLocaleDateString('fa-IR', {
+      weekday: 'long',
+      month: 'short',
+      day: 'numeric',
+    })
+    return `${date} - ${reservation.startTime.slice(0, 5)} تا ${reservation.endTime.slice(0, 5)}`
+  }
+
   return (
     <div className="min-h-screen">
       {/* Header */}
@@ -176,10 +202,18 @@ export default function ReservationsPage() {
                       </div>
                       <div>
                         <div className="flex items-center gap-2 mb-1">
+                          <h3 className="text-white font-semibold">{reservation.activityName}</h3>
                           <span className={`px-2 py-0.5 rounded-full text-xs font-medium ${status.className}`}>
                             {status.label}
                           </span>
                         </div>
+                        <p className="text-slate-300 text-sm">{formatSessionTime(reservation)}</p>
+                        <p className="text-slate-400 text-sm">
+                          <Link to={`/clubs/${reservation.clubId}`} className="hover:text-white transition-colors">
+                            {reservation.clubName}
+                          </Link>
+                          {reservation.trainerName && ` - مربی: ${reservation.trainerName}`}
+                        </p>
                         <p className="text-slate-400 text-sm">
                           کد رزرو: <span className="text-slate-300 font-mono">#{reservation.id}</span>
                         </p>
@@ -209,6 +243,18 @@ export default function ReservationsPage() {
                 </div>
               )
             })}
+
+            {activeTab === 'history' && historyCursor && (
+              <div className="flex justify-center">
+                <button
+                  onClick={fetchMoreHistory}
+                  disabled={isLoadingMore}
+                  className="btn btn-secondary disabled:opacity-50"
+                >
+                  {isLoadingMore ? 'در حال بارگذاری...' : 'نمایش بیشتر'}
+                </button>
+              </div>
+            )}
           </div>
         )}
       </main>
@@ -2,6 +2,7 @@ import { useEffect, useState } from 'react'
 import { Link } from 'react-router-dom'
 import { clubsApi } from '../api/clubs'
 import { paymentsApi } from '../api/payments'
+import { streamTopics, subscribeToStream } from '../api/stream'
 import type { Club, PendingPayment, RecordPaymentRequest } from '../types'
 
 // Payment method config
@@ -24,6 +25,8 @@ export default function StaffPaymentsPage() {
   // Pending payments state
   const [pendingPayments, setPendingPayments] = useState<PendingPayment[]>([])
   const [isLoadingPayments, setIsLoadingPayments] = useState(false)
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
 
   // Modal state
@@ -50,6 +53,17 @@ export default function StaffPaymentsPage() {
     }
   }, [selectedClubId])
 
+  // Live pending payment queue for the selected club
+  useEffect(() => {
+    if (!selectedClubId) return
+    return subscribeToStream([streamTopics.pendingPayments(selectedClubId)], {
+      'pending-added': () => fetchPendingPayments(selectedClubId),
+      'pending-removed': (event) =>
+        setPendingPayments((current) => current.filter((p) => p.reservationId !== event.reservationId)),
+      resync: () => fetchPendingPayments(selectedClubId),
+    })
+  }, [selectedClubId])
+
   const fetchClubs = async () => {
     try {
       setIsLoadingClubs(true)
@@ -70,7 +84,8 @@ export default function StaffPaymentsPage() {
       setIsLoadingPayments(true)
       setError(null)
       const response = await paymentsApi.getPendingPayments(clubId)
-      setPendingPayments(response.data.data)
+      setPendingPayments(response.data.data.content)
+      setNextCursor(response.data.data.nextCursor ?? null)
     } catch (err: any) {
       setError(err.response?.data?.message || 'خطا در دریافت لیست پرداخت‌های معلق')
     } finally {
@@ -78,6 +93,20 @@ export default function StaffPaymentsPage() {
     }
   }
 
+  const fetchMorePendingPayments = async () => {
+    if (!selectedClubId || !nextCursor) return
+    try {
+      setIsLoadingMore(true)
+      const response = await paymentsApi.getPendingPayments(selectedClubId, { cursor: nextCursor })
+      setPendingPayments((current) => [...current, ...response.data.data.content])
+      setNextCursor(response.data.data.nextCursor ?? null)
+    } catch (err: any) {
+      setError(err.response?.data?.message || 'خطا در دریافت لیست پرداخت‌های معلق')
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
+
   const openPaymentModal = (payment: PendingPayment) => {
     setSelectedPayment(payment)
     setFormData({
@@ -313,6 +342,18 @@ export default function StaffPaymentsPage() {
                 </div>
               ))}
             </div>
+
+            {nextCursor && (
+              <div className="flex justify-center">
+                <button
+                  onClick={fetchMorePendingPayments}
+                  disabled={isLoadingMore}
+                  className="btn btn-secondary disabled:opacity-50"
+                >
+                  {isLoadingMore ? 'در حال بارگذاری...' : 'نمایش بیشتر'}
+                </button>
+              </div>
+            )}
           </div>
         )}
       </main>
@@ -16,6 +16,14 @@ export interface PageResponse<T> {
   last: boolean
 }
 
+// Keyset-paginated response; pass nextCursor back to load the following page
+export interface CursorPageResponse<T> {
+  content: T[]
+  size: number
+  hasMore: boolean
+  nextCursor?: string
+}
+
 // Club types
 export interface Club {
   id: number
@@ -31,6 +39,18 @@ export interface Club {
   isActive: boolean
   openingTime?: string // HH:mm format
   closingTime?: string // HH:mm format
+  floorCapacity?: number
+  overlapPolicy?: 'ALLOW' | 'WARN' | 'REJECT'
+}
+
+export type ClubStaffRole = 'MANAGER' | 'RECEPTIONIST' | 'TRAINER'
+
+export interface ClubStaff {
+  id: number
+  clubId: number
+  userId: number
+  role: ClubStaffRole
+  createdAt: string
 }
 
 // Activity types
@@ -110,6 +130,63 @@ export interface Reservation {
   cancelledAt?: string // ISO datetime
   cancellationReason?: string
   checkedInAt?: string // ISO datetime
+  warnings?: string[]
+}
+
+// Reservation with everything the bookings screen shows, from one query
+export interface ReservationDetails {
+  id: number
+  status: Reservation['status']
+  bookedAt: string // ISO datetime
+  cancelledAt?: string // ISO datetime
+  cancellationReason?: string
+  checkedInAt?: string // ISO datetime
+  sessionId: number
+  activityName: string
+  sessionDate: string // YYYY-MM-DD
+  startTime: string // HH:mm:ss
+  endTime: string // HH:mm:ss
+  sessionStatus: string
+  trainerName?: string
+  clubId: number
+  clubName: string
+  clubAddress?: string
+  paidAmount?: number
+  paymentMethod?: 'CASH' | 'CARD' | 'POS' | 'BANK_TRANSFER'
+}
+
+export interface RosterEntry {
+  reservationId: number
+  userId: number
+  userFullName?: string
+  userPhoneNumber?: string
+  status: Reservation['status']
+  bookedAt: string // ISO datetime
+  checkedInAt?: string // ISO datetime
+  paymentStatus?: 'PENDING' | 'PAID' | 'REFUND_PENDING' | 'REFUNDED' | 'FAILED'
+  paidAmount?: number
+  paymentMethod?: 'CASH' | 'CARD' | 'POS' | 'BANK_TRANSFER'
+}
+
+export interface AttendanceResult {
+  sessionId: number
+  markedPresent: number
+  markedAbsent: number
+  unchanged: number[]
+}
+
+export interface CheckInPass {
+  reservationId: number
+  pass: string
+  validFrom: string // ISO datetime
+  validUntil: string // ISO datetime
+}
+
+export interface CheckInResult {
+  reservationId: number
+  sessionId: number
+  userId: number
+  checkedInAt: string // ISO datetime
 }
 
 // User types (re-export for convenience)
@@ -156,6 +233,23 @@ export interface PendingPayment {
   clubName?: string
 }
 
+// Live update events (Server-Sent Events)
+export interface SessionAvailabilityEvent {
+  sessionId: number
+  clubId: number
+  sessionDate: string // YYYY-MM-DD
+  bookedCount: number
+  capacity: number
+  availableSpots: number
+  status: ClassSession['status']
+}
+
+export interface PendingPaymentEvent {
+  reservationId: number
+  sessionId?: number
+  userId?: number
+}
+
 export interface Payment {
   id: number
   reservationId: number
@@ -165,7 +259,7 @@ export interface Payment {
   currency: string
   method: 'CASH' | 'CARD' | 'POS' | 'BANK_TRANSFER'
   referenceNumber?: string
-  status: 'PENDING' | 'PAID' | 'REFUNDED' | 'FAILED'
+  status: 'PENDING' | 'PAID' | 'REFUND_PENDING' | 'REFUNDED' | 'FAILED'
   paidAt?: string
   recordedBy?: number
   notes?: string
@@ -179,3 +273,16 @@ export interface RecordPaymentRequest {
   notes?: string
 }
 
+export interface BatchPaymentResult {
+  requested: number
+  recorded: number
+  failed: number
+  items: {
+    reservationId: number
+    recorded: boolean
+    payment?: Payment
+    errorCode?: string
+    message?: string
+  }[]
+}
+